@@ -0,0 +1,29 @@
+package sportradar.demo.football.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH could not take thread count as a @Param, so let's run the same benchmarks for each thread count.
+ * Usage: java -jar target/benchmarks.jar [regular JMH options, f.e. 'ScoreboardBenchmark.getSummary -p engine=SNAPSHOT']
+ * Thread counts could be overridden with -Dthreads=1,2,4
+ */
+public class BenchmarkRunner {
+
+    private static final String DEFAULT_THREADS = "1,4,16,64";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var commandLine = new CommandLineOptions(args);
+        for (var threads : System.getProperty("threads", DEFAULT_THREADS).split(",")) {
+            var options = new OptionsBuilder()
+                    .parent(commandLine)
+                    .threads(Integer.parseInt(threads.trim()))
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+}
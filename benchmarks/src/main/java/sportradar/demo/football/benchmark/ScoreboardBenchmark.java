@@ -0,0 +1,130 @@
+package sportradar.demo.football.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Covers all scoreboard operations against any ScoreboardEngine.
+ * <p>
+ * Board is pre-filled with 'boardSize' matches: "home-N" vs "away-N".
+ * Workload parameters of mixedReadWrite live in its own MixedWorkload state, so other benchmarks don't repeat
+ * the same trial for each of their values.
+ * Thread count is not a parameter of the benchmark itself, see BenchmarkRunner.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoreboardBenchmark {
+
+    @Param({"LIVE_INDEX", "RANKED", "SNAPSHOT", "MVCC", "SHARDED", "RING_BUFFER", "PACKED", "OFF_HEAP"})
+    public ScoreboardEngine engine;
+
+    @Param({"10", "1000", "100000"})
+    public int boardSize;
+
+    private FootballScoreboard scoreboard;
+
+    private int hotMatches;
+
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void fillBoard() {
+        scoreboard = engine.create(new SportRadarMatchValidator());
+        for (int i = 0; i < boardSize; i++) {
+            scoreboard.startNewMatch(home(i), away(i));
+        }
+        hotMatches = Math.max(1, boardSize / 100);
+    }
+
+    // RING_BUFFER owns the writer thread: it would outlive the trial otherwise
+    @TearDown(Level.Trial)
+    public void closeBoard() throws Exception {
+        scoreboard.clearAllMatches();
+        if (scoreboard instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MixedWorkload {
+        // probability for an operation to hit one of the hot matches (first 1% of the board), 0 means uniform access
+        @Param({"0", "0.9"})
+        public double hotMatchSkew;
+
+        // percentage of getSummary() calls
+        @Param({"50", "99"})
+        public int readPercent;
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadTeams {
+        private String homeTeam;
+        private String awayTeam;
+
+        @Setup(Level.Trial)
+        public void assignTeams(ScoreboardBenchmark benchmark) {
+            var threadId = benchmark.threadIds.incrementAndGet();
+            homeTeam = "thread-home-" + threadId;
+            awayTeam = "thread-away-" + threadId;
+        }
+    }
+
+    @Benchmark
+    public List<CurrentMatch> getSummary() {
+        return scoreboard.getSummary();
+    }
+
+    @Benchmark
+    public void updateMatchScore() {
+        var random = ThreadLocalRandom.current();
+        var match = random.nextInt(boardSize);
+        scoreboard.updateMatchScore(home(match), away(match), random.nextInt(10), random.nextInt(10));
+    }
+
+    // Thread private teams: board size stays the same and threads never conflict on start
+    @Benchmark
+    public void startAndRemoveMatch(ThreadTeams teams) {
+        scoreboard.startNewMatch(teams.homeTeam, teams.awayTeam);
+        scoreboard.removeMatch(teams.homeTeam, teams.awayTeam);
+    }
+
+    @Benchmark
+    public void mixedReadWrite(MixedWorkload workload, Blackhole blackhole) {
+        var random = ThreadLocalRandom.current();
+        if (random.nextInt(100) < workload.readPercent) {
+            blackhole.consume(scoreboard.getSummary());
+        } else {
+            var match = pickMatch(random, workload.hotMatchSkew);
+            scoreboard.updateMatchScore(home(match), away(match), random.nextInt(10), random.nextInt(10));
+        }
+    }
+
+    private int pickMatch(ThreadLocalRandom random, double hotMatchSkew) {
+        if (random.nextDouble() < hotMatchSkew) {
+            return random.nextInt(hotMatches);
+        }
+        return random.nextInt(boardSize);
+    }
+
+    private static String home(int match) {
+        return "home-" + match;
+    }
+
+    private static String away(int match) {
+        return "away-" + match;
+    }
+
+}
@@ -0,0 +1,24 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of FootballScoreboard: the same operations and the same exceptions,
+ * but failed future carries the exception instead of throwing it to the caller.
+ */
+public interface AsyncFootballScoreboard {
+    CompletableFuture<Void> startNewMatch(String homeTeam, String awayTeam);
+
+    CompletableFuture<Void> updateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore);
+
+    CompletableFuture<Void> removeMatch(String homeTeam, String awayTeam);
+
+    CompletableFuture<List<CurrentMatch>> getSummary();
+
+    CompletableFuture<List<CommandResult>> applyBatch(List<MatchCommand> commands);
+}
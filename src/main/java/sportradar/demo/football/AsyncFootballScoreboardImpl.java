@@ -0,0 +1,113 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs any FootballScoreboard engine on the executor, virtual thread per call by default.
+ * <p>
+ * Writes don't wait for each other anymore (CAS instead of match lock), the only things which could block
+ * are journal sync (disk flush) and RING_BUFFER back pressure / waiting for the writer: both park,
+ * so the virtual thread just unmounts and its carrier serves other calls meanwhile.
+ * <p>
+ * Summary read is handed off too, unless the engine only reads what its writers have published
+ * (see readsWithoutBlocking): MVCC reader could wait for the writer applying the changes,
+ * registry board could be loaded from its store first.
+ * <p>
+ * Virtual threads came in Java 21, the project still targets 17: the executor is looked up at runtime
+ * and falls back to a pool of platform threads if they are not available.
+ */
+public class AsyncFootballScoreboardImpl implements AsyncFootballScoreboard, AutoCloseable {
+
+    private static final int MAX_PLATFORM_THREADS = 256;
+
+    private final FootballScoreboard scoreboard;
+    private final ExecutorService executor;
+    private final boolean readsWithoutBlocking;
+
+    public AsyncFootballScoreboardImpl(FootballScoreboard scoreboard) {
+        this(scoreboard, newDefaultExecutor());
+    }
+
+    public AsyncFootballScoreboardImpl(FootballScoreboard scoreboard, ExecutorService executor) {
+        this.scoreboard = scoreboard;
+        this.executor = executor;
+        this.readsWithoutBlocking = readsWithoutBlocking(scoreboard);
+    }
+
+    @Override
+    public CompletableFuture<Void> startNewMatch(String homeTeam, String awayTeam) {
+        return CompletableFuture.runAsync(() -> scoreboard.startNewMatch(homeTeam, awayTeam), executor);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateMatchScore(String homeTeam, String awayTeam,
+                                                    int homeTeamScore, int awayTeamScore) {
+        return CompletableFuture.runAsync(
+                () -> scoreboard.updateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore), executor
+        );
+    }
+
+    @Override
+    public CompletableFuture<Void> removeMatch(String homeTeam, String awayTeam) {
+        return CompletableFuture.runAsync(() -> scoreboard.removeMatch(homeTeam, awayTeam), executor);
+    }
+
+    // Hand-off costs more than the read itself when the read never waits for anything
+    @Override
+    public CompletableFuture<List<CurrentMatch>> getSummary() {
+        if (readsWithoutBlocking) {
+            return CompletableFuture.completedFuture(scoreboard.getSummary());
+        }
+        return CompletableFuture.supplyAsync(scoreboard::getSummary, executor);
+    }
+
+    @Override
+    public CompletableFuture<List<CommandResult>> applyBatch(List<MatchCommand> commands) {
+        return CompletableFuture.supplyAsync(() -> scoreboard.applyBatch(commands), executor);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    // getSummary() of these engines reads the structures (or the snapshot) writers have published, nothing else
+    static boolean readsWithoutBlocking(FootballScoreboard scoreboard) {
+        if (scoreboard instanceof FootballScoreboardImpl impl) {
+            return impl.getSummaryMode() != SummaryMode.MVCC;
+        }
+        return scoreboard instanceof RingBufferFootballScoreboard
+                || scoreboard instanceof PackedFootballScoreboard
+                || scoreboard instanceof OffHeapFootballScoreboard
+                || scoreboard instanceof ShardedFootballScoreboard;
+    }
+
+    static ExecutorService newDefaultExecutor() {
+        try {
+            var factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Java 17: every write could block (journal sync, RING_BUFFER writer), blocked call holds its thread.
+            // Threads are added as long as calls block, up to the limit: then the caller runs the call itself.
+            var pool = new ThreadPoolExecutor(0, MAX_PLATFORM_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    runnable -> {
+                        var thread = new Thread(runnable, "scoreboard-async");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+            return pool;
+        }
+    }
+
+}
@@ -0,0 +1,19 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+
+/**
+ * Completion of asynchronously submitted command.
+ * Called by the engine thread which applied the command, so it has to be fast and must never block.
+ */
+@FunctionalInterface
+public interface CommandCallback {
+    void onComplete(CommandResult result);
+
+    /**
+     * Command was not applied: unexpected exception of the engine, or the engine was closed before it got to it.
+     * Ignored by default.
+     */
+    default void onFailure(RuntimeException ex) {
+    }
+}
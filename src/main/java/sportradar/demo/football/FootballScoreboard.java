@@ -1,6 +1,9 @@
 package sportradar.demo.football;
 
+import sportradar.demo.football.dto.CommandResult;
 import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.dto.SummaryPage;
 
 import java.util.List;
 
@@ -12,10 +15,36 @@ public interface FootballScoreboard {
 
     void removeMatch(String homeTeam, String awayTeam);
 
+    // The same calls without exceptions: invalid or conflicting call returns its CommandResult (preallocated enum).
+    // For feeds with a lot of duplicates and late updates, where building and throwing exceptions costs the most.
+    CommandResult tryStartNewMatch(String homeTeam, String awayTeam);
+
+    CommandResult tryUpdateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore);
+
+    CommandResult tryRemoveMatch(String homeTeam, String awayTeam);
+
     List<CurrentMatch> getSummary();
 
+    // The first n matches of getSummary() order, without building the whole summary
+    List<CurrentMatch> getTopMatches(int n);
+
+    // Position of the match in getSummary() order, starting from 1
+    int getRank(String homeTeam, String awayTeam);
+
+    // Up to pageSize matches in getSummary() order, starting after the position of the token (null - from the top).
+    // Only the page itself is built, pass the returned continuationToken to get the next one.
+    SummaryPage getSummaryPage(String continuationToken, int pageSize);
+
+    // Applies commands in the given order, invalid or conflicting command does not stop the batch.
+    // Returns result for each command at the same position.
+    List<CommandResult> applyBatch(List<MatchCommand> commands);
+
     // for test purples
     void clearAllMatches();
 
+    // Grows after every successful write: the same value means nothing has changed since then.
+    // Could be a bit behind the board while the write is returning, never the other way.
+    long getBoardVersion();
+
     // TODO implement print() method if required
 }
@@ -2,25 +2,41 @@
 package sportradar.demo.football;
 
 import lombok.Getter;
+import sportradar.demo.football.dto.BoardDelta;
+import sportradar.demo.football.dto.CommandResult;
 import sportradar.demo.football.dto.CurrentMatch;
-import sportradar.demo.football.ex.MatchLockedTimeout;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.dto.MatchChange;
+import sportradar.demo.football.dto.SummaryPage;
 import sportradar.demo.football.ex.MatchNotStartedException;
-import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.index.IntMatchTable;
+import sportradar.demo.football.index.RankIndex;
+import sportradar.demo.football.index.TeamDictionary;
+import sportradar.demo.football.jfr.MatchStartRollbackEvent;
+import sportradar.demo.football.journal.JournalHandler;
+import sportradar.demo.football.journal.MatchJournal;
+import sportradar.demo.football.jfr.MatchWriteEvent;
+import sportradar.demo.football.jfr.SummaryScanEvent;
 import sportradar.demo.football.validator.MatchValidator;
+import sportradar.demo.football.summary.MatchChangeLog;
+import sportradar.demo.football.summary.MatchChangePublisher;
+import sportradar.demo.football.summary.SummarySnapshotPublisher;
+import sportradar.demo.football.summary.SummaryView;
+import sportradar.demo.football.summary.VersionedSummaryStore;
 import sportradar.demo.football.validator.SportRadarMatchValidator;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.SortedMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static java.util.stream.Collectors.toList;
 
 /**
  * Let's use Scoreboard Implementation as a Singleton to prevent data storage duplication, etc.
+ * Update: singleton is the board for single competition only, see ScoreboardRegistry for many of them.
  */
 public class FootballScoreboardImpl extends FootballScoreboardTemplate {
 
@@ -55,28 +71,294 @@ public class FootballScoreboardImpl extends FootballScoreboardTemplate {
     // AtomicReference will be always the same for both HOME and AWAY teams
     // Any change to target CurrentMatch from any thread
     // will switch reference for both teams simultaneously
-    private final SortedMap<String, AtomicReference<CurrentMatch>> teamToMatches = new ConcurrentSkipListMap<>();
+    //
+    // Update: there is no per-match lock anymore. Each CurrentMatch has a version and a state,
+    // so writers just CAS the reference from the value they have read to the new one and retry on failure.
+    // MatchRef is AtomicReference which also remembers the last value published to the secondary structures.
+    //
+    // Update: nobody needs teams to be ordered, but every lookup was paying O(log n) String comparisons.
+    // Team names are interned into dense int ids by the dictionary, and the map became an int-keyed
+    // open addressing table: single hash of the name, then a probe with int compare only.
+    private final TeamDictionary teams = new TeamDictionary();
+    private final IntMatchTable<MatchRef> teamToMatches = new IntMatchTable<>();
+
+    // Secondary index which is already ordered the way getSummary() has to return matches:
+    // by total score desc, then by startSequence desc (see CurrentMatch.compareTo)
+    // Reads are much more frequent than writes, so it's better to pay O(log n) on every start/update/remove
+    // instead of streaming, deduplicating and sorting teamToMatches on every read.
+    //
+    // Why Map but not Set:
+    // when total score was not changed (f.e. 1 - 0 -> 0 - 1) updated match is 'equal' to the old one
+    // in terms of compareTo, so Set would keep old object with old scores.
+    // Map.put() replaces value for the same key atomically, and reader never misses the match.
+    private final ConcurrentSkipListMap<CurrentMatch, CurrentMatch> rankedMatches = new ConcurrentSkipListMap<>();
+
+    // The same order as rankedMatches, but it could count matches before the given one in O(log n) for getRank()
+    //
+    // Update: every operation of the index takes its monitor, so commits of all writers were serialized by it
+    // even on boards which never ask for the rank. It's opt-in now (null if not asked for, ScoreboardEngine.RANKED
+    // asks for it), without it getRank() walks the skip list prefix: O(rank), writers don't pay anything.
+    private final RankIndex<CurrentMatch> rankIndex;
 
     // Using Atomic to make sure each new match will have unique sequence number
     // Some of unique ids would be wasted if match is already playing
     // TODO BTW it's dangerous for seqGen to be overflowed if client would send millions of invalid requests
     private final AtomicInteger seqGen = new AtomicInteger();
 
+    @Getter
+    private final SummaryMode summaryMode;
+
+    // Used in SNAPSHOT mode only
+    private final SummarySnapshotPublisher snapshotPublisher;
+
+    // Used in MVCC mode only
+    private final VersionedSummaryStore versionedStore;
+
+    /**
+     * MVCC mode only: what getSummary() and openView() read, see IsolationLevel
+     */
+    @Getter
+    private volatile IsolationLevel isolationLevel = IsolationLevel.READ_COMMITTED;
+
+    private final BiConsumer<CurrentMatch, CurrentMatch> publisher = this::onPublished;
+
+    /**
+     * Committed changes for push services, in commit order. Score changes of the same match are coalesced
+     * for subscribers which are behind, see {@link MatchChangePublisher}.
+     */
+    @Getter
+    private final MatchChangePublisher changePublisher = new MatchChangePublisher();
+
+    // Last changes of the board for getChangesSince(), used in every mode.
+    // Its versions are the board versions: SNAPSHOT and MVCC structures pass applied changes on to it.
+    private final MatchChangeLog changeLog;
+
+    private volatile boolean replaying = true;
+
     private FootballScoreboardImpl(MatchValidator matchValidator) {
-        super(matchValidator);
+        this(matchValidator, SummaryMode.LIVE_INDEX);
+    }
+
+    public FootballScoreboardImpl(MatchValidator matchValidator, SummaryMode summaryMode) {
+        this(matchValidator, summaryMode, MatchJournal.none());
+    }
+
+    /**
+     * Board state is restored from the journal first, then every committed change is appended to it
+     */
+    public FootballScoreboardImpl(MatchValidator matchValidator, SummaryMode summaryMode, MatchJournal journal) {
+        this(matchValidator, summaryMode, journal, MatchChangeLog.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * changeLogCapacity: how many last changes getChangesSince() could go back, older clients have to resync
+     */
+    public FootballScoreboardImpl(MatchValidator matchValidator, SummaryMode summaryMode, MatchJournal journal,
+                                  int changeLogCapacity) {
+        this(matchValidator, summaryMode, journal, changeLogCapacity, false);
+    }
+
+    /**
+     * rankIndexed: getRank() in O(log n) for rank-heavy readers, paid by a short global lock on every commit
+     */
+    public FootballScoreboardImpl(MatchValidator matchValidator, SummaryMode summaryMode, MatchJournal journal,
+                                  int changeLogCapacity, boolean rankIndexed) {
+        super(matchValidator, journal);
+        this.summaryMode = summaryMode;
+        this.rankIndex = rankIndexed ? new RankIndex<>() : null;
+        this.changeLog = new MatchChangeLog(changeLogCapacity);
+        this.snapshotPublisher = new SummarySnapshotPublisher(changeLog);
+        this.versionedStore = new VersionedSummaryStore(changeLog);
+        journal.replay(new JournalReplayer());
+        replaying = false;
+        publishSummary();
+    }
+
+    // Records are applied directly, the same way they were committed: no validation and no journaling.
+    // Records right after checkpoint could be already applied from the checkpoint itself: those are skipped.
+    private class JournalReplayer implements JournalHandler {
+        @Override
+        public void onCheckpoint(int lastStartSequence) {
+            seqGen.accumulateAndGet(lastStartSequence, Math::max);
+        }
+
+        // TEAM_ALREADY_PLAYING: the match is in the checkpoint already
+        @Override
+        public void onStart(String homeTeam, String awayTeam, int startSequence) {
+            seqGen.accumulateAndGet(startSequence, Math::max);
+            startMatch(homeTeam, awayTeam, startSequence);
+        }
+
+        // MATCH_NOT_STARTED: the match was finished before the checkpoint
+        @Override
+        public void onUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+            updateScore(homeTeam, awayTeam, homeScore, awayScore);
+        }
+
+        @Override
+        public void onRemove(String homeTeam, String awayTeam) {
+            finishMatch(homeTeam, awayTeam);
+        }
+    }
+
+    /**
+     * Writes checkpoint of the board into the journal without stopping writers,
+     * could be scheduled in the background with {@link sportradar.demo.football.journal.CheckpointScheduler}.
+     */
+    public void checkpoint() {
+        // position goes first: every change journaled below it is already in the index when it's scanned
+        var position = journal.position();
+        // scan is weakly consistent, the match being reindexed could be seen twice: the newer version wins.
+        // Finished match and the next match of its team could be seen together too, it's fine:
+        // both the remove and the start records are above the position, replay fixes it.
+        var matches = new LinkedHashMap<MatchKey, CurrentMatch>();
+        for (var match : rankedMatches.values()) {
+            matches.merge(new MatchKey(match.getHomeTeam(), match.getAwayTeam()), match,
+                    (seen, another) -> seen.getVersion() >= another.getVersion() ? seen : another);
+        }
+        journal.checkpoint(position, seqGen.get(), new ArrayList<>(matches.values()));
     }
 
     @Override
-    public void clearAllMatches() {
+    public void doClearAllMatches() {
+        // test purposes only, it's not journaled
         teamToMatches.clear();
+        rankedMatches.clear();
+        if (rankIndex != null) {
+            rankIndex.clear();
+        }
+        // the log is cleared by the structure which feeds it
+        switch (summaryMode) {
+            case SNAPSHOT -> snapshotPublisher.clear();
+            case MVCC -> versionedStore.clear();
+            case LIVE_INDEX -> changeLog.clear();
+        }
     }
 
+    // Writes return their result, only the throwing API builds the exception and its message.
+    // Failed write has nothing to commit: what it has seen is published already, see helpPublish()
+
     @Override
     public void doStartNewMatch(String homeTeam, String awayTeam) {
-        // TODO we could avoid waisted ids of seqGen if implement lazy generation of it:
-        //  for example using lambda: () -> seqGen.incrementAndGet();
-        var newMatch = new CurrentMatch(homeTeam, awayTeam, 0, 0, seqGen.incrementAndGet());
-        var newMatchRef = new AtomicReference<>(newMatch);
+        if (doTryStartNewMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw teamAlreadyPlaying(findMatchRef(homeTeam) != null
+                    ? "Home team is already playing!" : "Away team is already playing!");
+        }
+    }
+
+    @Override
+    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        if (doTryUpdateMatchScore(homeTeam, awayTeam, homeNewScore, awayNewScore) != CommandResult.OK) {
+            throw matchNotOnBoard("UPDATE MATCH SCORE", homeTeam);
+        }
+    }
+
+    @Override
+    public void doRemoveMatch(String homeTeam, String awayTeam) {
+        if (doTryRemoveMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw matchNotOnBoard("REMOVE MATCH", homeTeam);
+        }
+    }
+
+    @Override
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        var result = startMatch(homeTeam, awayTeam, seqGen.incrementAndGet());
+        if (result == CommandResult.OK) {
+            commit();
+        }
+        return result;
+    }
+
+    @Override
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        var result = updateScore(homeTeam, awayTeam, homeNewScore, awayNewScore);
+        if (result == CommandResult.OK) {
+            commit();
+        }
+        return result;
+    }
+
+    @Override
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        var result = finishMatch(homeTeam, awayTeam);
+        if (result == CommandResult.OK) {
+            commit();
+        }
+        return result;
+    }
+
+    /*
+     * Batch is applied in the given order, but consecutive updates are grouped by match:
+     * only the last update of each match is applied (scores are absolute, previous ones would be overwritten anyway),
+     * so each match is CASed once and all its updates share the same result.
+     * START and REMOVE could change the set of matches, that's why they close the group of updates.
+     * Summary snapshot is published and journal is synced once for the whole batch.
+     */
+    @Override
+    protected void doApplyBatch(List<MatchCommand> commands, CommandResult[] results) {
+        var groupedUpdates = new LinkedHashMap<MatchKey, MatchCommand>();
+        var groupStart = 0;
+        for (var i = 0; i < results.length; i++) {
+            var command = commands.get(i);
+            if (results[i] != null) {
+                continue;
+            }
+            if (command.type() == MatchCommand.Type.UPDATE) {
+                groupedUpdates.put(new MatchKey(command.homeTeam(), command.awayTeam()), command);
+                continue;
+            }
+            applyUpdates(groupedUpdates, commands, results, groupStart, i);
+            results[i] = applyUnpublished(command);
+            groupStart = i + 1;
+        }
+        applyUpdates(groupedUpdates, commands, results, groupStart, results.length);
+        commit();
+    }
+
+    private void applyUpdates(Map<MatchKey, MatchCommand> groupedUpdates, List<MatchCommand> commands,
+                              CommandResult[] results, int from, int to) {
+        if (groupedUpdates.isEmpty()) {
+            return;
+        }
+        var matchResults = new HashMap<MatchKey, CommandResult>();
+        groupedUpdates.forEach((match, lastUpdate) -> matchResults.put(match, applyUnpublished(lastUpdate)));
+        for (var i = from; i < to; i++) {
+            if (results[i] == null) {
+                var command = commands.get(i);
+                results[i] = matchResults.get(new MatchKey(command.homeTeam(), command.awayTeam()));
+            }
+        }
+        groupedUpdates.clear();
+    }
+
+    private CommandResult applyUnpublished(MatchCommand command) {
+        return switch (command.type()) {
+            case START -> startMatch(command.homeTeam(), command.awayTeam(), seqGen.incrementAndGet());
+            case UPDATE -> updateScore(
+                    command.homeTeam(), command.awayTeam(), command.homeScore(), command.awayScore()
+            );
+            case REMOVE -> finishMatch(command.homeTeam(), command.awayTeam());
+        };
+    }
+
+    private record MatchKey(String homeTeam, String awayTeam) {
+    }
+
+    // TODO we could avoid waisted ids of seqGen if implement lazy generation of it:
+    //  for example using lambda: () -> seqGen.incrementAndGet();
+    private CommandResult startMatch(String homeTeam, String awayTeam, int startSequence) {
+        var writeEvent = new MatchWriteEvent();
+        writeEvent.begin();
+        var result = reserveAndStart(homeTeam, awayTeam, startSequence);
+        // the new match is never changed by anybody else before it's LIVE: nothing to retry
+        commitWriteEvent(writeEvent, "START", homeTeam, awayTeam, 1, result);
+        return result;
+    }
+
+    private CommandResult reserveAndStart(String homeTeam, String awayTeam, int startSequence) {
+        var newMatchRef = new MatchRef(CurrentMatch.pending(homeTeam, awayTeam, startSequence));
+        var homeTeamId = teams.intern(homeTeam);
+        var awayTeamId = teams.intern(awayTeam);
 
         // It's better to explain what's going on in code below:
         // When we need to guarantee for unique check for BOTH:
@@ -90,11 +372,9 @@ public class FootballScoreboardImpl extends FootballScoreboardTemplate {
         // 1. Try adding homeTeam. If success - then other threads are impossible to do first step,
         //    and now we are secure for the second step
         // 2. Try adding awayTeam.
-        var existingMatch = teamToMatches.putIfAbsent(homeTeam, newMatchRef);
-
-        if (existingMatch != null) {
+        if (!reserveTeam(homeTeamId, newMatchRef)) {
             // teamToMatches map was not changed by this thread! need not clear it.
-            throw new TeamAlreadyPlayingException("Home team is already playing!");
+            return CommandResult.TEAM_ALREADY_PLAYING;
         }
         // FIXME sometime
         // At this point incorrect behaviour still could happen:
@@ -108,96 +388,311 @@ public class FootballScoreboardImpl extends FootballScoreboardTemplate {
         // Other thread will get false-negative exception
         // !
         // Update: attempted to fix with lock, need for test
+        // Update: lock replaced with PENDING state, other thread still gets false-negative
+        //  while teamA is PENDING, but at least it never waits for anything.
 
-        existingMatch = teamToMatches.putIfAbsent(awayTeam, newMatchRef);
-        if (existingMatch != null) {
+        if (!reserveTeam(awayTeamId, newMatchRef)) {
             // We added homeTeam to teamToMatches map
             // But awayTeam already playing somewhere else
             // So we need to rollback homeTeam from map to guarantee 'all-or-nothing' changes
-            teamToMatches.remove(homeTeam);
-            throw new TeamAlreadyPlayingException("Away team is already playing!");
+            teamToMatches.remove(homeTeamId, newMatchRef);
+            var rollbackEvent = new MatchStartRollbackEvent();
+            if (rollbackEvent.shouldCommit()) {
+                rollbackEvent.homeTeam = homeTeam;
+                rollbackEvent.awayTeam = awayTeam;
+                rollbackEvent.commit();
+            }
+            return CommandResult.TEAM_ALREADY_PLAYING;
         }
-        // now, when BOTH teams inserted into map, let's unlock match to be able to read/update/delete
-        newMatch.getMatchLock().unlock();
+        // now, when BOTH teams inserted into map, let's make match LIVE to be able to read/update/delete
+        // nobody else could change PENDING match, plain set is enough
+        newMatchRef.set(newMatchRef.get().live());
+        newMatchRef.publish(publisher);
+        return CommandResult.OK;
     }
 
-    @Override
-    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
-        // TODO add validation at least to escape negative values
-
-        // Going to catch and hold Match Lock reference during atomic computation map operation.
-        // Will use it for rollback if first team be updated, but NOT updated for second one
-        var matchLockRef = new AtomicReference<Lock>();
-
-        // HOME team
-        var currMatch = teamToMatches.computeIfPresent(homeTeam, (key, matchRef) -> {
-            // trying to lock match only (not changing scores yet)
-            // it should be isolated from read/delete/update by other threads
-            try {
-                var lock = matchRef.get().getMatchLock();
-                var isLocked = lock.tryLock(100L, MILLISECONDS);
-                if (!isLocked) {
-                    // Advice to trying again without any delays!
-                    throw new MatchLockedTimeout("Match is currently locked, try UPDATE MATCH SCORE again!");
-                }
-                matchLockRef.set(lock);
-                System.out.println("UPDATE MATCH SCORE: Lock was set for HOME team: [" + homeTeam + "]");
-            } catch (InterruptedException e) {
-                throw new RuntimeException(e);
+    // FINISHED match could still hold its teams for a moment (remover has not released them yet).
+    // Instead of failing let's help remover to release the team and try again.
+    private boolean reserveTeam(int teamId, MatchRef matchRef) {
+        while (true) {
+            var existingMatch = teamToMatches.putIfAbsent(teamId, matchRef);
+            if (existingMatch == null) {
+                return true;
             }
-            return matchRef;
-        });
-
-        if (currMatch == null) {
-            throw new MatchNotStartedException("Could not found HOME team on the matches board!");
+            if (!existingMatch.get().isFinished()) {
+                // the match could be not published yet: caller fails because of it, so readers must see it too
+                helpPublish(existingMatch);
+                return false;
+            }
+            // FINISHED has to be published before the team is released, see doRemoveMatch
+            existingMatch.publish(publisher);
+            teamToMatches.remove(teamId, existingMatch);
         }
+    }
 
-        // AWAY team
-        currMatch = teamToMatches.computeIfPresent(awayTeam, (team, matchRef) -> {
+    private CommandResult updateScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        var writeEvent = new MatchWriteEvent();
+        writeEvent.begin();
+        var matchRef = findMatchRef(homeTeam);
+        CurrentMatch currMatch;
+        CurrentMatch updatedMatch;
+        var attempts = 0;
+        do {
+            attempts++;
+            currMatch = findLiveMatch(matchRef, homeTeam, awayTeam);
+            if (currMatch == null) {
+                commitWriteEvent(writeEvent, "UPDATE", homeTeam, awayTeam, attempts, CommandResult.MATCH_NOT_STARTED);
+                return CommandResult.MATCH_NOT_STARTED;
+            }
             // Creating immutable copy of CurrentMatch
             // Assigning NEW team scores using input parameters
             // But EXISTING value for startSequence
-            var updatedMatch = new CurrentMatch(
-                    homeTeam, awayTeam, homeNewScore, awayNewScore, matchRef.get().getStartSequence()
-            );
-            matchRef.set(updatedMatch);
+            updatedMatch = currMatch.withScores(homeNewScore, awayNewScore);
             // Match reference was not changed! only target reference to CurrentMatch
-            return matchRef;
-        });
+            // CAS fails only if someone else has changed the match after we read it: just read it again
+        } while (!matchRef.compareAndSet(currMatch, updatedMatch));
 
-        // Release the lock on CurrentMatch which was set on first step
-        matchLockRef.get().unlock();
-        System.out.println("UPDATE MATCH SCORE: Lock was released for HOME team: [" + homeTeam + "]");
+        matchRef.publish(publisher);
+        commitWriteEvent(writeEvent, "UPDATE", homeTeam, awayTeam, attempts, CommandResult.OK);
+        return CommandResult.OK;
+    }
 
-        if (currMatch == null) {
-            throw new MatchNotStartedException("Could not found AWAY team on the matches board!");
+    private CommandResult finishMatch(String homeTeam, String awayTeam) {
+        var writeEvent = new MatchWriteEvent();
+        writeEvent.begin();
+        var matchRef = findMatchRef(homeTeam);
+        CurrentMatch currMatch;
+        var attempts = 0;
+        do {
+            attempts++;
+            currMatch = findLiveMatch(matchRef, homeTeam, awayTeam);
+            if (currMatch == null) {
+                commitWriteEvent(writeEvent, "REMOVE", homeTeam, awayTeam, attempts, CommandResult.MATCH_NOT_STARTED);
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+        } while (!matchRef.compareAndSet(currMatch, currMatch.finished()));
+
+        // FINISHED is terminal: any concurrent update/remove of this match will fail from now on.
+        // It has to be published before teams are released, otherwise other thread could start new match
+        // with the same team and publish it earlier than this one
+        matchRef.publish(publisher);
+        // order does not matter for removing teams
+        teamToMatches.remove(teams.find(homeTeam), matchRef);
+        teamToMatches.remove(teams.find(awayTeam), matchRef);
+        commitWriteEvent(writeEvent, "REMOVE", homeTeam, awayTeam, attempts, CommandResult.OK);
+        return CommandResult.OK;
+    }
+
+    // Events cost nothing but the allocation (usually eliminated by JIT) while there is no JFR recording running.
+    // Committed on every exit: failed writes take their time and retries too
+    private static void commitWriteEvent(MatchWriteEvent event, String operation,
+                                         String homeTeam, String awayTeam, int attempts, CommandResult outcome) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.outcome = outcome.name();
+            event.homeTeam = homeTeam;
+            event.awayTeam = awayTeam;
+            event.casRetries = attempts - 1;
+            event.commit();
         }
     }
 
-    @Override
-    public void doRemoveMatch(String homeTeam, String awayTeam) {
-        // Lock HOME team to disable it from read/delete/update
-        var matchRef = teamToMatches.get(homeTeam);
+    private MatchRef findMatchRef(String team) {
+        var teamId = teams.find(team);
+        return teamId == TeamDictionary.UNKNOWN_TEAM ? null : teamToMatches.get(teamId);
+    }
+
+    // homeTeam key could refer to a match where it plays as AWAY team, so both names have to be checked.
+    // null if there is no such live match: nothing is allocated for the failure, see matchNotOnBoard()
+    private CurrentMatch findLiveMatch(MatchRef matchRef, String homeTeam, String awayTeam) {
+        var match = matchRef == null ? null : matchRef.get();
+        if (match != null && match.isFinished()) {
+            // remover could be still on its way: caller fails because the match is gone, so readers must not see it
+            helpPublish(matchRef);
+        }
+        if (match == null || !match.isLive()
+                || !match.getHomeTeam().equals(homeTeam) || !match.getAwayTeam().equals(awayTeam)) {
+            return null;
+        }
+        return match;
+    }
+
+    // throwing API only: which team is missing is looked up again, the failed write has not kept it
+    private MatchNotStartedException matchNotOnBoard(String operation, String homeTeam) {
+        var matchRef = findMatchRef(homeTeam);
+        var match = matchRef == null ? null : matchRef.get();
+        if (match == null || !match.isLive() || !match.getHomeTeam().equals(homeTeam)) {
+            return matchNotStarted(operation + ": Could not found HOME team on the matches board!");
+        }
+        return matchNotStarted(operation + ": Could not found AWAY team on the matches board!");
+    }
+
+    // Failed write returns what it has seen: that state has to be visible to summary readers before it returns,
+    // otherwise read after the failure could show the board before it (see stress.LinearizabilityTests)
+    private void helpPublish(MatchRef matchRef) {
+        matchRef.publish(publisher);
+        publishSummary();
+    }
+
+    // Called by MatchRef.publish() under the match monitor, so calls for the same match are never reordered
+    private void onPublished(CurrentMatch previous, CurrentMatch latest) {
+        if (previous == null) {
+            // match could be finished before it was published at all: nothing to show then
+            if (latest.isLive()) {
+                rankedMatches.put(latest, latest);
+                if (rankIndex != null) {
+                    rankIndex.add(latest);
+                }
+                recordChange(MatchChange.started(latest));
+            }
+        } else if (latest.isFinished()) {
+            rankedMatches.remove(previous);
+            if (rankIndex != null) {
+                rankIndex.remove(previous);
+            }
+            recordChange(MatchChange.finished(previous));
+        } else {
+            reindex(previous, latest);
+            recordChange(MatchChange.scoreChanged(previous, latest));
+        }
+    }
+
+    // Adding new position first and only then removing the old one: concurrent scan could meet the match twice
+    // for a moment, distinctScan() keeps the newer one. A scan already past the new position could still miss
+    // the match moving up, LIVE_INDEX reads are weakly consistent (SNAPSHOT and MVCC are not)
+    private void reindex(CurrentMatch oldMatch, CurrentMatch updatedMatch) {
+        rankedMatches.put(updatedMatch, updatedMatch);
+        if (oldMatch.compareTo(updatedMatch) != 0) {
+            rankedMatches.remove(oldMatch);
+            if (rankIndex != null) {
+                rankIndex.replace(oldMatch, updatedMatch);
+            }
+        }
+    }
+
+    // Must be called from onPublished() only to keep changes in commit order.
+    // Snapshot publisher and versioned store pass the change on to the log in the order they apply it
+    private void recordChange(MatchChange change) {
+        switch (summaryMode) {
+            case SNAPSHOT -> snapshotPublisher.record(change);
+            case MVCC -> versionedStore.record(change);
+            case LIVE_INDEX -> changeLog.record(change);
+        }
+        if (!replaying) {
+            switch (change.type()) {
+                case STARTED -> journal.appendStart(
+                        change.after().getHomeTeam(), change.after().getAwayTeam(), change.after().getStartSequence()
+                );
+                case SCORE_CHANGED -> journal.appendUpdate(
+                        change.after().getHomeTeam(), change.after().getAwayTeam(),
+                        change.after().getHomeScore(), change.after().getAwayScore()
+                );
+                case FINISHED -> journal.appendRemove(change.before().getHomeTeam(), change.before().getAwayTeam());
+            }
+            // delivered asynchronously, subscriber could get the change a bit before the journal is synced
+            if (changePublisher.hasSubscribers()) {
+                changePublisher.publish(change);
+            }
+        }
+    }
 
-        if (matchRef == null) {
-            throw new MatchNotStartedException("REMOVE MATCH: Could not found HOME team on the matches board!");
+    // Change is visible to readers and durable (if journal is configured) when the write returns.
+    // Journal sync is a group commit, so concurrent writers usually share the same disk flush.
+    private void commit() {
+        publishSummary();
+        journal.sync();
+    }
+
+    private void publishSummary() {
+        switch (summaryMode) {
+            case SNAPSHOT -> snapshotPublisher.publish();
+            case MVCC -> versionedStore.publish();
+            case LIVE_INDEX -> changeLog.publish();
         }
+    }
+
+    /**
+     * Version of the latest change in the change log, the one getChangesSince() and getSummary(asOfVersion) take:
+     * take it BEFORE getSummary(), then getChangesSince() of it gives everything the summary could miss.
+     * Writer could return before its change is in the SNAPSHOT: version of the snapshot itself is returned then.
+     */
+    @Override
+    public long getBoardVersion() {
+        return switch (summaryMode) {
+            case SNAPSHOT -> snapshotPublisher.getVersion();
+            case MVCC -> versionedStore.getLatestVersion();
+            case LIVE_INDEX -> changeLog.getLatestVersion();
+        };
+    }
+
+    /**
+     * Matches added, rescored and removed after the given board version, each in its latest state.
+     * BoardDelta.resyncRequired if the log does not go back that far (see changeLogCapacity),
+     * or the version is not of this board (e.g. before restart): take getSummary() again then.
+     * Applying the delta twice is harmless, matches are identified by startSequence.
+     */
+    public BoardDelta getChangesSince(long version) {
+        return changeLog.getChangesSince(version);
+    }
+
+    public void setIsolationLevel(IsolationLevel isolationLevel) {
+        requireMvcc();
+        this.isolationLevel = isolationLevel;
+    }
 
+    /**
+     * MVCC mode only: the board exactly as it was right after the given board version was committed.
+     * Throws SnapshotTooOldException if the version is already reclaimed (nobody has pinned it with a view).
+     */
+    public List<CurrentMatch> getSummary(long asOfVersion) {
+        requireMvcc();
+        versionedStore.pin(asOfVersion);
         try {
-            var lock = matchRef.get().getMatchLock();
-            var isLocked = lock.tryLock(100L, MILLISECONDS);
-            if (!isLocked) {
-                // Advice to trying again without any delays!
-                throw new MatchLockedTimeout("REMOVE MATCH: Match is currently locked, try again!");
+            return versionedStore.getSummary(asOfVersion);
+        } finally {
+            versionedStore.unpin(asOfVersion);
+        }
+    }
+
+    /**
+     * MVCC mode only: read session with the board isolation level, must be closed
+     */
+    public SummaryView openView() {
+        return openView(isolationLevel);
+    }
+
+    public SummaryView openView(IsolationLevel level) {
+        requireMvcc();
+        return switch (level) {
+            case READ_UNCOMMITTED -> new SummaryView(level, SummaryView.NOT_PINNED,
+                    () -> new ArrayList<>(rankedMatches.values()), () -> {
+            });
+            case READ_COMMITTED -> new SummaryView(level, SummaryView.NOT_PINNED,
+                    this::getLatestSummary, () -> {
+            });
+            case REPEATABLE_READ, SERIALIZABLE -> {
+                var version = versionedStore.pin();
+                yield new SummaryView(level, version,
+                        () -> versionedStore.getSummary(version), () -> versionedStore.unpin(version));
             }
-            System.out.println("REMOVE MATCH: Lock was set for HOME team: [" + homeTeam + "]");
-        } catch (InterruptedException e) {
-            throw new RuntimeException(e);
+        };
+    }
+
+    // pin() retries if reclaimer moves the horizon: reading the latest version never fails with SnapshotTooOld
+    private List<CurrentMatch> getLatestSummary() {
+        var version = versionedStore.pin();
+        try {
+            return versionedStore.getSummary(version);
+        } finally {
+            versionedStore.unpin(version);
         }
+    }
 
-        // order does not matter for removing teams
-        teamToMatches.remove(homeTeam);
-        teamToMatches.remove(awayTeam);
+    private void requireMvcc() {
+        if (summaryMode != SummaryMode.MVCC) {
+            throw new UnsupportedOperationException("Versions are kept in SummaryMode.MVCC only, board is " + summaryMode);
+        }
     }
 
     /*
@@ -222,6 +717,9 @@ public class FootballScoreboardImpl extends FootballScoreboardTemplate {
      * TODO try to fix it
      *  we could introduce one more Lock - which will Lock full access to cache map
      *  prefer to to keep as is for a while.
+     * Update: SummaryMode.SNAPSHOT fixes it without any additional lock,
+     *  see SummarySnapshotPublisher for details.
+     * Update: SummaryMode.MVCC fixes it too, and could read the board as of any kept version.
      *
      */
     @Override
@@ -231,11 +729,74 @@ public class FootballScoreboardImpl extends FootballScoreboardTemplate {
         //  extract isolation-level into property and allow users/developers to set desired level.
         //
         // This time I am keeping it as is.
-        return teamToMatches.values().stream()
-                .map(AtomicReference::get)
-                .distinct()
-                .sorted()
-                .collect(toList());
+        // Update: done for SummaryMode.MVCC, see IsolationLevel, openView() and getSummary(asOfVersion).
+        //  Single read is one statement, so REPEATABLE READ and SERIALIZABLE are the same as READ COMMITTED here.
+        var scanEvent = new SummaryScanEvent();
+        scanEvent.begin();
+        List<CurrentMatch> summary;
+        if (readsCommittedSummary()) {
+            summary = committedSummary();
+        } else {
+            // rankedMatches is already sorted: ordered scan, no sort, only a moving match is deduplicated
+            summary = distinctScan(rankedMatches.values().iterator(), Integer.MAX_VALUE);
+        }
+        scanEvent.end();
+        if (scanEvent.shouldCommit()) {
+            scanEvent.summaryMode = summaryMode.name();
+            scanEvent.matches = summary.size();
+            scanEvent.commit();
+        }
+        return summary;
+    }
+
+    private boolean readsCommittedSummary() {
+        return summaryMode == SummaryMode.SNAPSHOT
+                || summaryMode == SummaryMode.MVCC && isolationLevel != IsolationLevel.READ_UNCOMMITTED;
+    }
+
+    private List<CurrentMatch> committedSummary() {
+        return summaryMode == SummaryMode.SNAPSHOT ? snapshotPublisher.getSnapshot() : getLatestSummary();
+    }
+
+    // O(n): skip list is already sorted, only first n entries are visited.
+    // SNAPSHOT and MVCC (above READ_UNCOMMITTED) read the same consistent summary getSummary() does.
+    @Override
+    public List<CurrentMatch> doGetTopMatches(int n) {
+        if (readsCommittedSummary()) {
+            var summary = committedSummary();
+            return summary.subList(0, Math.min(n, summary.size()));
+        }
+        return distinctScan(rankedMatches.values().iterator(), n);
+    }
+
+    // Published value is the one the indexes know about, the current one could be still on its way.
+    // O(log n) with rank index, otherwise O(rank): the prefix is counted the same way getSummary() reads it,
+    // reindex() could show the old position of a moving match for a moment, so the rank could be one off then
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        var matchRef = findMatchRef(homeTeam);
+        var match = matchRef == null ? null : matchRef.getPublished();
+        if (match == null || !match.isLive() || !match.getHomeTeam().equals(homeTeam)) {
+            throw matchNotStarted("getRank: Could not found HOME team on the matches board!");
+        }
+        if (!match.getAwayTeam().equals(awayTeam)) {
+            throw matchNotStarted("getRank: Could not found AWAY team on the matches board!");
+        }
+        if (rankIndex != null) {
+            return rankIndex.countBefore(match) + 1;
+        }
+        return rankedMatches.headMap(match).size() + 1;
+    }
+
+    // Skip list tail view is lazy and weakly consistent: only the page itself is read
+    @Override
+    public SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize) {
+        if (readsCommittedSummary()) {
+            return SummaryPage.of(committedSummary(), after, pageSize);
+        }
+        var tail = after == null ? rankedMatches.values() : rankedMatches.tailMap(after, false).values();
+        var scan = tail.iterator();
+        return SummaryPage.of(distinctScan(scan, pageSize), scan.hasNext());
     }
 
 }
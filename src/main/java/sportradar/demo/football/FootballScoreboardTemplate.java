@@ -1,12 +1,39 @@
 package sportradar.demo.football;
 
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.journal.MatchJournal;
 import sportradar.demo.football.validator.MatchValidator;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
 public abstract class FootballScoreboardTemplate implements FootballScoreboard {
     private final MatchValidator matchValidator;
 
+    // Implementation decides where commands are journaled: it has to be done in commit order,
+    // which is known only inside the implementation.
+    protected final MatchJournal journal;
+
+    // Bumped after every successful write, so it's behind the board for a moment but never misses a change.
+    // Single counter shared by all writers: one more CAS per write, nothing compared to the write itself.
+    private final AtomicLong boardVersion = new AtomicLong();
+
     public FootballScoreboardTemplate(MatchValidator matchValidator) {
+        this(matchValidator, MatchJournal.none());
+    }
+
+    public FootballScoreboardTemplate(MatchValidator matchValidator, MatchJournal journal) {
         this.matchValidator = matchValidator;
+        this.journal = journal;
     }
 
     @Override
@@ -14,6 +41,7 @@ public abstract class FootballScoreboardTemplate implements FootballScoreboard {
     public final void startNewMatch(String homeTeam, String awayTeam) {
         matchValidator.validateNewMatch(homeTeam, awayTeam);
         doStartNewMatch(homeTeam, awayTeam);
+        boardVersion.incrementAndGet();
     }
 
     public abstract void doStartNewMatch(String homeTeam, String awayTeam);
@@ -22,6 +50,7 @@ public abstract class FootballScoreboardTemplate implements FootballScoreboard {
     public final void updateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
         matchValidator.validateUpdateMatch(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
         doUpdateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        boardVersion.incrementAndGet();
     }
 
     public abstract void doUpdateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore);
@@ -30,8 +59,201 @@ public abstract class FootballScoreboardTemplate implements FootballScoreboard {
     public final void removeMatch(String homeTeam, String awayTeam) {
         matchValidator.validateDeleteMatch(homeTeam, awayTeam);
         doRemoveMatch(homeTeam, awayTeam);
+        boardVersion.incrementAndGet();
     }
 
     public abstract void doRemoveMatch(String homeTeam, String awayTeam);
 
+    @Override
+    public final CommandResult tryStartNewMatch(String homeTeam, String awayTeam) {
+        var result = matchValidator.checkNewMatch(homeTeam, awayTeam);
+        if (result == CommandResult.OK) {
+            result = doTryStartNewMatch(homeTeam, awayTeam);
+        }
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public final CommandResult tryUpdateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        var result = matchValidator.checkUpdateMatch(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        if (result == CommandResult.OK) {
+            result = doTryUpdateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+        }
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public final CommandResult tryRemoveMatch(String homeTeam, String awayTeam) {
+        var result = matchValidator.checkDeleteMatch(homeTeam, awayTeam);
+        if (result == CommandResult.OK) {
+            result = doTryRemoveMatch(homeTeam, awayTeam);
+        }
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+        }
+        return result;
+    }
+
+    // Default ones catch the conflict thrown by doXxx: it's stackless (see teamAlreadyPlaying()), but still
+    // an allocation and a message per rejected call. Every engine of the library returns the result directly,
+    // the throwing doXxx is built on top of it then.
+
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        try {
+            doStartNewMatch(homeTeam, awayTeam);
+            return CommandResult.OK;
+        } catch (TeamAlreadyPlayingException | MatchNotStartedException ex) {
+            return CommandResult.of(ex);
+        }
+    }
+
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        try {
+            doUpdateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            return CommandResult.OK;
+        } catch (TeamAlreadyPlayingException | MatchNotStartedException ex) {
+            return CommandResult.of(ex);
+        }
+    }
+
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        try {
+            doRemoveMatch(homeTeam, awayTeam);
+            return CommandResult.OK;
+        } catch (TeamAlreadyPlayingException | MatchNotStartedException ex) {
+            return CommandResult.of(ex);
+        }
+    }
+
+    // Conflicts are thrown for perfectly valid calls which lost the race (duplicates, late updates after removal),
+    // caller handles them as an outcome. Stack trace is never read but filling it is the most of the throw cost,
+    // so engines throw them without it.
+
+    protected static TeamAlreadyPlayingException teamAlreadyPlaying(String msg) {
+        return new TeamAlreadyPlayingException(msg, false);
+    }
+
+    protected static MatchNotStartedException matchNotStarted(String msg) {
+        return new MatchNotStartedException(msg, false);
+    }
+
+    // Indexes put the new position of a moving match before removing the old one, so a weakly consistent scan
+    // could meet it twice: the newer version wins and keeps its own position. Stops after limit distinct matches.
+    protected static List<CurrentMatch> distinctScan(Iterator<CurrentMatch> scan, int limit) {
+        var matches = new ArrayList<CurrentMatch>(Math.min(limit, 64));
+        var positions = new HashMap<Integer, Integer>();
+        var distinct = 0;
+        var moved = false;
+        while (distinct < limit && scan.hasNext()) {
+            var match = scan.next();
+            var seen = positions.putIfAbsent(match.getStartSequence(), matches.size());
+            if (seen == null) {
+                matches.add(match);
+                distinct++;
+            } else if (matches.get(seen).getVersion() < match.getVersion()) {
+                matches.set(seen, null);
+                positions.put(match.getStartSequence(), matches.size());
+                matches.add(match);
+                moved = true;
+            }
+        }
+        if (moved) {
+            matches.removeIf(Objects::isNull);
+        }
+        return matches;
+    }
+
+    @Override
+    public final void clearAllMatches() {
+        doClearAllMatches();
+        boardVersion.incrementAndGet();
+    }
+
+    public abstract void doClearAllMatches();
+
+    // Engines which publish the summary asynchronously have to return the version of what readers could see
+    @Override
+    public long getBoardVersion() {
+        return boardVersion.get();
+    }
+
+    @Override
+    public final List<CurrentMatch> getTopMatches(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of top matches could not be negative: " + n);
+        }
+        return doGetTopMatches(n);
+    }
+
+    public abstract List<CurrentMatch> doGetTopMatches(int n);
+
+    @Override
+    public final SummaryPage getSummaryPage(String continuationToken, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size has to be positive: " + pageSize);
+        }
+        var after = continuationToken == null ? null : SummaryPage.positionOf(continuationToken);
+        return doGetSummaryPage(after, pageSize);
+    }
+
+    // 'after' is the position of the last match of the previous page (null for the first page)
+    public abstract SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize);
+
+    @Override
+    public final List<CommandResult> applyBatch(List<MatchCommand> commands) {
+        // validating whole batch first, doApplyBatch gets only valid commands (with null result)
+        var results = new CommandResult[commands.size()];
+        for (var i = 0; i < results.length; i++) {
+            var result = check(commands.get(i));
+            if (result != CommandResult.OK) {
+                results[i] = result;
+            }
+        }
+        doApplyBatch(commands, results);
+        // batch which has changed nothing must not invalidate cached renders and replicas
+        for (var result : results) {
+            if (result == CommandResult.OK) {
+                boardVersion.incrementAndGet();
+                break;
+            }
+        }
+        return List.of(results);
+    }
+
+    // Default one applies valid commands one by one, implementations could do it smarter
+    protected void doApplyBatch(List<MatchCommand> commands, CommandResult[] results) {
+        for (var i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = apply(commands.get(i));
+            }
+        }
+    }
+
+    protected final CommandResult apply(MatchCommand command) {
+        return switch (command.type()) {
+            case START -> doTryStartNewMatch(command.homeTeam(), command.awayTeam());
+            case UPDATE -> doTryUpdateMatchScore(
+                    command.homeTeam(), command.awayTeam(), command.homeScore(), command.awayScore()
+            );
+            case REMOVE -> doTryRemoveMatch(command.homeTeam(), command.awayTeam());
+        };
+    }
+
+    // the same checks as validateXxx, without exception and message for an invalid command
+    protected final CommandResult check(MatchCommand command) {
+        return switch (command.type()) {
+            case START -> matchValidator.checkNewMatch(command.homeTeam(), command.awayTeam());
+            case UPDATE -> matchValidator.checkUpdateMatch(
+                    command.homeTeam(), command.awayTeam(), command.homeScore(), command.awayScore()
+            );
+            case REMOVE -> matchValidator.checkDeleteMatch(command.homeTeam(), command.awayTeam());
+        };
+    }
+
 }
@@ -0,0 +1,18 @@
+package sportradar.demo.football;
+
+/**
+ * What reader of SummaryMode.MVCC board could see, in RDBMS terms.
+ * Readers never take any lock, writers are never blocked by them whatever the level is.
+ */
+public enum IsolationLevel {
+    // Live ranked index, the same as SummaryMode.LIVE_INDEX: the latest state, but changes
+    // which are still on their way could be seen partially ("Papas" playing in two matches)
+    READ_UNCOMMITTED,
+    // Every read is the latest committed version: consistent, but two reads could see different versions
+    READ_COMMITTED,
+    // Version is pinned when view is opened, every read of the view sees the same board
+    REPEATABLE_READ,
+    // Views are read-only: pinned version is a prefix of committed changes in commit order,
+    // so it's already the state of some serial execution. Same as REPEATABLE_READ for now.
+    SERIALIZABLE
+}
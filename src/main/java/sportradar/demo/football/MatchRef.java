@@ -0,0 +1,44 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Shared by HOME and AWAY team entries of the board.
+ * Current value of the match is changed by CAS only.
+ * 'published' is the last value handed over to secondary structures (ranked index, summary snapshot),
+ * it always lags behind or equals to the current value.
+ */
+class MatchRef extends AtomicReference<CurrentMatch> {
+
+    // guarded by this
+    private CurrentMatch published;
+
+    MatchRef(CurrentMatch match) {
+        super(match);
+    }
+
+    /*
+     * Publishes the latest value of the match, if nobody has done it yet.
+     * Two writers could CAS the match one after another but come here in reversed order,
+     * so the one who comes first publishes the latest value for both, the other one has nothing to do.
+     * Monitor keeps publishing order the same as CAS order. It's held only while secondary structures
+     * are updated and never while waiting for anything, so it could not time out like the match lock did.
+     */
+    synchronized void publish(BiConsumer<CurrentMatch, CurrentMatch> publisher) {
+        var latest = get();
+        if (latest == published || latest.isPending()) {
+            return;
+        }
+        publisher.accept(published, latest);
+        published = latest;
+    }
+
+    // The value secondary structures know about right now, null until the match is published
+    synchronized CurrentMatch getPublished() {
+        return published;
+    }
+
+}
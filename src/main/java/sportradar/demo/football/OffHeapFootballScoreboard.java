@@ -0,0 +1,238 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchState;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.index.MatchSlab;
+import sportradar.demo.football.index.TeamDictionary;
+import sportradar.demo.football.index.TeamSlotIndex;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Engine for tournament-wide boards with huge number of matches: match records live off-heap in MatchSlab,
+ * heap holds only team names (TeamDictionary) and 8 bytes per team (TeamSlotIndex).
+ * GC cost stays flat whatever the board size is.
+ * <p>
+ * Writers follow the same protocol as PACKED engine (two steps reservation, CAS of the match state),
+ * score update is a seqlock write into the slot and allocates nothing.
+ * Like PACKED, there is no ranked index: readers scan the slab and sort.
+ */
+public class OffHeapFootballScoreboard extends FootballScoreboardTemplate {
+
+    private final TeamDictionary teams = new TeamDictionary();
+    private final TeamSlotIndex teamSlots = new TeamSlotIndex();
+    private final MatchSlab slab = new MatchSlab();
+    private final AtomicInteger seqGen = new AtomicInteger();
+
+    public OffHeapFootballScoreboard(MatchValidator matchValidator) {
+        super(matchValidator);
+    }
+
+    // Writes return their result, only the throwing API builds the exception and its message
+
+    @Override
+    public void doStartNewMatch(String homeTeam, String awayTeam) {
+        if (doTryStartNewMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            var homeTeamId = teams.find(homeTeam);
+            throw teamAlreadyPlaying(homeTeamId != TeamDictionary.UNKNOWN_TEAM
+                    && teamSlots.get(homeTeamId) != TeamSlotIndex.NO_SLOT
+                    ? "Home team is already playing!" : "Away team is already playing!");
+        }
+    }
+
+    @Override
+    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        if (doTryUpdateMatchScore(homeTeam, awayTeam, homeNewScore, awayNewScore) != CommandResult.OK) {
+            throw matchNotOnBoard("UPDATE MATCH SCORE", homeTeam);
+        }
+    }
+
+    @Override
+    public void doRemoveMatch(String homeTeam, String awayTeam) {
+        if (doTryRemoveMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw matchNotOnBoard("REMOVE MATCH", homeTeam);
+        }
+    }
+
+    @Override
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        var homeTeamId = teams.intern(homeTeam);
+        var awayTeamId = teams.intern(awayTeam);
+        var slot = slab.allocate(homeTeamId, awayTeamId, seqGen.incrementAndGet());
+        if (!reserveTeam(homeTeamId, slot)) {
+            slab.free(slot);
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        if (!reserveTeam(awayTeamId, slot)) {
+            teamSlots.release(homeTeamId, slot);
+            slab.free(slot);
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        slab.makeLive(slot);
+        return CommandResult.OK;
+    }
+
+    // FINISHED match could still hold the team for a moment: help remover to release it.
+    // Release is a CAS on the entry read before the state check: if the slot was freed, reused
+    // and the team reserved again meanwhile, generation has changed and the new match keeps the team
+    private boolean reserveTeam(int teamId, int slot) {
+        while (true) {
+            var entry = teamSlots.entry(teamId);
+            var existingSlot = TeamSlotIndex.slotOf(entry);
+            if (existingSlot == TeamSlotIndex.NO_SLOT) {
+                if (teamSlots.reserve(teamId, entry, slot)) {
+                    return true;
+                }
+                continue;
+            }
+            if (MatchSlab.stateOf(slab.stamp(existingSlot)) != MatchSlab.FINISHED) {
+                return false;
+            }
+            teamSlots.release(teamId, entry);
+        }
+    }
+
+    @Override
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        var homeTeamId = teams.find(homeTeam);
+        var awayTeamId = teams.find(awayTeam);
+        while (true) {
+            var slot = findSlot(homeTeamId, awayTeamId);
+            if (slot == TeamSlotIndex.NO_SLOT) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+            var stamp = slab.stamp(slot);
+            if (MatchSlab.isWriting(stamp)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!isLive(slot, stamp, homeTeamId, awayTeamId)) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+            // fails if somebody else has changed the slot after we read the stamp, or the slot was reused
+            if (slab.compareAndSetScores(slot, stamp, homeNewScore, awayNewScore)) {
+                return CommandResult.OK;
+            }
+        }
+    }
+
+    @Override
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        var homeTeamId = teams.find(homeTeam);
+        var awayTeamId = teams.find(awayTeam);
+        int slot;
+        while (true) {
+            slot = findSlot(homeTeamId, awayTeamId);
+            if (slot == TeamSlotIndex.NO_SLOT) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+            var stamp = slab.stamp(slot);
+            if (MatchSlab.isWriting(stamp)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (!isLive(slot, stamp, homeTeamId, awayTeamId)) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+            if (slab.compareAndSetState(slot, stamp, MatchSlab.FINISHED)) {
+                break;
+            }
+        }
+        // slot goes back to the slab only when nothing refers to it
+        teamSlots.release(homeTeamId, slot);
+        teamSlots.release(awayTeamId, slot);
+        slab.free(slot);
+        return CommandResult.OK;
+    }
+
+    // slot of the HOME team, NO_SLOT if either team is not known at all
+    private int findSlot(int homeTeamId, int awayTeamId) {
+        if (homeTeamId == TeamDictionary.UNKNOWN_TEAM || awayTeamId == TeamDictionary.UNKNOWN_TEAM) {
+            return TeamSlotIndex.NO_SLOT;
+        }
+        return teamSlots.get(homeTeamId);
+    }
+
+    // team ids are read after the stamp, CAS with that stamp proves they belong to the same match
+    private boolean isLive(int slot, long stamp, int homeTeamId, int awayTeamId) {
+        return MatchSlab.stateOf(stamp) == MatchSlab.LIVE
+                && slab.homeTeamId(slot) == homeTeamId && slab.awayTeamId(slot) == awayTeamId;
+    }
+
+    // throwing API only: which team is missing is looked up again, the failed write has not kept it
+    private MatchNotStartedException matchNotOnBoard(String operation, String homeTeam) {
+        var homeTeamId = teams.find(homeTeam);
+        var slot = homeTeamId == TeamDictionary.UNKNOWN_TEAM ? TeamSlotIndex.NO_SLOT : teamSlots.get(homeTeamId);
+        var fields = new int[6];
+        if (slot == TeamSlotIndex.NO_SLOT || !slab.readLive(slot, fields) || fields[0] != homeTeamId) {
+            return matchNotStarted(operation + ": Could not found HOME team on the matches board!");
+        }
+        return matchNotStarted(operation + ": Could not found AWAY team on the matches board!");
+    }
+
+    @Override
+    public List<CurrentMatch> getSummary() {
+        var highWater = slab.highWater();
+        var summary = new ArrayList<CurrentMatch>();
+        var fields = new int[6];
+        for (var slot = 0; slot < highWater; slot++) {
+            if (slab.readLive(slot, fields)) {
+                summary.add(new CurrentMatch(teams.nameOf(fields[0]), teams.nameOf(fields[1]),
+                        fields[3], fields[4], fields[2], fields[5], MatchState.LIVE));
+            }
+        }
+        summary.sort(null);
+        return summary;
+    }
+
+    @Override
+    public List<CurrentMatch> doGetTopMatches(int n) {
+        var summary = getSummary();
+        return summary.subList(0, Math.min(n, summary.size()));
+    }
+
+    // O(n) scan of the slab, nothing is materialized
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        var homeTeamId = teams.find(homeTeam);
+        var awayTeamId = teams.find(awayTeam);
+        var slot = findSlot(homeTeamId, awayTeamId);
+        var match = new int[6];
+        if (slot == TeamSlotIndex.NO_SLOT || !slab.readLive(slot, match)
+                || match[0] != homeTeamId || match[1] != awayTeamId) {
+            throw matchNotOnBoard("getRank", homeTeam);
+        }
+        var total = (long) match[3] + match[4];
+        var rank = 1;
+        var other = new int[6];
+        var highWater = slab.highWater();
+        for (var i = 0; i < highWater; i++) {
+            if (i == slot || !slab.readLive(i, other)) {
+                continue;
+            }
+            var otherTotal = (long) other[3] + other[4];
+            if (otherTotal > total || otherTotal == total && other[2] > match[2]) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize) {
+        return SummaryPage.of(getSummary(), after, pageSize);
+    }
+
+    @Override
+    public void doClearAllMatches() {
+        teamSlots.clear();
+        slab.clear();
+    }
+
+}
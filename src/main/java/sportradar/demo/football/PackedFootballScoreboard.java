@@ -0,0 +1,251 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.index.IntMatchTable;
+import sportradar.demo.football.index.TeamDictionary;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Engine for score feeds with peak write rate: score update allocates nothing.
+ * <p>
+ * Each match is a mutable record with both scores and the state packed into a single 64-bit word,
+ * update is one CAS of that word. Readers read the word once, so they always get consistent home/away pair
+ * without any lock. Lookup is allocation-free too: team id from TeamDictionary, then IntMatchTable probe.
+ * <p>
+ * The price is paid by readers: there is no ranked index (it would need new key object on every update),
+ * so summary, top N, rank and pages sort or scan live matches on every call.
+ * Start and remove allocate as usual, they are rare compared to score updates.
+ */
+public class PackedFootballScoreboard extends FootballScoreboardTemplate {
+
+    // word layout: state (2 bits) | home score (31 bits) | away score (31 bits), scores are never negative
+    private static final int SCORE_BITS = 31;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final long PENDING = 0L;
+    private static final long LIVE = 1L << 62;
+    private static final long FINISHED = 2L << 62;
+    private static final long STATE_MASK = 3L << 62;
+
+    /*
+     * Shared by HOME and AWAY team entries, the same way MatchRef is.
+     * Names and startSequence never change, everything else is the word.
+     */
+    private static final class PackedMatch extends AtomicLong {
+        private final String homeTeam;
+        private final String awayTeam;
+        private final int startSequence;
+
+        private PackedMatch(String homeTeam, String awayTeam, int startSequence) {
+            super(PENDING);
+            this.homeTeam = homeTeam;
+            this.awayTeam = awayTeam;
+            this.startSequence = startSequence;
+        }
+    }
+
+    private final TeamDictionary teams = new TeamDictionary();
+    private final IntMatchTable<PackedMatch> teamToMatches = new IntMatchTable<>();
+    // changed on start and remove only, summary is built from it
+    private final Set<PackedMatch> liveMatches = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger seqGen = new AtomicInteger();
+
+    public PackedFootballScoreboard(MatchValidator matchValidator) {
+        super(matchValidator);
+    }
+
+    static long pack(long state, int homeScore, int awayScore) {
+        return state | ((long) homeScore << SCORE_BITS) | awayScore;
+    }
+
+    static int homeScoreOf(long word) {
+        return (int) ((word >>> SCORE_BITS) & SCORE_MASK);
+    }
+
+    static int awayScoreOf(long word) {
+        return (int) (word & SCORE_MASK);
+    }
+
+    // Writes return their result, only the throwing API builds the exception and its message
+
+    @Override
+    public void doStartNewMatch(String homeTeam, String awayTeam) {
+        if (doTryStartNewMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw teamAlreadyPlaying(findTeamMatch(homeTeam) != null
+                    ? "Home team is already playing!" : "Away team is already playing!");
+        }
+    }
+
+    @Override
+    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        if (doTryUpdateMatchScore(homeTeam, awayTeam, homeNewScore, awayNewScore) != CommandResult.OK) {
+            throw matchNotOnBoard("UPDATE MATCH SCORE", homeTeam);
+        }
+    }
+
+    @Override
+    public void doRemoveMatch(String homeTeam, String awayTeam) {
+        if (doTryRemoveMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw matchNotOnBoard("REMOVE MATCH", homeTeam);
+        }
+    }
+
+    // the same two steps reservation as FootballScoreboardImpl has, PENDING match is invisible for everybody
+    @Override
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        var match = new PackedMatch(homeTeam, awayTeam, seqGen.incrementAndGet());
+        var homeTeamId = teams.intern(homeTeam);
+        var awayTeamId = teams.intern(awayTeam);
+        if (!reserveTeam(homeTeamId, match)) {
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        if (!reserveTeam(awayTeamId, match)) {
+            teamToMatches.remove(homeTeamId, match);
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        liveMatches.add(match);
+        match.set(pack(LIVE, 0, 0));
+        return CommandResult.OK;
+    }
+
+    // FINISHED match could still hold the team for a moment: help remover to release it
+    private boolean reserveTeam(int teamId, PackedMatch match) {
+        while (true) {
+            var existingMatch = teamToMatches.putIfAbsent(teamId, match);
+            if (existingMatch == null) {
+                return true;
+            }
+            if ((existingMatch.get() & STATE_MASK) != FINISHED) {
+                return false;
+            }
+            teamToMatches.remove(teamId, existingMatch);
+        }
+    }
+
+    // Allocation-free: no new match object, no boxing, no lambda, no exception for a late update
+    @Override
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        var match = findMatch(homeTeam, awayTeam);
+        if (match == null) {
+            return CommandResult.MATCH_NOT_STARTED;
+        }
+        var updated = pack(LIVE, homeNewScore, awayNewScore);
+        long word;
+        do {
+            word = match.get();
+            if ((word & STATE_MASK) != LIVE) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+        } while (!match.compareAndSet(word, updated));
+        return CommandResult.OK;
+    }
+
+    @Override
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        var match = findMatch(homeTeam, awayTeam);
+        if (match == null) {
+            return CommandResult.MATCH_NOT_STARTED;
+        }
+        long word;
+        do {
+            word = match.get();
+            if ((word & STATE_MASK) != LIVE) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+        } while (!match.compareAndSet(word, (word & ~STATE_MASK) | FINISHED));
+        liveMatches.remove(match);
+        teamToMatches.remove(teams.find(homeTeam), match);
+        teamToMatches.remove(teams.find(awayTeam), match);
+        return CommandResult.OK;
+    }
+
+    // null if there is no such match, its state is checked by the caller
+    private PackedMatch findMatch(String homeTeam, String awayTeam) {
+        var match = findTeamMatch(homeTeam);
+        if (match == null || !match.homeTeam.equals(homeTeam) || !match.awayTeam.equals(awayTeam)) {
+            return null;
+        }
+        return match;
+    }
+
+    // match the team is in, if any
+    private PackedMatch findTeamMatch(String team) {
+        var teamId = teams.find(team);
+        return teamId == TeamDictionary.UNKNOWN_TEAM ? null : teamToMatches.get(teamId);
+    }
+
+    // throwing API only: which team is missing is looked up again, the failed write has not kept it
+    private MatchNotStartedException matchNotOnBoard(String operation, String homeTeam) {
+        var match = findTeamMatch(homeTeam);
+        if (match == null || (match.get() & STATE_MASK) != LIVE || !match.homeTeam.equals(homeTeam)) {
+            return matchNotStarted(operation + ": Could not found HOME team on the matches board!");
+        }
+        return matchNotStarted(operation + ": Could not found AWAY team on the matches board!");
+    }
+
+    @Override
+    public List<CurrentMatch> getSummary() {
+        var summary = new ArrayList<CurrentMatch>(liveMatches.size());
+        for (var match : liveMatches) {
+            // single read: home and away score always belong to the same update
+            var word = match.get();
+            if ((word & STATE_MASK) == LIVE) {
+                summary.add(new CurrentMatch(
+                        match.homeTeam, match.awayTeam, homeScoreOf(word), awayScoreOf(word), match.startSequence
+                ));
+            }
+        }
+        summary.sort(null);
+        return summary;
+    }
+
+    @Override
+    public List<CurrentMatch> doGetTopMatches(int n) {
+        var summary = getSummary();
+        return summary.subList(0, Math.min(n, summary.size()));
+    }
+
+    // O(n) scan: counts live matches which go before this one
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        var match = findMatch(homeTeam, awayTeam);
+        var word = match == null ? FINISHED : match.get();
+        if ((word & STATE_MASK) != LIVE) {
+            throw matchNotOnBoard("getRank", homeTeam);
+        }
+        var total = (long) homeScoreOf(word) + awayScoreOf(word);
+        var rank = 1;
+        for (var other : liveMatches) {
+            var otherWord = other.get();
+            if ((otherWord & STATE_MASK) != LIVE || other == match) {
+                continue;
+            }
+            var otherTotal = (long) homeScoreOf(otherWord) + awayScoreOf(otherWord);
+            if (otherTotal > total || otherTotal == total && other.startSequence > match.startSequence) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    @Override
+    public SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize) {
+        return SummaryPage.of(getSummary(), after, pageSize);
+    }
+
+    @Override
+    public void doClearAllMatches() {
+        teamToMatches.clear();
+        liveMatches.clear();
+    }
+
+}
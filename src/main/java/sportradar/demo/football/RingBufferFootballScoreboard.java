@@ -0,0 +1,625 @@
+package sportradar.demo.football;
+
+import lombok.extern.slf4j.Slf4j;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.index.TeamDictionary;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single writer engine in the style of LMAX Disruptor.
+ * <p>
+ * Callers never touch the board: they claim a slot of the pre-allocated ring buffer, fill it with the command
+ * and go away (callback) or park until the command is applied (blocking FootballScoreboard API).
+ * The only writer thread applies commands one by one to plain single-threaded structures,
+ * so there is no putIfAbsent/rollback for starting match, no CAS retries and no locks at all.
+ * <p>
+ * Nothing is allocated per write command in steady state: slots are reused, match records are pooled,
+ * each caller thread has its own reusable Waiter. Only starting a match of never seen team interns its name.
+ * The writer publishes the summary snapshot once per run of commands it has drained (O(n), with new views
+ * for the changed matches only), before it completes them: readers never go through the ring, they read
+ * the latest snapshot, and the caller whose write has returned (or whose future is completed) already sees it.
+ * Board version is the number of changes the snapshot is built up to, so async writes move it as well.
+ * <p>
+ * Matches are kept in a sorted array, position of a match is found by binary search.
+ * Score update moves the match by the number of matches it overtakes (usually a few),
+ * start and remove shift the tail of the array by one System.arraycopy: O(n) memmove, no other per match work.
+ * <p>
+ * Closed board fails every command which was claimed but not applied yet, and rejects new ones.
+ */
+@Slf4j
+public class RingBufferFootballScoreboard extends FootballScoreboardTemplate implements AutoCloseable {
+
+    private static final int DEFAULT_RING_SIZE = 1024;
+
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    // added to claimSequence by close(): every sequence claimed after it is rejected
+    private static final long CLOSED = 1L << 62;
+
+    private enum CommandType {
+        START, UPDATE, REMOVE, CLEAR
+    }
+
+    // Summary as of the given number of applied changes
+    private static final class Snapshot {
+        private final List<CurrentMatch> matches;
+        private final long changes;
+        // home team -> match, built by the first getRank() of the snapshot and shared by the next ones.
+        // Racing readers could build it twice, both maps are the same.
+        private volatile Map<String, CurrentMatch> byHomeTeam;
+
+        private Snapshot(List<CurrentMatch> matches, long changes) {
+            this.matches = matches;
+            this.changes = changes;
+        }
+
+        private CurrentMatch find(String homeTeam) {
+            var index = byHomeTeam;
+            if (index == null) {
+                index = new HashMap<>(matches.size() * 2);
+                for (var match : matches) {
+                    index.put(match.getHomeTeam(), match);
+                }
+                byHomeTeam = index;
+            }
+            return index.get(homeTeam);
+        }
+    }
+
+    // Ring slot, reused forever. Plain fields are published by volatile write of 'sequence'.
+    private static final class Slot {
+        private CommandType type;
+        private String homeTeam;
+        private String awayTeam;
+        private int homeScore;
+        private int awayScore;
+        private CommandCallback callback;
+        private Waiter waiter;
+        private CommandResult result;
+        // unexpected exception of apply() or close(), result is meaningless then
+        private RuntimeException failure;
+        private volatile long sequence = -1;
+    }
+
+    // One per caller thread: blocking call parks until the writer sets 'done'
+    private static final class Waiter {
+        private final Thread thread = Thread.currentThread();
+        // plain fields, published by the volatile write of 'done'
+        private CommandResult result;
+        private RuntimeException failure;
+        private volatile boolean done;
+    }
+
+    // Mutable match record, owned by the writer thread only
+    private static final class LiveMatch {
+        private String homeTeam;
+        private String awayTeam;
+        private int homeTeamId;
+        private int awayTeamId;
+        private int homeScore;
+        private int awayScore;
+        private int startSequence;
+        // immutable view for summary snapshot, rebuilt only if the match was changed
+        private CurrentMatch view;
+
+        private int total() {
+            return homeScore + awayScore;
+        }
+
+        // the same order as CurrentMatch.compareTo: total score desc, then startSequence desc
+        private boolean precedes(LiveMatch other) {
+            return total() > other.total() || total() == other.total() && startSequence > other.startSequence;
+        }
+    }
+
+    private final Slot[] ring;
+    private final int mask;
+
+    private final AtomicLong claimSequence = new AtomicLong();
+    // last sequence applied and released by the writer, slot could be reused after it
+    private volatile long consumedSequence = -1;
+
+    private final Thread writer;
+    private volatile boolean writerSleeping;
+    private volatile boolean running = true;
+
+    private final ThreadLocal<Waiter> waiters = ThreadLocal.withInitial(Waiter::new);
+
+    // published by the writer before the commands of the run are completed
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0);
+
+    // ---- writer thread state ----
+    private final TeamDictionary teams = new TeamDictionary();
+    private LiveMatch[] matchByTeam = new LiveMatch[64];
+    private LiveMatch[] ranked = new LiveMatch[64];
+    private int size;
+    private final ArrayDeque<LiveMatch> pool = new ArrayDeque<>();
+    private int seqGen;
+    private long changes;
+
+    public RingBufferFootballScoreboard(MatchValidator matchValidator) {
+        this(matchValidator, DEFAULT_RING_SIZE);
+    }
+
+    public RingBufferFootballScoreboard(MatchValidator matchValidator, int ringSize) {
+        super(matchValidator);
+        var capacity = 1;
+        while (capacity < ringSize) {
+            capacity <<= 1;
+        }
+        ring = new Slot[capacity];
+        for (var i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        mask = capacity - 1;
+        writer = new Thread(this::runWriter, "scoreboard-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // ---- blocking API ----
+
+    @Override
+    public void doStartNewMatch(String homeTeam, String awayTeam) {
+        throwOnFailure(await(CommandType.START, homeTeam, awayTeam, 0, 0));
+    }
+
+    @Override
+    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        throwOnFailure(await(CommandType.UPDATE, homeTeam, awayTeam, homeNewScore, awayNewScore));
+    }
+
+    @Override
+    public void doRemoveMatch(String homeTeam, String awayTeam) {
+        throwOnFailure(await(CommandType.REMOVE, homeTeam, awayTeam, 0, 0));
+    }
+
+    // the writer thread returns the result anyway: nothing to throw and catch
+
+    @Override
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        return await(CommandType.START, homeTeam, awayTeam, 0, 0);
+    }
+
+    @Override
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        return await(CommandType.UPDATE, homeTeam, awayTeam, homeNewScore, awayNewScore);
+    }
+
+    @Override
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        return await(CommandType.REMOVE, homeTeam, awayTeam, 0, 0);
+    }
+
+    @Override
+    public void doClearAllMatches() {
+        await(CommandType.CLEAR, null, null, 0, 0);
+    }
+
+    // Writer publishes the snapshot before it completes the commands, so caller always reads its own writes
+    @Override
+    public List<CurrentMatch> getSummary() {
+        return snapshot.matches;
+    }
+
+    // Number of changes the snapshot is built up to: writes of the async API count as well
+    @Override
+    public long getBoardVersion() {
+        return snapshot.changes;
+    }
+
+    @Override
+    public List<CurrentMatch> doGetTopMatches(int n) {
+        var current = getSummary();
+        return current.subList(0, Math.min(n, current.size()));
+    }
+
+    @Override
+    public SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize) {
+        return SummaryPage.of(getSummary(), after, pageSize);
+    }
+
+    // Read side only: the match of the snapshot is found by its team, its position by binary search, O(log n)
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        var current = snapshot;
+        var match = current.find(homeTeam);
+        if (match == null || !match.getAwayTeam().equals(awayTeam)) {
+            throw matchNotStarted("getRank: Could not found match on the board!");
+        }
+        return Collections.binarySearch(current.matches, match) + 1;
+    }
+
+    // ---- asynchronous API ----
+
+    /**
+     * Validates and submits the command, callback is called by the writer thread once it's applied.
+     * Invalid command is completed at once by the caller thread, command submitted after close() is failed by it.
+     */
+    public void submit(MatchCommand command, CommandCallback callback) {
+        var checked = check(command);
+        if (checked != CommandResult.OK) {
+            callback.onComplete(checked);
+            return;
+        }
+        var type = switch (command.type()) {
+            case START -> CommandType.START;
+            case UPDATE -> CommandType.UPDATE;
+            case REMOVE -> CommandType.REMOVE;
+        };
+        if (!publish(type, command.homeTeam(), command.awayTeam(), command.homeScore(), command.awayScore(),
+                callback, null)) {
+            callback.onFailure(stopped());
+        }
+    }
+
+    // Convenience for callers which prefer futures, allocates the future for each command
+    public CompletableFuture<CommandResult> submit(MatchCommand command) {
+        var future = new CompletableFuture<CommandResult>();
+        submit(command, new CommandCallback() {
+            @Override
+            public void onComplete(CommandResult result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void onFailure(RuntimeException ex) {
+                future.completeExceptionally(ex);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Stops the writer, then fails every command claimed before the close which it has not applied:
+     * waiting callers get IllegalStateException, callbacks get onFailure().
+     * Waits for the writer to finish its current run even if interrupted (pending commands could not be failed
+     * before that), the interrupt flag is restored then.
+     */
+    @Override
+    public void close() {
+        var claimed = claimSequence.getAndAdd(CLOSED);
+        if (claimed >= CLOSED) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        var interrupted = false;
+        while (true) {
+            try {
+                writer.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        // writer completes every run it has applied, so everything after consumedSequence is pending.
+        // Producer could be still filling its slot or waiting for the ring to release it: releasing in order
+        for (var sequence = consumedSequence + 1; sequence < claimed; sequence++) {
+            var slot = ring[(int) sequence & mask];
+            while (slot.sequence != sequence) {
+                Thread.onSpinWait();
+            }
+            slot.failure = stopped();
+            complete(slot);
+            consumedSequence = sequence;
+        }
+    }
+
+    private CommandResult await(CommandType type, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        var waiter = waiters.get();
+        waiter.done = false;
+        if (!publish(type, homeTeam, awayTeam, homeScore, awayScore, null, waiter)) {
+            throw stopped();
+        }
+        var spins = 0;
+        while (!waiter.done) {
+            if (++spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(this);
+            }
+        }
+        var failure = waiter.failure;
+        if (failure != null) {
+            waiter.failure = null;
+            throw failure;
+        }
+        return waiter.result;
+    }
+
+    // false if the board is closed, nothing is published then
+    private boolean publish(CommandType type, String homeTeam, String awayTeam, int homeScore, int awayScore,
+                            CommandCallback callback, Waiter waiter) {
+        var sequence = claimSequence.getAndIncrement();
+        if (sequence >= CLOSED) {
+            return false;
+        }
+        // ring is full: wait for the writer (or close) to release the slot (back pressure)
+        var spins = 0;
+        while (sequence - ring.length > consumedSequence) {
+            if (++spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, 10_000L);
+            }
+        }
+        var slot = ring[(int) sequence & mask];
+        slot.type = type;
+        slot.homeTeam = homeTeam;
+        slot.awayTeam = awayTeam;
+        slot.homeScore = homeScore;
+        slot.awayScore = awayScore;
+        slot.callback = callback;
+        slot.waiter = waiter;
+        slot.sequence = sequence;
+        if (writerSleeping) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private static IllegalStateException stopped() {
+        return new IllegalStateException("Scoreboard writer is stopped");
+    }
+
+    private static void throwOnFailure(CommandResult result) {
+        switch (result) {
+            case OK -> {
+            }
+            case TEAM_ALREADY_PLAYING -> throw teamAlreadyPlaying("Team is already playing!");
+            case MATCH_NOT_STARTED -> throw matchNotStarted("Could not found match on the board!");
+            default -> throw new IllegalStateException("Unexpected result: " + result);
+        }
+    }
+
+    // ---- writer thread ----
+
+    private void runWriter() {
+        var next = 0L;
+        var idleSpins = 0;
+        while (running) {
+            var last = next - 1;
+            while (ring[(int) (last + 1) & mask].sequence == last + 1) {
+                last++;
+                var slot = ring[(int) last & mask];
+                // one broken command must not stop the writer: every other caller would wait forever
+                try {
+                    slot.result = apply(slot);
+                } catch (RuntimeException ex) {
+                    slot.failure = ex;
+                }
+                // do not let the run be longer than the ring, otherwise we would see the slot of the next lap
+                if (last - next == mask) {
+                    break;
+                }
+            }
+            if (last < next) {
+                idleSpins = idle(next, idleSpins);
+                continue;
+            }
+            idleSpins = 0;
+            if (snapshot.changes != changes) {
+                publishSnapshot();
+            }
+            for (var sequence = next; sequence <= last; sequence++) {
+                complete(ring[(int) sequence & mask]);
+            }
+            consumedSequence = last;
+            next = last + 1;
+        }
+    }
+
+    private int idle(long next, int idleSpins) {
+        if (idleSpins < SPINS_BEFORE_PARK) {
+            Thread.onSpinWait();
+            return idleSpins + 1;
+        }
+        writerSleeping = true;
+        // re-check after the flag is set: producer could publish right before it
+        if (ring[(int) next & mask].sequence != next && running) {
+            LockSupport.park(this);
+        }
+        writerSleeping = false;
+        return idleSpins;
+    }
+
+    // Callback is foreign code running on the writer thread: its exception is logged, the rest of the run is completed
+    private void complete(Slot slot) {
+        var result = slot.result;
+        var failure = slot.failure;
+        var callback = slot.callback;
+        var waiter = slot.waiter;
+        slot.homeTeam = null;
+        slot.awayTeam = null;
+        slot.callback = null;
+        slot.waiter = null;
+        slot.failure = null;
+        if (callback != null) {
+            try {
+                if (failure != null) {
+                    callback.onFailure(failure);
+                } else {
+                    callback.onComplete(result);
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Command callback failed", ex);
+            }
+        }
+        if (waiter != null) {
+            waiter.result = result;
+            waiter.failure = failure;
+            waiter.done = true;
+            LockSupport.unpark(waiter.thread);
+        }
+    }
+
+    private CommandResult apply(Slot slot) {
+        return switch (slot.type) {
+            case START -> start(slot.homeTeam, slot.awayTeam);
+            case UPDATE -> update(slot.homeTeam, slot.awayTeam, slot.homeScore, slot.awayScore);
+            case REMOVE -> remove(slot.homeTeam, slot.awayTeam);
+            case CLEAR -> clear();
+        };
+    }
+
+    private CommandResult start(String homeTeam, String awayTeam) {
+        var homeTeamId = teams.intern(homeTeam);
+        var awayTeamId = teams.intern(awayTeam);
+        ensureTeamCapacity(Math.max(homeTeamId, awayTeamId));
+        if (homeTeamId == awayTeamId || matchByTeam[homeTeamId] != null || matchByTeam[awayTeamId] != null) {
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        var match = pool.isEmpty() ? new LiveMatch() : pool.pop();
+        match.homeTeam = homeTeam;
+        match.awayTeam = awayTeam;
+        match.homeTeamId = homeTeamId;
+        match.awayTeamId = awayTeamId;
+        match.homeScore = 0;
+        match.awayScore = 0;
+        match.startSequence = ++seqGen;
+        match.view = null;
+        matchByTeam[homeTeamId] = match;
+        matchByTeam[awayTeamId] = match;
+        insertRanked(match);
+        changes++;
+        return CommandResult.OK;
+    }
+
+    private CommandResult update(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        var match = find(homeTeam, awayTeam);
+        if (match == null) {
+            return CommandResult.MATCH_NOT_STARTED;
+        }
+        // position has to be found by the old scores
+        var position = indexOf(match);
+        match.homeScore = homeScore;
+        match.awayScore = awayScore;
+        match.view = null;
+        reposition(match, position);
+        changes++;
+        return CommandResult.OK;
+    }
+
+    private CommandResult remove(String homeTeam, String awayTeam) {
+        var match = find(homeTeam, awayTeam);
+        if (match == null) {
+            return CommandResult.MATCH_NOT_STARTED;
+        }
+        var position = indexOf(match);
+        System.arraycopy(ranked, position + 1, ranked, position, size - position - 1);
+        ranked[--size] = null;
+        matchByTeam[match.homeTeamId] = null;
+        matchByTeam[match.awayTeamId] = null;
+        match.homeTeam = null;
+        match.awayTeam = null;
+        match.view = null;
+        pool.push(match);
+        changes++;
+        return CommandResult.OK;
+    }
+
+    private CommandResult clear() {
+        Arrays.fill(matchByTeam, null);
+        Arrays.fill(ranked, 0, size, null);
+        size = 0;
+        changes++;
+        return CommandResult.OK;
+    }
+
+    private LiveMatch find(String homeTeam, String awayTeam) {
+        var homeTeamId = teams.find(homeTeam);
+        if (homeTeamId == TeamDictionary.UNKNOWN_TEAM || homeTeamId >= matchByTeam.length) {
+            return null;
+        }
+        var match = matchByTeam[homeTeamId];
+        if (match == null || !match.homeTeam.equals(homeTeam) || !match.awayTeam.equals(awayTeam)) {
+            return null;
+        }
+        return match;
+    }
+
+    // new match has the highest startSequence, so it goes right before the first match with lower total score
+    private void insertRanked(LiveMatch match) {
+        if (size == ranked.length) {
+            ranked = Arrays.copyOf(ranked, size * 2);
+        }
+        var position = size;
+        while (position > 0 && match.precedes(ranked[position - 1])) {
+            position--;
+        }
+        System.arraycopy(ranked, position, ranked, position + 1, size - position);
+        ranked[position] = match;
+        size++;
+    }
+
+    // Scores usually change by one goal, so the match moves by a few positions only: insertion sort step
+    private void reposition(LiveMatch match, int position) {
+        var i = position;
+        while (i > 0 && match.precedes(ranked[i - 1])) {
+            ranked[i] = ranked[i - 1];
+            i--;
+        }
+        while (i < size - 1 && ranked[i + 1].precedes(match)) {
+            ranked[i] = ranked[i + 1];
+            i++;
+        }
+        ranked[i] = match;
+    }
+
+    // 'ranked' is strictly ordered (startSequence is unique), so the match is found by binary search
+    private int indexOf(LiveMatch match) {
+        var low = 0;
+        var high = size - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var other = ranked[middle];
+            if (other == match) {
+                return middle;
+            }
+            if (other.precedes(match)) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        throw new IllegalStateException("Match is not ranked: " + match.homeTeam + " - " + match.awayTeam);
+    }
+
+    private void ensureTeamCapacity(int teamId) {
+        if (teamId >= matchByTeam.length) {
+            matchByTeam = Arrays.copyOf(matchByTeam, Math.max(teamId + 1, matchByTeam.length * 2));
+        }
+    }
+
+    private void publishSnapshot() {
+        var view = new CurrentMatch[size];
+        for (var i = 0; i < size; i++) {
+            var match = ranked[i];
+            if (match.view == null) {
+                match.view = new CurrentMatch(
+                        match.homeTeam, match.awayTeam, match.homeScore, match.awayScore, match.startSequence
+                );
+            }
+            view[i] = match.view;
+        }
+        snapshot = new Snapshot(Collections.unmodifiableList(Arrays.asList(view)), changes);
+    }
+
+}
@@ -0,0 +1,34 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.journal.MatchJournal;
+import sportradar.demo.football.summary.MatchChangeLog;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.function.Function;
+
+/**
+ * All available FootballScoreboard implementations, to be selected by name (config, benchmarks, tests)
+ */
+public enum ScoreboardEngine {
+    LIVE_INDEX(validator -> new FootballScoreboardImpl(validator, SummaryMode.LIVE_INDEX)),
+    // LIVE_INDEX with the rank index: getRank() is O(log n) instead of O(rank),
+    // paid by the short rank index lock every commit has to take (writers are serialized by it)
+    RANKED(validator -> new FootballScoreboardImpl(validator, SummaryMode.LIVE_INDEX, MatchJournal.none(),
+            MatchChangeLog.DEFAULT_CAPACITY, true)),
+    SNAPSHOT(validator -> new FootballScoreboardImpl(validator, SummaryMode.SNAPSHOT)),
+    MVCC(validator -> new FootballScoreboardImpl(validator, SummaryMode.MVCC)),
+    SHARDED(ShardedFootballScoreboard::new),
+    RING_BUFFER(RingBufferFootballScoreboard::new),
+    PACKED(PackedFootballScoreboard::new),
+    OFF_HEAP(OffHeapFootballScoreboard::new);
+
+    private final Function<MatchValidator, FootballScoreboard> factory;
+
+    ScoreboardEngine(Function<MatchValidator, FootballScoreboard> factory) {
+        this.factory = factory;
+    }
+
+    public FootballScoreboard create(MatchValidator matchValidator) {
+        return factory.apply(matchValidator);
+    }
+}
@@ -0,0 +1,324 @@
+package sportradar.demo.football;
+
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.index.IntMatchTable;
+import sportradar.demo.football.index.RankIndex;
+import sportradar.demo.football.index.TeamDictionary;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Scoreboard partitioned by team name hash into N independent shards.
+ * Each shard has its own team dictionary, match table and ranked index,
+ * so writers of different shards never touch the same memory.
+ * <p>
+ * Match is owned by the shard of its HOME team: only that shard keeps it in the ranked index.
+ * Both teams are reserved in their own shards, see doStartNewMatch for cross-shard protocol.
+ * <p>
+ * startSequence is still generated by the single counter, see seqGen.
+ */
+public class ShardedFootballScoreboard extends FootballScoreboardTemplate {
+
+    private final Shard[] shards;
+
+    // Stays global on purpose: tie order of the summary is "most recently started" across all shards.
+    // Per shard counters with shard index as a tiebreak would order two starts of different shards by shard,
+    // not by time. Only starts touch it (one getAndIncrement next to two putIfAbsent), score updates never do.
+    private final AtomicInteger seqGen = new AtomicInteger();
+
+    private final BiConsumer<CurrentMatch, CurrentMatch> publisher = this::onPublished;
+
+    public ShardedFootballScoreboard(MatchValidator matchValidator) {
+        this(matchValidator, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ShardedFootballScoreboard(MatchValidator matchValidator, int shardCount) {
+        super(matchValidator);
+        // power of two to get the shard by mask
+        var count = 1;
+        while (count < shardCount) {
+            count <<= 1;
+        }
+        shards = new Shard[count];
+        for (var i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    private static final class Shard {
+        private final TeamDictionary teams = new TeamDictionary();
+        private final IntMatchTable<MatchRef> teamToMatches = new IntMatchTable<>();
+        private final ConcurrentSkipListMap<CurrentMatch, CurrentMatch> rankedMatches = new ConcurrentSkipListMap<>();
+        private final RankIndex<CurrentMatch> rankIndex = new RankIndex<>();
+
+        private MatchRef find(String team) {
+            var teamId = teams.find(team);
+            return teamId == TeamDictionary.UNKNOWN_TEAM ? null : teamToMatches.get(teamId);
+        }
+
+        // FINISHED match could still hold the team for a moment: help remover to release it.
+        // PENDING one is waited for: it either goes live or is rolled back, see doTryStartNewMatch
+        private boolean reserve(String team, MatchRef matchRef, BiConsumer<CurrentMatch, CurrentMatch> publisher) {
+            var teamId = teams.intern(team);
+            while (true) {
+                var existingMatch = teamToMatches.putIfAbsent(teamId, matchRef);
+                if (existingMatch == null) {
+                    return true;
+                }
+                if (existingMatch == matchRef) {
+                    return false;
+                }
+                var existing = existingMatch.get();
+                if (existing.isPending()) {
+                    Thread.yield();
+                    continue;
+                }
+                // LIVE: this start fails because of it, so readers must already see it
+                existingMatch.publish(publisher);
+                if (!existing.isFinished()) {
+                    return false;
+                }
+                teamToMatches.remove(teamId, existingMatch);
+            }
+        }
+
+        private void release(String team, MatchRef matchRef) {
+            teamToMatches.remove(teams.find(team), matchRef);
+        }
+    }
+
+    @Override
+    public void doClearAllMatches() {
+        for (var shard : shards) {
+            shard.teamToMatches.clear();
+            shard.rankedMatches.clear();
+            shard.rankIndex.clear();
+        }
+    }
+
+    /*
+     * Cross-shard protocol is the same two steps reservation as FootballScoreboardImpl has,
+     * but teams are always reserved in the same global order: by shard index, then by name.
+     * It rules out a cycle of starts each holding a team the next one needs (A-B and B-A both reserving
+     * one team and both rolling back): of the starts racing for the same teams at least one goes through.
+     * A start which finds a team reserved by another PENDING start waits for it to go live or roll back,
+     * so a team reserved by a start which fails later is never reported as playing.
+     * The same order makes the waiting safe: a start only waits for a team ranked after all the teams
+     * it holds, so the waits can not form a cycle.
+     * FootballScoreboardImpl reserves home team first and can not wait the same way (see FIXME there).
+     */
+    @Override
+    protected CommandResult doTryStartNewMatch(String homeTeam, String awayTeam) {
+        var newMatchRef = new MatchRef(CurrentMatch.pending(homeTeam, awayTeam, seqGen.incrementAndGet()));
+        var homeShard = shardOf(homeTeam);
+        var awayShard = shardOf(awayTeam);
+        var homeFirst = homeShard != awayShard ? homeShard < awayShard : homeTeam.compareTo(awayTeam) <= 0;
+        var firstTeam = homeFirst ? homeTeam : awayTeam;
+        var secondTeam = homeFirst ? awayTeam : homeTeam;
+
+        if (!shardFor(firstTeam).reserve(firstTeam, newMatchRef, publisher)) {
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        if (!shardFor(secondTeam).reserve(secondTeam, newMatchRef, publisher)) {
+            shardFor(firstTeam).release(firstTeam, newMatchRef);
+            return CommandResult.TEAM_ALREADY_PLAYING;
+        }
+        newMatchRef.set(newMatchRef.get().live());
+        newMatchRef.publish(publisher);
+        return CommandResult.OK;
+    }
+
+    @Override
+    protected CommandResult doTryUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        var matchRef = shardFor(homeTeam).find(homeTeam);
+        CurrentMatch currMatch;
+        do {
+            currMatch = findLiveMatch(matchRef, homeTeam, awayTeam);
+            if (currMatch == null) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+        } while (!matchRef.compareAndSet(currMatch, currMatch.withScores(homeNewScore, awayNewScore)));
+        matchRef.publish(publisher);
+        return CommandResult.OK;
+    }
+
+    @Override
+    protected CommandResult doTryRemoveMatch(String homeTeam, String awayTeam) {
+        var matchRef = shardFor(homeTeam).find(homeTeam);
+        CurrentMatch currMatch;
+        do {
+            currMatch = findLiveMatch(matchRef, homeTeam, awayTeam);
+            if (currMatch == null) {
+                return CommandResult.MATCH_NOT_STARTED;
+            }
+        } while (!matchRef.compareAndSet(currMatch, currMatch.finished()));
+        // published before teams are released, the same as FootballScoreboardImpl does
+        matchRef.publish(publisher);
+        shardFor(homeTeam).release(homeTeam, matchRef);
+        shardFor(awayTeam).release(awayTeam, matchRef);
+        return CommandResult.OK;
+    }
+
+    // Writes return their result, only the throwing API builds the exception and its message
+
+    @Override
+    public void doStartNewMatch(String homeTeam, String awayTeam) {
+        if (doTryStartNewMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw teamAlreadyPlaying(shardFor(homeTeam).find(homeTeam) != null
+                    ? "Home team is already playing!" : "Away team is already playing!");
+        }
+    }
+
+    @Override
+    public void doUpdateMatchScore(String homeTeam, String awayTeam, int homeNewScore, int awayNewScore) {
+        if (doTryUpdateMatchScore(homeTeam, awayTeam, homeNewScore, awayNewScore) != CommandResult.OK) {
+            throw matchNotOnBoard("UPDATE MATCH SCORE", homeTeam, shardFor(homeTeam).find(homeTeam));
+        }
+    }
+
+    @Override
+    public void doRemoveMatch(String homeTeam, String awayTeam) {
+        if (doTryRemoveMatch(homeTeam, awayTeam) != CommandResult.OK) {
+            throw matchNotOnBoard("REMOVE MATCH", homeTeam, shardFor(homeTeam).find(homeTeam));
+        }
+    }
+
+    /**
+     * Each shard index is already sorted, so summary is k-way merge of the sorted runs: O(n log k)
+     */
+    @Override
+    public List<CurrentMatch> getSummary() {
+        return distinctScan(merge(null), Integer.MAX_VALUE);
+    }
+
+    // The same merge stopped after n matches: O(n log k)
+    @Override
+    public List<CurrentMatch> doGetTopMatches(int n) {
+        return distinctScan(merge(null), n);
+    }
+
+    // Each shard index is read from the position on, merge is lazy: only the page itself is read
+    @Override
+    public SummaryPage doGetSummaryPage(CurrentMatch after, int pageSize) {
+        var merged = merge(after);
+        return SummaryPage.of(distinctScan(merged, pageSize), merged.hasNext());
+    }
+
+    /**
+     * Rank is the sum of per shard ranks: O(k log n), k is the number of shards
+     */
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        var matchRef = shardFor(homeTeam).find(homeTeam);
+        var match = matchRef == null ? null : matchRef.getPublished();
+        if (match == null || !match.isLive() || !match.getHomeTeam().equals(homeTeam)) {
+            throw matchNotStarted("getRank: Could not found HOME team on the matches board!");
+        }
+        if (!match.getAwayTeam().equals(awayTeam)) {
+            throw matchNotStarted("getRank: Could not found AWAY team on the matches board!");
+        }
+        var rank = 1;
+        for (var shard : shards) {
+            rank += shard.rankIndex.countBefore(match);
+        }
+        return rank;
+    }
+
+    // Lazy k-way merge of shard indexes starting after the position (null - from the top)
+    private Iterator<CurrentMatch> merge(CurrentMatch after) {
+        var runs = new PriorityQueue<SortedRun>(shards.length, Comparator.comparing(SortedRun::head));
+        for (var shard : shards) {
+            var tail = after == null ? shard.rankedMatches : shard.rankedMatches.tailMap(after, false);
+            var iterator = tail.values().iterator();
+            if (iterator.hasNext()) {
+                runs.add(new SortedRun(iterator.next(), iterator));
+            }
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !runs.isEmpty();
+            }
+
+            @Override
+            public CurrentMatch next() {
+                var run = runs.poll();
+                if (run == null) {
+                    throw new NoSuchElementException();
+                }
+                if (run.rest().hasNext()) {
+                    runs.add(new SortedRun(run.rest().next(), run.rest()));
+                }
+                return run.head();
+            }
+        };
+    }
+
+    private record SortedRun(CurrentMatch head, Iterator<CurrentMatch> rest) {
+    }
+
+    // null if there is no such live match: nothing is allocated for the failure.
+    // FINISHED match the write fails on is published first, so readers never see it live afterwards
+    private CurrentMatch findLiveMatch(MatchRef matchRef, String homeTeam, String awayTeam) {
+        var match = matchRef == null ? null : matchRef.get();
+        if (match != null && match.isFinished()) {
+            matchRef.publish(publisher);
+        }
+        if (match == null || !match.isLive()
+                || !match.getHomeTeam().equals(homeTeam) || !match.getAwayTeam().equals(awayTeam)) {
+            return null;
+        }
+        return match;
+    }
+
+    // throwing API only: which team is missing is looked up again, the failed write has not kept it
+    private static MatchNotStartedException matchNotOnBoard(String operation, String homeTeam, MatchRef matchRef) {
+        var match = matchRef == null ? null : matchRef.get();
+        if (match == null || !match.isLive() || !match.getHomeTeam().equals(homeTeam)) {
+            return matchNotStarted(operation + ": Could not found HOME team on the matches board!");
+        }
+        return matchNotStarted(operation + ": Could not found AWAY team on the matches board!");
+    }
+
+    // called under the match monitor, see MatchRef.publish
+    private void onPublished(CurrentMatch previous, CurrentMatch latest) {
+        var shard = shardFor(latest.getHomeTeam());
+        var rankedMatches = shard.rankedMatches;
+        if (previous == null) {
+            if (latest.isLive()) {
+                rankedMatches.put(latest, latest);
+                shard.rankIndex.add(latest);
+            }
+        } else if (latest.isFinished()) {
+            rankedMatches.remove(previous);
+            shard.rankIndex.remove(previous);
+        } else {
+            rankedMatches.put(latest, latest);
+            if (previous.compareTo(latest) != 0) {
+                rankedMatches.remove(previous);
+                shard.rankIndex.replace(previous, latest);
+            }
+        }
+    }
+
+    private Shard shardFor(String team) {
+        return shards[shardOf(team)];
+    }
+
+    private int shardOf(String team) {
+        var h = team.hashCode();
+        return (h ^ (h >>> 16)) & (shards.length - 1);
+    }
+
+}
@@ -0,0 +1,17 @@
+package sportradar.demo.football;
+
+/**
+ * How FootballScoreboardImpl serves getSummary()
+ */
+public enum SummaryMode {
+    // Ordered scan over live ranked index.
+    // Always shows the latest state, but the view could be inconsistent under concurrent writes.
+    LIVE_INDEX,
+    // Writers publish immutable already sorted snapshot, readers just take the reference.
+    // Consistent view in O(1) without any locking, but could be slightly behind the latest write.
+    SNAPSHOT,
+    // Every committed change gets global version, old versions are kept while somebody reads them.
+    // Reads are consistent and never block writers, summary could be read as of any kept version.
+    // See VersionedSummaryStore and IsolationLevel.
+    MVCC
+}
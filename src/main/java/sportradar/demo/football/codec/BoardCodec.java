@@ -0,0 +1,56 @@
+package sportradar.demo.football.codec;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Wire layout shared by BoardEncoder and BoardDecoder, SBE style: fixed-size header and block,
+ * fixed-size entries, variable length data (team names) at the end. Little-endian, no alignment.
+ *
+ * <pre>
+ * header  (8)  : u16 blockLength, u16 templateId, u16 schemaId, u16 schemaVersion
+ * block   (16) : i64 boardVersion, i32 entryCount, i32 nameCount
+ * entries      : entryCount * SUMMARY_ENTRY (20) or CHANGE_ENTRY (32)
+ *   SUMMARY_ENTRY : i32 homeTeamId, i32 awayTeamId, i32 homeScore, i32 awayScore, i32 startSequence
+ *   CHANGE_ENTRY  : u8 type, 3 bytes padding, i32 homeTeamId, i32 awayTeamId, i32 startSequence,
+ *                   i32 homeScore, i32 awayScore, i32 previousHomeScore, i32 previousAwayScore
+ * names        : nameCount * (u16 length, UTF-8 bytes), team id is the index in this table
+ * </pre>
+ * Team ids are local to the message: every name is sent once however many entries refer to it.
+ */
+public final class BoardCodec {
+
+    public static final int SCHEMA_ID = 1;
+    public static final int SCHEMA_VERSION = 1;
+
+    public static final int TEMPLATE_SUMMARY = 1;
+    public static final int TEMPLATE_CHANGES = 2;
+
+    public static final int HEADER_LENGTH = 8;
+    public static final int BLOCK_LENGTH = 16;
+    public static final int SUMMARY_ENTRY_LENGTH = 20;
+    public static final int CHANGE_ENTRY_LENGTH = 32;
+
+    // header
+    static final int BLOCK_LENGTH_OFFSET = 0;
+    static final int TEMPLATE_ID_OFFSET = 2;
+    static final int SCHEMA_ID_OFFSET = 4;
+    static final int SCHEMA_VERSION_OFFSET = 6;
+
+    // block, from the message start
+    static final int BOARD_VERSION_OFFSET = HEADER_LENGTH;
+    static final int ENTRY_COUNT_OFFSET = HEADER_LENGTH + 8;
+    static final int NAME_COUNT_OFFSET = HEADER_LENGTH + 12;
+
+    static final int MAX_NAME_LENGTH = 0xFFFF;
+
+    // plain get/set of byte buffer views work with any alignment
+    static final VarHandle SHORTS = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private BoardCodec() {
+    }
+
+}
@@ -0,0 +1,229 @@
+package sportradar.demo.football.codec;
+
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static sportradar.demo.football.codec.BoardCodec.*;
+
+/**
+ * Flyweight over an encoded message, see BoardCodec for the layout: wrap() checks the header and
+ * indexes the name table, accessors read the fields straight from the buffer.
+ * Nothing is allocated until teamName() or decodeSummary()/decodeChanges() build Strings and objects.
+ * <p>
+ * Not thread-safe, could be re-wrapped for the next message. Buffer position and limit are never changed.
+ */
+public final class BoardDecoder {
+
+    // values() clones the array on every call
+    private static final MatchChange.Type[] CHANGE_TYPES = MatchChange.Type.values();
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int templateId;
+    private int entryCount;
+    private int entryLength;
+    private int nameCount;
+    private int encodedLength;
+    // offset of the length prefix of every name, by team id
+    private int[] nameOffsets = new int[32];
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Throws IllegalArgumentException if there is no valid message at the offset
+     */
+    public BoardDecoder wrap(ByteBuffer buffer, int offset) {
+        check(buffer, (long) offset + HEADER_LENGTH + BLOCK_LENGTH);
+        var schemaId = Short.toUnsignedInt((short) SHORTS.get(buffer, offset + SCHEMA_ID_OFFSET));
+        var schemaVersion = Short.toUnsignedInt((short) SHORTS.get(buffer, offset + SCHEMA_VERSION_OFFSET));
+        if (schemaId != SCHEMA_ID || schemaVersion != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Unknown schema " + schemaId + " version " + schemaVersion);
+        }
+        var template = Short.toUnsignedInt((short) SHORTS.get(buffer, offset + TEMPLATE_ID_OFFSET));
+        entryLength = switch (template) {
+            case TEMPLATE_SUMMARY -> SUMMARY_ENTRY_LENGTH;
+            case TEMPLATE_CHANGES -> CHANGE_ENTRY_LENGTH;
+            default -> throw new IllegalArgumentException("Unknown template " + template);
+        };
+        var blockLength = Short.toUnsignedInt((short) SHORTS.get(buffer, offset + BLOCK_LENGTH_OFFSET));
+        if (blockLength != BLOCK_LENGTH) {
+            throw new IllegalArgumentException("Unexpected block length " + blockLength);
+        }
+        this.buffer = buffer;
+        this.offset = offset;
+        this.templateId = template;
+        this.entryCount = (int) INTS.get(buffer, offset + ENTRY_COUNT_OFFSET);
+        this.nameCount = (int) INTS.get(buffer, offset + NAME_COUNT_OFFSET);
+        if (entryCount < 0 || nameCount < 0) {
+            throw new IllegalArgumentException("Negative count of entries or names");
+        }
+        var position = (long) offset + HEADER_LENGTH + BLOCK_LENGTH + (long) entryCount * entryLength;
+        check(buffer, position);
+        // every name takes at least its length prefix: untrusted count must not size the table before it's checked
+        check(buffer, position + 2L * nameCount);
+        if (nameOffsets.length < nameCount) {
+            nameOffsets = new int[Math.max(nameCount, nameOffsets.length * 2)];
+        }
+        for (var id = 0; id < nameCount; id++) {
+            check(buffer, position + 2);
+            nameOffsets[id] = (int) position;
+            position += 2 + Short.toUnsignedInt((short) SHORTS.get(buffer, (int) position));
+            check(buffer, position);
+        }
+        encodedLength = (int) (position - offset);
+        return this;
+    }
+
+    public int templateId() {
+        return templateId;
+    }
+
+    public long boardVersion() {
+        return (long) LONGS.get(buffer, offset + BOARD_VERSION_OFFSET);
+    }
+
+    public int entryCount() {
+        return entryCount;
+    }
+
+    public int nameCount() {
+        return nameCount;
+    }
+
+    // whole message, the next one (if any) starts right after it
+    public int encodedLength() {
+        return encodedLength;
+    }
+
+    public int homeTeamId(int entry) {
+        return field(entry, templateId == TEMPLATE_SUMMARY ? 0 : 4);
+    }
+
+    public int awayTeamId(int entry) {
+        return field(entry, templateId == TEMPLATE_SUMMARY ? 4 : 8);
+    }
+
+    public int homeScore(int entry) {
+        return field(entry, templateId == TEMPLATE_SUMMARY ? 8 : 16);
+    }
+
+    public int awayScore(int entry) {
+        return field(entry, templateId == TEMPLATE_SUMMARY ? 12 : 20);
+    }
+
+    public int startSequence(int entry) {
+        return field(entry, templateId == TEMPLATE_SUMMARY ? 16 : 12);
+    }
+
+    // changes only
+    public MatchChange.Type changeType(int entry) {
+        requireChanges();
+        var type = Byte.toUnsignedInt(buffer.get(entryOffset(entry)));
+        if (type >= CHANGE_TYPES.length) {
+            throw new IllegalArgumentException("Unknown change type " + type + " of entry " + entry);
+        }
+        return CHANGE_TYPES[type];
+    }
+
+    public int previousHomeScore(int entry) {
+        requireChanges();
+        return field(entry, 24);
+    }
+
+    public int previousAwayScore(int entry) {
+        requireChanges();
+        return field(entry, 28);
+    }
+
+    public String teamName(int teamId) {
+        if (teamId < 0 || teamId >= nameCount) {
+            throw new IndexOutOfBoundsException("No team " + teamId + " in the name table of " + nameCount);
+        }
+        var position = nameOffsets[teamId];
+        var length = Short.toUnsignedInt((short) SHORTS.get(buffer, position));
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + position + 2, length, StandardCharsets.UTF_8);
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(position + 2, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    public List<CurrentMatch> decodeSummary() {
+        if (templateId != TEMPLATE_SUMMARY) {
+            throw new IllegalStateException("Not a summary message: template " + templateId);
+        }
+        var teams = decodeNames();
+        var summary = new ArrayList<CurrentMatch>(entryCount);
+        for (var i = 0; i < entryCount; i++) {
+            summary.add(new CurrentMatch(teamOf(teams, homeTeamId(i), i), teamOf(teams, awayTeamId(i), i),
+                    homeScore(i), awayScore(i), startSequence(i)));
+        }
+        return summary;
+    }
+
+    public List<MatchChange> decodeChanges() {
+        requireChanges();
+        var teams = decodeNames();
+        var changes = new ArrayList<MatchChange>(entryCount);
+        for (var i = 0; i < entryCount; i++) {
+            var home = teamOf(teams, homeTeamId(i), i);
+            var away = teamOf(teams, awayTeamId(i), i);
+            var match = new CurrentMatch(home, away, homeScore(i), awayScore(i), startSequence(i));
+            changes.add(switch (changeType(i)) {
+                case STARTED -> MatchChange.started(match);
+                case SCORE_CHANGED -> MatchChange.scoreChanged(new CurrentMatch(home, away,
+                        previousHomeScore(i), previousAwayScore(i), startSequence(i)), match);
+                case FINISHED -> MatchChange.finished(match);
+            });
+        }
+        return changes;
+    }
+
+    // every name once, entries share the Strings
+    private String[] decodeNames() {
+        var teams = new String[nameCount];
+        Arrays.setAll(teams, this::teamName);
+        return teams;
+    }
+
+    // team id comes from the message itself: a broken one is an invalid message, the same as in wrap()
+    private static String teamOf(String[] teams, int teamId, int entry) {
+        if (teamId < 0 || teamId >= teams.length) {
+            throw new IllegalArgumentException("Entry " + entry + " refers to team " + teamId
+                    + " outside of the name table of " + teams.length);
+        }
+        return teams[teamId];
+    }
+
+    private int field(int entry, int fieldOffset) {
+        return (int) INTS.get(buffer, entryOffset(entry) + fieldOffset);
+    }
+
+    private int entryOffset(int entry) {
+        if (entry < 0 || entry >= entryCount) {
+            throw new IndexOutOfBoundsException("No entry " + entry + " in the message of " + entryCount);
+        }
+        return offset + HEADER_LENGTH + BLOCK_LENGTH + entry * entryLength;
+    }
+
+    private void requireChanges() {
+        if (templateId != TEMPLATE_CHANGES) {
+            throw new IllegalStateException("Not a changes message: template " + templateId);
+        }
+    }
+
+    private static void check(ByteBuffer buffer, long end) {
+        if (end > buffer.limit()) {
+            throw new IllegalArgumentException("Message is truncated: needs " + end + " bytes, limit is " + buffer.limit());
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package sportradar.demo.football.codec;
+
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static sportradar.demo.football.codec.BoardCodec.*;
+
+/**
+ * Encodes summaries and change lists straight into the caller's ByteBuffer, see BoardCodec for the layout.
+ * <p>
+ * Not thread-safe, keep one per thread: the name table is reused between messages,
+ * so encoding allocates nothing once the table has grown to the board size (non-ASCII names excepted).
+ * Buffer position and limit are never changed, encoded length is returned.
+ */
+public final class BoardEncoder {
+
+    // name -> message local id, open addressing; slots of previous messages are told apart by the stamp
+    private String[] keys = new String[64];
+    private int[] ids = new int[64];
+    private int[] stamps = new int[64];
+    private int stamp = 1;
+
+    // id -> name, in the order names are written
+    private String[] names = new String[32];
+    private int nameCount;
+
+    /**
+     * Summary in its order, returns the number of bytes written from the offset.
+     * Throws BufferOverflowException if it does not fit between the offset and the limit.
+     */
+    public int encodeSummary(long boardVersion, List<CurrentMatch> matches, ByteBuffer buffer, int offset) {
+        var count = matches.size();
+        var position = begin(TEMPLATE_SUMMARY, boardVersion, count, buffer, offset);
+        ensure(buffer, position + (long) count * SUMMARY_ENTRY_LENGTH);
+        for (var i = 0; i < count; i++) {
+            var match = matches.get(i);
+            INTS.set(buffer, position, idOf(match.getHomeTeam()));
+            INTS.set(buffer, position + 4, idOf(match.getAwayTeam()));
+            INTS.set(buffer, position + 8, (int) match.getHomeScore());
+            INTS.set(buffer, position + 12, (int) match.getAwayScore());
+            INTS.set(buffer, position + 16, (int) match.getStartSequence());
+            position += SUMMARY_ENTRY_LENGTH;
+        }
+        return end(buffer, offset, position);
+    }
+
+    /**
+     * Changes in commit order (f.e. a MatchChangePublisher batch), returns the number of bytes written from the offset
+     */
+    public int encodeChanges(long boardVersion, List<MatchChange> changes, ByteBuffer buffer, int offset) {
+        var count = changes.size();
+        var position = begin(TEMPLATE_CHANGES, boardVersion, count, buffer, offset);
+        ensure(buffer, position + (long) count * CHANGE_ENTRY_LENGTH);
+        for (var i = 0; i < count; i++) {
+            var change = changes.get(i);
+            // FINISHED has no 'after': final scores are the previous ones too
+            var match = change.after() != null ? change.after() : change.before();
+            var previous = change.before() != null ? change.before() : match;
+            buffer.put(position, (byte) change.type().ordinal());
+            buffer.put(position + 1, (byte) 0);
+            SHORTS.set(buffer, position + 2, (short) 0);
+            INTS.set(buffer, position + 4, idOf(match.getHomeTeam()));
+            INTS.set(buffer, position + 8, idOf(match.getAwayTeam()));
+            INTS.set(buffer, position + 12, (int) match.getStartSequence());
+            INTS.set(buffer, position + 16, (int) match.getHomeScore());
+            INTS.set(buffer, position + 20, (int) match.getAwayScore());
+            // STARTED has no 'before': 0 - 0
+            INTS.set(buffer, position + 24, change.before() != null ? (int) previous.getHomeScore() : 0);
+            INTS.set(buffer, position + 28, change.before() != null ? (int) previous.getAwayScore() : 0);
+            position += CHANGE_ENTRY_LENGTH;
+        }
+        return end(buffer, offset, position);
+    }
+
+    private int begin(int templateId, long boardVersion, int count, ByteBuffer buffer, int offset) {
+        ensure(buffer, (long) offset + HEADER_LENGTH + BLOCK_LENGTH);
+        SHORTS.set(buffer, offset + BLOCK_LENGTH_OFFSET, (short) BLOCK_LENGTH);
+        SHORTS.set(buffer, offset + TEMPLATE_ID_OFFSET, (short) templateId);
+        SHORTS.set(buffer, offset + SCHEMA_ID_OFFSET, (short) SCHEMA_ID);
+        SHORTS.set(buffer, offset + SCHEMA_VERSION_OFFSET, (short) SCHEMA_VERSION);
+        LONGS.set(buffer, offset + BOARD_VERSION_OFFSET, boardVersion);
+        INTS.set(buffer, offset + ENTRY_COUNT_OFFSET, count);
+        nameCount = 0;
+        // stamp wraps after 4 billion messages: clear the table then, otherwise old slots could look current
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+        return offset + HEADER_LENGTH + BLOCK_LENGTH;
+    }
+
+    // name table goes after the entries
+    private int end(ByteBuffer buffer, int offset, int position) {
+        for (var id = 0; id < nameCount; id++) {
+            position = writeName(buffer, position, names[id]);
+            names[id] = null;
+        }
+        INTS.set(buffer, offset + NAME_COUNT_OFFSET, nameCount);
+        return position - offset;
+    }
+
+    private int writeName(ByteBuffer buffer, int position, String name) {
+        var length = name.length();
+        ensure(buffer, position + 2L + length);
+        // team names are ASCII almost always: chars go straight to the buffer
+        for (var i = 0; i < length; i++) {
+            var c = name.charAt(i);
+            if (c >= 0x80) {
+                return writeUtf8(buffer, position, name);
+            }
+            buffer.put(position + 2 + i, (byte) c);
+        }
+        SHORTS.set(buffer, position, (short) length);
+        return position + 2 + length;
+    }
+
+    private int writeUtf8(ByteBuffer buffer, int position, String name) {
+        var bytes = name.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Team name is too long to be encoded: " + bytes.length + " bytes");
+        }
+        ensure(buffer, position + 2L + bytes.length);
+        SHORTS.set(buffer, position, (short) bytes.length);
+        buffer.put(position + 2, bytes);
+        return position + 2 + bytes.length;
+    }
+
+    private int idOf(String name) {
+        var mask = keys.length - 1;
+        var slot = name.hashCode() & mask;
+        while (stamps[slot] == stamp) {
+            if (keys[slot].equals(name)) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        var id = nameCount++;
+        keys[slot] = name;
+        ids[slot] = id;
+        stamps[slot] = stamp;
+        if (id == names.length) {
+            names = Arrays.copyOf(names, id * 2);
+        }
+        names[id] = name;
+        // keep load factor under 1/2
+        if (nameCount * 2 > keys.length) {
+            grow();
+        }
+        return id;
+    }
+
+    private void grow() {
+        var oldKeys = keys;
+        var oldIds = ids;
+        var oldStamps = stamps;
+        keys = new String[oldKeys.length * 2];
+        ids = new int[keys.length];
+        stamps = new int[keys.length];
+        var mask = keys.length - 1;
+        for (var i = 0; i < oldKeys.length; i++) {
+            if (oldStamps[i] == stamp) {
+                var slot = oldKeys[i].hashCode() & mask;
+                while (stamps[slot] == stamp) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                ids[slot] = oldIds[i];
+                stamps[slot] = stamp;
+            }
+        }
+    }
+
+    private static void ensure(ByteBuffer buffer, long end) {
+        if (end > buffer.limit()) {
+            throw new BufferOverflowException();
+        }
+    }
+
+}
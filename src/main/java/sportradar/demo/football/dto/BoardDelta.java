@@ -0,0 +1,24 @@
+package sportradar.demo.football.dto;
+
+import java.util.List;
+
+/**
+ * What has changed on the board between two change versions, matches are in their latest state.
+ * Match started and finished in between is not mentioned at all.
+ * <p>
+ * resyncRequired: the log does not go back to fromVersion anymore (or it's not a version of this board),
+ * client has to take getSummary() again. Lists are empty then.
+ * toVersion is the version to ask for next time.
+ */
+public record BoardDelta(long fromVersion, long toVersion, boolean resyncRequired,
+                         List<CurrentMatch> added, List<CurrentMatch> rescored, List<CurrentMatch> removed) {
+
+    public static BoardDelta resync(long fromVersion, long toVersion) {
+        return new BoardDelta(fromVersion, toVersion, true, List.of(), List.of(), List.of());
+    }
+
+    public boolean isEmpty() {
+        return !resyncRequired && added.isEmpty() && rescored.isEmpty() && removed.isEmpty();
+    }
+
+}
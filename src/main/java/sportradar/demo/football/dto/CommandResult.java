@@ -0,0 +1,41 @@
+package sportradar.demo.football.dto;
+
+import sportradar.demo.football.ex.EmptyTeamNameException;
+import sportradar.demo.football.ex.InvalidScoreException;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.ex.TeamNameOverflowException;
+
+/**
+ * Outcome of a single command, one constant per exception the scoreboard API could throw
+ */
+public enum CommandResult {
+    OK,
+    EMPTY_TEAM_NAME,
+    TEAM_NAME_OVERFLOW,
+    INVALID_SCORE,
+    TEAM_ALREADY_PLAYING,
+    MATCH_NOT_STARTED;
+
+    /**
+     * Unexpected exceptions are not a command result, they are rethrown as is
+     */
+    public static CommandResult of(RuntimeException ex) {
+        if (ex instanceof EmptyTeamNameException) {
+            return EMPTY_TEAM_NAME;
+        }
+        if (ex instanceof TeamNameOverflowException) {
+            return TEAM_NAME_OVERFLOW;
+        }
+        if (ex instanceof InvalidScoreException) {
+            return INVALID_SCORE;
+        }
+        if (ex instanceof TeamAlreadyPlayingException) {
+            return TEAM_ALREADY_PLAYING;
+        }
+        if (ex instanceof MatchNotStartedException) {
+            return MATCH_NOT_STARTED;
+        }
+        throw ex;
+    }
+}
@@ -1,13 +1,8 @@
 package sportradar.demo.football.dto;
 
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
-
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 @Data
-@RequiredArgsConstructor
 /*
  * Could sound quite strange, but I prefer as fewer comments in code as possible, and Now I have to explain why:
  *  * Comments in code means something 'unclear', 'strange', 'magical' etc.
@@ -35,23 +30,66 @@ public class CurrentMatch implements Comparable<CurrentMatch> {
     // Need not guarantee for strict sequence, could have some spaces between: 1, 2, 3, 5, 10, 11...
     private final Integer startSequence;
 
-    // Never wanted to bring complexity to the code
-    // but seems it required for correct update/insert/delete logic
-    private final Lock matchLock;
+    // Every change of the match creates new CurrentMatch with incremented version.
+    // Together with state it replaces per-match lock: writers change the match by CAS
+    // on the shared AtomicReference and retry if someone else was faster.
+    private final int version;
+
+    private final MatchState state;
 
     public CurrentMatch(String homeTeam, String awayTeam, int homeScore, int awayScore, int startSequence) {
+        this(homeTeam, awayTeam, homeScore, awayScore, startSequence, 1, MatchState.LIVE);
+    }
+
+    public CurrentMatch(String homeTeam, String awayTeam, int homeScore, int awayScore, int startSequence,
+                        int version, MatchState state) {
         this.homeTeam = homeTeam;
         this.awayTeam = awayTeam;
         this.homeScore = homeScore;
         this.awayScore = awayScore;
         this.startSequence = startSequence;
-        // new CurrentMatch is always being created in locked state
-        // when reference to match be inserted into map for HOME team
-        // it should never be able to read/update/delete it from map
-        // because data is not consistent yet until AWAY team be inserted
-        var newLock = new ReentrantLock();
-        newLock.lock();
-        matchLock = newLock;
+        this.version = version;
+        this.state = state;
+    }
+
+    // new CurrentMatch is always being created in PENDING state
+    // when reference to match be inserted into map for HOME team
+    // it should never be able to read/update/delete it from map
+    // because data is not consistent yet until AWAY team be inserted
+    public static CurrentMatch pending(String homeTeam, String awayTeam, int startSequence) {
+        return new CurrentMatch(homeTeam, awayTeam, 0, 0, startSequence, 0, MatchState.PENDING);
+    }
+
+    public CurrentMatch live() {
+        return withState(MatchState.LIVE);
+    }
+
+    public CurrentMatch finished() {
+        return withState(MatchState.FINISHED);
+    }
+
+    public CurrentMatch withScores(int newHomeScore, int newAwayScore) {
+        return new CurrentMatch(homeTeam, awayTeam, newHomeScore, newAwayScore, startSequence, version + 1, state);
+    }
+
+    public boolean isLive() {
+        return state == MatchState.LIVE;
+    }
+
+    public boolean isPending() {
+        return state == MatchState.PENDING;
+    }
+
+    public boolean isFinished() {
+        return state == MatchState.FINISHED;
+    }
+
+    public boolean isPlayedBy(String homeTeam, String awayTeam) {
+        return this.homeTeam.equals(homeTeam) && this.awayTeam.equals(awayTeam);
+    }
+
+    private CurrentMatch withState(MatchState newState) {
+        return new CurrentMatch(homeTeam, awayTeam, homeScore, awayScore, startSequence, version + 1, newState);
     }
 
     @Override
@@ -0,0 +1,28 @@
+package sportradar.demo.football.dto;
+
+/**
+ * Single committed change of the scoreboard.
+ * before - match state before the change, null for STARTED
+ * after  - match state after the change, null for FINISHED
+ */
+public record MatchChange(Type type, CurrentMatch before, CurrentMatch after) {
+
+    public enum Type {
+        STARTED,
+        SCORE_CHANGED,
+        FINISHED
+    }
+
+    public static MatchChange started(CurrentMatch match) {
+        return new MatchChange(Type.STARTED, null, match);
+    }
+
+    public static MatchChange scoreChanged(CurrentMatch before, CurrentMatch after) {
+        return new MatchChange(Type.SCORE_CHANGED, before, after);
+    }
+
+    public static MatchChange finished(CurrentMatch match) {
+        return new MatchChange(Type.FINISHED, match, null);
+    }
+
+}
@@ -0,0 +1,27 @@
+package sportradar.demo.football.dto;
+
+/**
+ * Single command of the batch, see FootballScoreboard.applyBatch()
+ * Scores are used by UPDATE only.
+ */
+public record MatchCommand(Type type, String homeTeam, String awayTeam, int homeScore, int awayScore) {
+
+    public enum Type {
+        START,
+        UPDATE,
+        REMOVE
+    }
+
+    public static MatchCommand start(String homeTeam, String awayTeam) {
+        return new MatchCommand(Type.START, homeTeam, awayTeam, 0, 0);
+    }
+
+    public static MatchCommand update(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        return new MatchCommand(Type.UPDATE, homeTeam, awayTeam, homeScore, awayScore);
+    }
+
+    public static MatchCommand remove(String homeTeam, String awayTeam) {
+        return new MatchCommand(Type.REMOVE, homeTeam, awayTeam, 0, 0);
+    }
+
+}
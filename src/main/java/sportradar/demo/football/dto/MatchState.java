@@ -0,0 +1,10 @@
+package sportradar.demo.football.dto;
+
+public enum MatchState {
+    // Match reference is inserted for HOME team, but not for AWAY team yet.
+    // Nobody could read/update/delete it until it becomes LIVE.
+    PENDING,
+    LIVE,
+    // Terminal state, teams are going to be released from the board
+    FINISHED
+}
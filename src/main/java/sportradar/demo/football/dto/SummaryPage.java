@@ -0,0 +1,74 @@
+package sportradar.demo.football.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * One page of the summary, see FootballScoreboard.getSummaryPage()
+ * continuationToken is null on the last page.
+ * <p>
+ * Token is the position of the last returned match in summary order (total score and startSequence),
+ * not an offset: next page starts right after that position whatever was started, updated or removed meanwhile.
+ * So the page never repeats matches which didn't move, but match which moved across the position
+ * could be seen twice or not at all, the same as with any keyset pagination.
+ */
+public record SummaryPage(List<CurrentMatch> matches, String continuationToken) {
+
+    private static final char SEPARATOR = ':';
+
+    /**
+     * Takes up to pageSize matches from the ordered source, reads one more only to know whether the page is the last
+     */
+    public static SummaryPage of(Iterator<CurrentMatch> ordered, int pageSize) {
+        var matches = new ArrayList<CurrentMatch>(Math.min(pageSize, 256));
+        while (matches.size() < pageSize && ordered.hasNext()) {
+            matches.add(ordered.next());
+        }
+        return of(matches, ordered.hasNext());
+    }
+
+    /**
+     * The page already read from the ordered source, hasMore tells whether the source has anything after it
+     */
+    public static SummaryPage of(List<CurrentMatch> page, boolean hasMore) {
+        var token = hasMore && !page.isEmpty() ? tokenOf(page.get(page.size() - 1)) : null;
+        return new SummaryPage(Collections.unmodifiableList(page), token);
+    }
+
+    /**
+     * The same for already sorted immutable list (snapshot): binary search for the start, no copying
+     */
+    public static SummaryPage of(List<CurrentMatch> sorted, CurrentMatch after, int pageSize) {
+        var from = 0;
+        if (after != null) {
+            // found: that's the last match of the previous page itself, it's still on the same position
+            var index = Collections.binarySearch(sorted, after);
+            from = index >= 0 ? index + 1 : -index - 1;
+        }
+        var to = Math.min(sorted.size(), from + pageSize);
+        var token = to < sorted.size() ? tokenOf(sorted.get(to - 1)) : null;
+        return new SummaryPage(sorted.subList(from, to), token);
+    }
+
+    private static String tokenOf(CurrentMatch last) {
+        return (last.getHomeScore() + last.getAwayScore()) + String.valueOf(SEPARATOR) + last.getStartSequence();
+    }
+
+    /**
+     * Position of the last match of the previous page, next page starts strictly after it.
+     * startSequence is unique, so only that match itself could compare as equal to it.
+     */
+    public static CurrentMatch positionOf(String continuationToken) {
+        var separator = continuationToken.indexOf(SEPARATOR);
+        try {
+            var totalScore = Integer.parseInt(continuationToken.substring(0, separator));
+            var startSequence = Integer.parseInt(continuationToken.substring(separator + 1));
+            return new CurrentMatch("", "", totalScore, 0, startSequence);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + continuationToken);
+        }
+    }
+
+}
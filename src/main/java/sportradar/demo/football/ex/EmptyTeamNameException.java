@@ -4,4 +4,8 @@ public class EmptyTeamNameException extends RuntimeException {
     public EmptyTeamNameException(String msg) {
         super(msg);
     }
+
+    public EmptyTeamNameException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
 }
@@ -4,4 +4,8 @@ public class InvalidScoreException extends RuntimeException {
     public InvalidScoreException(String msg) {
         super(msg);
     }
+
+    public InvalidScoreException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
 }
@@ -1,7 +0,0 @@
-package sportradar.demo.football.ex;
-
-public class MatchLockedTimeout extends RuntimeException {
-    public MatchLockedTimeout(String msg) {
-        super(msg);
-    }
-}
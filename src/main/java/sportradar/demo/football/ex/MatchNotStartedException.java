@@ -4,4 +4,8 @@ public class MatchNotStartedException extends RuntimeException {
     public MatchNotStartedException(String msg) {
         super(msg);
     }
+
+    public MatchNotStartedException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,7 @@
+package sportradar.demo.football.ex;
+
+public class SnapshotTooOldException extends RuntimeException {
+    public SnapshotTooOldException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,7 @@
+package sportradar.demo.football.ex;
+
+public class SubscriberOverflowException extends RuntimeException {
+    public SubscriberOverflowException(String msg) {
+        super(msg);
+    }
+}
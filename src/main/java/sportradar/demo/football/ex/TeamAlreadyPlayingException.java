@@ -8,4 +8,8 @@ public class TeamAlreadyPlayingException extends RuntimeException {
         super(msg);
     }
 
+    public TeamAlreadyPlayingException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
+
 }
@@ -4,4 +4,8 @@ public class TeamNameOverflowException extends RuntimeException {
     public TeamNameOverflowException(String msg) {
         super(msg);
     }
+
+    public TeamNameOverflowException(String msg, boolean writableStackTrace) {
+        super(msg, null, false, writableStackTrace);
+    }
 }
@@ -0,0 +1,207 @@
+package sportradar.demo.football.index;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Open addressing hash table with primitive int keys (team ids from TeamDictionary).
+ * Lookup is a hash probe plus an int compare, no boxing and no String comparisons.
+ * <p>
+ * Reads are lock-free, writes (match start/finish) are a CAS on the slot of the key: starts and finishes
+ * of different teams never wait for each other. A slot once taken by a key stays with it until the next resize,
+ * remove only clears the value. Team ids are dense and reused by the same team, so there is nothing like
+ * tombstones piling up. Only resize takes the table monitor: it freezes every slot first, writers meeting
+ * a frozen slot wait for the new table and retry there.
+ * Each slot holds immutable key-value Entry, so reader always sees consistent pair.
+ */
+public class IntMatchTable<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    // linear probing degrades quickly above it, slots of removed keys are counted as used
+    private static final float MAX_LOAD = 0.5f;
+
+    // frozen slot which was empty: ends the probe for readers the same as null
+    @SuppressWarnings("rawtypes")
+    private static final Entry FROZEN_EMPTY = new Entry<>(-1, null, true);
+
+    private volatile Table<V> table = new Table<>(MIN_CAPACITY);
+
+    // value is null once the key is removed
+    private record Entry<V>(int key, V value, boolean frozen) {
+    }
+
+    private static final class Table<V> {
+        private final AtomicReferenceArray<Entry<V>> slots;
+        // keys ever put since the table was built, including removed ones
+        private final AtomicInteger usedSlots = new AtomicInteger();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Table(int capacity) {
+            slots = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    public V get(int key) {
+        var slots = table.slots;
+        var mask = slots.length() - 1;
+        for (var i = indexOf(key, mask); ; i = (i + 1) & mask) {
+            var entry = slots.get(i);
+            if (entry == null || entry == FROZEN_EMPTY) {
+                return null;
+            }
+            if (entry.key == key) {
+                return entry.value;
+            }
+        }
+    }
+
+    /**
+     * Returns existing value for the key or null if the new value was put
+     */
+    public V putIfAbsent(int key, V value) {
+        while (true) {
+            var currentTable = table;
+            var slots = currentTable.slots;
+            var mask = slots.length() - 1;
+            var i = indexOf(key, mask);
+            while (true) {
+                var entry = slots.get(i);
+                if (entry == null) {
+                    if (currentTable.usedSlots.incrementAndGet() > slots.length() * MAX_LOAD) {
+                        currentTable.usedSlots.decrementAndGet();
+                        resize(currentTable);
+                        break;
+                    }
+                    if (slots.compareAndSet(i, null, new Entry<>(key, value, false))) {
+                        currentTable.size.incrementAndGet();
+                        return null;
+                    }
+                    // lost the slot: give the count back and look at what was put there
+                    currentTable.usedSlots.decrementAndGet();
+                    continue;
+                }
+                if (entry.frozen) {
+                    awaitResize();
+                    break;
+                }
+                if (entry.key != key) {
+                    i = (i + 1) & mask;
+                    continue;
+                }
+                if (entry.value != null) {
+                    return entry.value;
+                }
+                if (slots.compareAndSet(i, entry, new Entry<>(key, value, false))) {
+                    currentTable.size.incrementAndGet();
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the key only if it's still mapped to the value (by reference)
+     */
+    public boolean remove(int key, V value) {
+        while (true) {
+            var currentTable = table;
+            var slots = currentTable.slots;
+            var mask = slots.length() - 1;
+            var i = indexOf(key, mask);
+            while (true) {
+                var entry = slots.get(i);
+                if (entry == null || entry == FROZEN_EMPTY) {
+                    return false;
+                }
+                if (entry.frozen) {
+                    awaitResize();
+                    break;
+                }
+                if (entry.key != key) {
+                    i = (i + 1) & mask;
+                    continue;
+                }
+                if (entry.value != value) {
+                    return false;
+                }
+                if (slots.compareAndSet(i, entry, new Entry<>(key, null, false))) {
+                    currentTable.size.decrementAndGet();
+                    return true;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        freeze(table);
+        table = new Table<>(MIN_CAPACITY);
+    }
+
+    public int size() {
+        return table.size.get();
+    }
+
+    // Resize publishes the new table before it releases the monitor
+    private synchronized void awaitResize() {
+    }
+
+    // New table is filled completely before it's published, readers keep using the old one until then.
+    // Removed keys are left behind
+    private synchronized void resize(Table<V> oldTable) {
+        if (table != oldTable) {
+            return;
+        }
+        var oldSlots = oldTable.slots;
+        freeze(oldTable);
+        var live = 0;
+        for (var j = 0; j < oldSlots.length(); j++) {
+            if (oldSlots.get(j).value != null) {
+                live++;
+            }
+        }
+        var capacity = MIN_CAPACITY;
+        while (capacity * MAX_LOAD < (live + 1) * 2) {
+            capacity <<= 1;
+        }
+        var newTable = new Table<V>(capacity);
+        var newSlots = newTable.slots;
+        var mask = capacity - 1;
+        for (var j = 0; j < oldSlots.length(); j++) {
+            var entry = oldSlots.get(j);
+            if (entry.value == null) {
+                continue;
+            }
+            var i = indexOf(entry.key, mask);
+            while (newSlots.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            newSlots.set(i, new Entry<>(entry.key, entry.value, false));
+        }
+        newTable.usedSlots.set(live);
+        newTable.size.set(live);
+        table = newTable;
+    }
+
+    // Every slot is frozen by CAS, so a write racing with it either lands before and is copied or sees it frozen
+    @SuppressWarnings("unchecked")
+    private static <V> void freeze(Table<V> table) {
+        var slots = table.slots;
+        for (var j = 0; j < slots.length(); j++) {
+            while (true) {
+                var entry = slots.get(j);
+                var frozen = entry == null ? (Entry<V>) FROZEN_EMPTY : new Entry<>(entry.key, entry.value, true);
+                if (entry != null && entry.frozen || slots.compareAndSet(j, entry, frozen)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // dense ids would fill neighbour slots in a row, so let's spread them
+    private static int indexOf(int key, int mask) {
+        var h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+}
@@ -0,0 +1,219 @@
+package sportradar.demo.football.index;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Off-heap storage of match records: fixed-size slots in direct memory chunks, freed slots are reused.
+ * GC sees only the chunk buffers, never a match, so marking cost doesn't grow with the board.
+ * <p>
+ * Slot layout, native byte order:
+ * <pre>
+ *   long  stamp: generation (32 bits) | version (29 bits) | state (2 bits) | writing (1 bit)
+ *   int   home team id
+ *   int   away team id
+ *   int   startSequence
+ *   int   home score
+ *   int   away score
+ *   int   padding
+ * </pre>
+ * Scores are guarded by the stamp as a seqlock: writer CASes 'writing' bit on, writes both scores
+ * and releases the stamp with the next version. Reader reads stamp, data and stamp again,
+ * and retries if it has changed, so it never sees home score of one update and away score of another.
+ * <p>
+ * Generation is incremented every time the slot is allocated: writer which found the slot before it was
+ * freed and reused fails its CAS instead of changing somebody else's match (no ABA).
+ * <p>
+ * Foreign Memory API (MemorySegment) is still incubating in Java 17, direct ByteBuffer with VarHandle views
+ * gives the same atomic access to aligned off-heap longs.
+ */
+public class MatchSlab {
+
+    public static final int PENDING = 0;
+    public static final int LIVE = 1;
+    public static final int FINISHED = 2;
+
+    private static final int SLOT_SIZE = 32;
+    private static final int CHUNK_SHIFT = 14;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+
+    private static final int STAMP = 0;
+    private static final int HOME_TEAM = 8;
+    private static final int AWAY_TEAM = 12;
+    private static final int START_SEQUENCE = 16;
+    private static final int HOME_SCORE = 20;
+    private static final int AWAY_SCORE = 24;
+
+    private static final long WRITING = 1L;
+    private static final long STATE_MASK = 3L << 1;
+    private static final long VERSION_MASK = (1L << 29) - 1;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+
+    // chunks are never moved, only the directory is replaced when a chunk is added
+    private volatile ByteBuffer[] chunks = new ByteBuffer[0];
+
+    // guarded by this
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+
+    // slots below it were allocated at least once, scan goes up to it
+    private volatile int highWater;
+
+    public static int stateOf(long stamp) {
+        return (int) ((stamp & STATE_MASK) >>> 1);
+    }
+
+    public static int versionOf(long stamp) {
+        return (int) ((stamp >>> 3) & VERSION_MASK);
+    }
+
+    public static boolean isWriting(long stamp) {
+        return (stamp & WRITING) != 0;
+    }
+
+    /**
+     * New PENDING match in a free slot (or a new one). Invisible for writers until it's made LIVE.
+     */
+    public int allocate(int homeTeamId, int awayTeamId, int startSequence) {
+        int slot;
+        synchronized (this) {
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                slot = highWater;
+                if ((slot >>> CHUNK_SHIFT) == chunks.length) {
+                    var grown = Arrays.copyOf(chunks, chunks.length + 1);
+                    grown[chunks.length] = ByteBuffer.allocateDirect(CHUNK_SLOTS * SLOT_SIZE).order(ByteOrder.nativeOrder());
+                    chunks = grown;
+                }
+                highWater = slot + 1;
+            }
+        }
+        var chunk = chunkOf(slot);
+        var offset = offsetOf(slot);
+        var generation = ((long) LONGS.getVolatile(chunk, offset + STAMP) >>> 32) + 1;
+        INTS.set(chunk, offset + HOME_TEAM, homeTeamId);
+        INTS.set(chunk, offset + AWAY_TEAM, awayTeamId);
+        INTS.set(chunk, offset + START_SEQUENCE, startSequence);
+        INTS.set(chunk, offset + HOME_SCORE, 0);
+        INTS.set(chunk, offset + AWAY_SCORE, 0);
+        // release: whoever reads the new stamp sees the fields above
+        LONGS.setRelease(chunk, offset + STAMP, generation << 32 | (long) PENDING << 1);
+        return slot;
+    }
+
+    // Slot could be freed only when nothing refers to it anymore (team index entries are cleared)
+    public void free(int slot) {
+        var chunk = chunkOf(slot);
+        var offset = offsetOf(slot);
+        var stamp = (long) LONGS.getVolatile(chunk, offset + STAMP);
+        LONGS.setRelease(chunk, offset + STAMP, stamp & ~(STATE_MASK | WRITING) | (long) FINISHED << 1);
+        synchronized (this) {
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    public long stamp(int slot) {
+        return (long) LONGS.getVolatile(chunkOf(slot), offsetOf(slot) + STAMP);
+    }
+
+    public int homeTeamId(int slot) {
+        return (int) INTS.get(chunkOf(slot), offsetOf(slot) + HOME_TEAM);
+    }
+
+    public int awayTeamId(int slot) {
+        return (int) INTS.get(chunkOf(slot), offsetOf(slot) + AWAY_TEAM);
+    }
+
+    // PENDING match belongs to its starter only, plain release is enough
+    public void makeLive(int slot) {
+        var chunk = chunkOf(slot);
+        var offset = offsetOf(slot);
+        var stamp = (long) LONGS.getVolatile(chunk, offset + STAMP);
+        LONGS.setRelease(chunk, offset + STAMP, stamp & ~STATE_MASK | (long) LIVE << 1);
+    }
+
+    /**
+     * Seqlock write of both scores, fails if the stamp is not the given one anymore
+     */
+    public boolean compareAndSetScores(int slot, long stamp, int homeScore, int awayScore) {
+        var chunk = chunkOf(slot);
+        var offset = offsetOf(slot);
+        if (!LONGS.compareAndSet(chunk, offset + STAMP, stamp, stamp | WRITING)) {
+            return false;
+        }
+        INTS.setOpaque(chunk, offset + HOME_SCORE, homeScore);
+        INTS.setOpaque(chunk, offset + AWAY_SCORE, awayScore);
+        LONGS.setRelease(chunk, offset + STAMP, nextVersion(stamp));
+        return true;
+    }
+
+    public boolean compareAndSetState(int slot, long stamp, int state) {
+        return LONGS.compareAndSet(chunkOf(slot), offsetOf(slot) + STAMP, stamp,
+                nextVersion(stamp) & ~STATE_MASK | (long) state << 1);
+    }
+
+    /**
+     * Consistent read of LIVE match into: home team id, away team id, startSequence, home score, away score, version.
+     * Returns false if the slot holds no LIVE match.
+     */
+    public boolean readLive(int slot, int[] into) {
+        var chunk = chunkOf(slot);
+        var offset = offsetOf(slot);
+        while (true) {
+            var stamp = (long) LONGS.getAcquire(chunk, offset + STAMP);
+            if (isWriting(stamp)) {
+                Thread.onSpinWait();
+                continue;
+            }
+            if (stateOf(stamp) != LIVE) {
+                return false;
+            }
+            into[0] = (int) INTS.getOpaque(chunk, offset + HOME_TEAM);
+            into[1] = (int) INTS.getOpaque(chunk, offset + AWAY_TEAM);
+            into[2] = (int) INTS.getOpaque(chunk, offset + START_SEQUENCE);
+            into[3] = (int) INTS.getOpaque(chunk, offset + HOME_SCORE);
+            into[4] = (int) INTS.getOpaque(chunk, offset + AWAY_SCORE);
+            into[5] = versionOf(stamp);
+            // data reads must not float below the second stamp read
+            VarHandle.acquireFence();
+            if ((long) LONGS.getVolatile(chunk, offset + STAMP) == stamp) {
+                return true;
+            }
+        }
+    }
+
+    public int highWater() {
+        return highWater;
+    }
+
+    // test purposes only: must not run concurrently with anything else
+    public synchronized void clear() {
+        chunks = new ByteBuffer[0];
+        freeCount = 0;
+        highWater = 0;
+    }
+
+    private static long nextVersion(long stamp) {
+        var version = (versionOf(stamp) + 1) & VERSION_MASK;
+        return stamp & ~(VERSION_MASK << 3) & ~WRITING | version << 3;
+    }
+
+    private ByteBuffer chunkOf(int slot) {
+        return chunks[slot >>> CHUNK_SHIFT];
+    }
+
+    private static int offsetOf(int slot) {
+        return (slot & CHUNK_MASK) * SLOT_SIZE;
+    }
+
+}
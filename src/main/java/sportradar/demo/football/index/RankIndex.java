@@ -0,0 +1,152 @@
+package sportradar.demo.football.index;
+
+/**
+ * Order-statistic tree: treap where every node knows the size of its subtree.
+ * Insert, remove and "how many elements go before this one" are O(log N) expected,
+ * ConcurrentSkipListMap can't count without walking the whole prefix.
+ * <p>
+ * Ordering is Comparable of the element only (for CurrentMatch: total score desc, startSequence desc),
+ * element doesn't have to be present to be ranked.
+ * Every operation is serialized by the index monitor, they are short: one root-to-leaf path each.
+ */
+public class RankIndex<E extends Comparable<? super E>> {
+
+    private static final class Node<E> {
+        private final E element;
+        private final int priority;
+        private int size = 1;
+        private Node<E> left;
+        private Node<E> right;
+
+        private Node(E element, int priority) {
+            this.element = element;
+            this.priority = priority;
+        }
+    }
+
+    // guarded by this
+    private Node<E> root;
+    private int seed = 0x2545F491;
+
+    public synchronized void add(E element) {
+        root = insert(root, new Node<>(element, nextPriority()));
+    }
+
+    public synchronized void remove(E element) {
+        root = delete(root, element);
+    }
+
+    // Both under the same lock: concurrent reader never sees the board one match shorter
+    public synchronized void replace(E oldElement, E newElement) {
+        root = delete(root, oldElement);
+        root = insert(root, new Node<>(newElement, nextPriority()));
+    }
+
+    /**
+     * Number of elements ordered strictly before the given one
+     */
+    public synchronized int countBefore(E element) {
+        var count = 0;
+        var node = root;
+        while (node != null) {
+            var cmp = element.compareTo(node.element);
+            if (cmp > 0) {
+                count += sizeOf(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    public synchronized int size() {
+        return sizeOf(root);
+    }
+
+    public synchronized void clear() {
+        root = null;
+    }
+
+    // xorshift: random priorities keep the treap balanced whatever the insertion order is
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    // plain BST insert, then rotating the new node up while its priority is higher than the parent's one
+    private Node<E> insert(Node<E> node, Node<E> inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (inserted.element.compareTo(node.element) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        return update(node);
+    }
+
+    private Node<E> rotateRight(Node<E> node) {
+        var top = node.left;
+        node.left = top.right;
+        top.right = update(node);
+        return update(top);
+    }
+
+    private Node<E> rotateLeft(Node<E> node) {
+        var top = node.right;
+        node.right = top.left;
+        top.left = update(node);
+        return update(top);
+    }
+
+    private Node<E> delete(Node<E> node, E element) {
+        if (node == null) {
+            return null;
+        }
+        var cmp = element.compareTo(node.element);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = delete(node.left, element);
+        } else {
+            node.right = delete(node.right, element);
+        }
+        return update(node);
+    }
+
+    private Node<E> merge(Node<E> left, Node<E> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private static <E> Node<E> update(Node<E> node) {
+        node.size = 1 + sizeOf(node.left) + sizeOf(node.right);
+        return node;
+    }
+
+    private static int sizeOf(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+}
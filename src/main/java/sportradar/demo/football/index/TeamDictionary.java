@@ -0,0 +1,65 @@
+package sportradar.demo.football.index;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns team names into dense int ids: 0, 1, 2...
+ * Name is hashed once per operation, everything behind the dictionary works with int ids only.
+ * <p>
+ * Ids are never released: the set of teams is finite in practice (national teams, clubs),
+ * so the dictionary stays small compared to the matches played by those teams.
+ */
+public class TeamDictionary {
+
+    public static final int UNKNOWN_TEAM = -1;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    // reverse lookup, written under 'this' monitor (only when new team is interned), read without locking
+    private volatile String[] names = new String[64];
+
+    private int nextId;
+
+    /**
+     * Returns id of the team, assigning the new one for the team which was never seen before
+     */
+    public int intern(String team) {
+        var id = ids.get(team);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(team, this::assignId);
+    }
+
+    /**
+     * Returns id of the team or UNKNOWN_TEAM without interning it.
+     * Update/remove requests should never grow the dictionary with names which never played.
+     */
+    public int find(String team) {
+        var id = ids.get(team);
+        return id == null ? UNKNOWN_TEAM : id;
+    }
+
+    public String nameOf(int id) {
+        var currentNames = names;
+        return id >= 0 && id < currentNames.length ? currentNames[id] : null;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private synchronized Integer assignId(String team) {
+        var id = nextId++;
+        var currentNames = names;
+        if (id == currentNames.length) {
+            currentNames = Arrays.copyOf(currentNames, currentNames.length * 2);
+        }
+        currentNames[id] = team;
+        // volatile write publishes the name together with the (possibly new) array
+        names = currentNames;
+        return id;
+    }
+
+}
@@ -0,0 +1,82 @@
+package sportradar.demo.football.index;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thin heap index for MatchSlab: team id (dense, from TeamDictionary) -> slot of its match.
+ * 8 bytes per team, no object per match.
+ * <p>
+ * Ids are stored in fixed-size chunks which are never copied, so growing never loses concurrent CAS.
+ * Entry is generation (32 bits) | slot + 1 (32 bits): zero slot part means the team is not playing.
+ * Generation is incremented by every reservation, so whoever read the entry before the team was released
+ * and reserved again (even for the same reused slot) fails its CAS instead of releasing somebody else's match.
+ */
+public class TeamSlotIndex {
+
+    public static final int NO_SLOT = -1;
+
+    private static final int CHUNK_SHIFT = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+    private volatile AtomicLongArray[] chunks = new AtomicLongArray[0];
+
+    public static int slotOf(long entry) {
+        return (int) (entry & SLOT_MASK) - 1;
+    }
+
+    public int get(int teamId) {
+        return slotOf(entry(teamId));
+    }
+
+    // pass it back to reserve/release as the expected value
+    public long entry(int teamId) {
+        var currentChunks = chunks;
+        var chunk = teamId >>> CHUNK_SHIFT;
+        if (teamId < 0 || chunk >= currentChunks.length) {
+            return 0;
+        }
+        return currentChunks[chunk].get(teamId & CHUNK_MASK);
+    }
+
+    public boolean reserve(int teamId, long expectedEntry, int slot) {
+        var generation = (expectedEntry & ~SLOT_MASK) + (1L << 32);
+        return chunkFor(teamId).compareAndSet(teamId & CHUNK_MASK, expectedEntry, generation | (slot + 1));
+    }
+
+    public boolean release(int teamId, long expectedEntry) {
+        return chunkFor(teamId).compareAndSet(teamId & CHUNK_MASK, expectedEntry, expectedEntry & ~SLOT_MASK);
+    }
+
+    // only for the owner of the slot: it can't be reused and reserved again until the owner frees it
+    public boolean release(int teamId, int slot) {
+        var entry = entry(teamId);
+        return slotOf(entry) == slot && release(teamId, entry);
+    }
+
+    // test purposes only
+    public synchronized void clear() {
+        chunks = new AtomicLongArray[0];
+    }
+
+    private AtomicLongArray chunkFor(int teamId) {
+        var chunk = teamId >>> CHUNK_SHIFT;
+        var currentChunks = chunks;
+        if (chunk < currentChunks.length) {
+            return currentChunks[chunk];
+        }
+        synchronized (this) {
+            if (chunk >= chunks.length) {
+                var grown = Arrays.copyOf(chunks, chunk + 1);
+                for (var i = chunks.length; i < grown.length; i++) {
+                    grown[i] = new AtomicLongArray(CHUNK_SIZE);
+                }
+                chunks = grown;
+            }
+            return chunks[chunk];
+        }
+    }
+
+}
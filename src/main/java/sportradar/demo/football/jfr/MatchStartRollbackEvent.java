@@ -0,0 +1,22 @@
+package sportradar.demo.football.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("sportradar.football.MatchStartRollback")
+@Label("Match Start Rollback")
+@Category("Football Scoreboard")
+@Description("HOME team was reserved but AWAY team is already playing, HOME team reservation was rolled back")
+@StackTrace(false)
+public class MatchStartRollbackEvent extends jdk.jfr.Event {
+
+    @Label("Home Team")
+    public String homeTeam;
+
+    @Label("Away Team")
+    public String awayTeam;
+
+}
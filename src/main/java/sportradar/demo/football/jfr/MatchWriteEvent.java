@@ -0,0 +1,38 @@
+package sportradar.demo.football.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Duration of a single START/UPDATE/REMOVE including all optimistic retries, one event per write
+ * which has passed the validation, whatever its outcome.
+ * Replaces the lock acquisition time of the old per-match lock: high casRetries on the same match means contention.
+ */
+@Name("sportradar.football.MatchWrite")
+@Label("Match Write")
+@Category("Football Scoreboard")
+@Description("Start, update or remove of a single match, with its outcome and number of CAS retries "
+        + "caused by concurrent writers")
+@StackTrace(false)
+public class MatchWriteEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Home Team")
+    public String homeTeam;
+
+    @Label("Away Team")
+    public String awayTeam;
+
+    @Label("Outcome")
+    @Description("CommandResult of the write: OK, TEAM_ALREADY_PLAYING or MATCH_NOT_STARTED")
+    public String outcome;
+
+    @Label("CAS Retries")
+    public int casRetries;
+
+}
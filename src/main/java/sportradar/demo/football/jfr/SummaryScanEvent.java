@@ -0,0 +1,22 @@
+package sportradar.demo.football.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("sportradar.football.SummaryScan")
+@Label("Summary Scan")
+@Category("Football Scoreboard")
+@Description("Single getSummary() call with the number of matches returned")
+@StackTrace(false)
+public class SummaryScanEvent extends jdk.jfr.Event {
+
+    @Label("Summary Mode")
+    public String summaryMode;
+
+    @Label("Matches")
+    public int matches;
+
+}
@@ -0,0 +1,17 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage for boards which are evicted from memory, see ScoreboardRegistry
+ */
+public interface BoardStore {
+
+    void save(String board, List<CurrentMatch> matches);
+
+    Optional<List<CurrentMatch>> load(String board);
+
+}
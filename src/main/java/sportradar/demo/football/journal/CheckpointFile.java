@@ -0,0 +1,172 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Binary snapshot of the whole board: checkpoint-{journal LSN}.bin
+ * Every journal record below the LSN is already reflected in the checkpoint.
+ * <p>
+ * Format, all numbers are big endian:
+ * <pre>
+ *   int   magic 'SBCP'
+ *   short format version
+ *   long  journal LSN
+ *   int   last generated startSequence
+ *   int   match count
+ *   match:
+ *     int   startSequence
+ *     int   home score
+ *     int   away score
+ *     short home team name length, UTF-8 bytes
+ *     short away team name length, UTF-8 bytes
+ *   int   CRC32C of everything above
+ * </pre>
+ * File is written under temporary name and atomically renamed, so half written checkpoint is never loaded.
+ */
+record CheckpointFile(long lsn, int lastStartSequence, List<CurrentMatch> matches) {
+
+    private static final int MAGIC = 0x53424350;
+    private static final short FORMAT_VERSION = 1;
+
+    private static final String PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".bin";
+
+    void write(Path directory) {
+        var target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+        var temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            var crc = new CRC32C();
+            try (var out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)), crc))) {
+                out.writeInt(MAGIC);
+                out.writeShort(FORMAT_VERSION);
+                out.writeLong(lsn);
+                out.writeInt(lastStartSequence);
+                out.writeInt(matches.size());
+                for (var match : matches) {
+                    out.writeInt(match.getStartSequence());
+                    out.writeInt(match.getHomeScore());
+                    out.writeInt(match.getAwayScore());
+                    writeName(out, match.getHomeTeam());
+                    writeName(out, match.getAwayTeam());
+                }
+                out.flush();
+                // CRC of the content only, the value itself is not a part of it
+                out.writeInt((int) crc.getValue());
+            }
+            try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The newest checkpoint which could be read completely, broken ones are skipped
+     */
+    static Optional<CheckpointFile> readLatest(Path directory) {
+        var files = list(directory);
+        for (var i = files.size() - 1; i >= 0; i--) {
+            var checkpoint = read(files.get(i));
+            if (checkpoint.isPresent()) {
+                return checkpoint;
+            }
+        }
+        return Optional.empty();
+    }
+
+    static void deleteOlderThan(Path directory, long lsn) {
+        try {
+            for (var file : list(directory)) {
+                if (lsnOf(file) < lsn) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Optional<CheckpointFile> read(Path file) {
+        var crc = new CRC32C();
+        try (var in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), crc))) {
+            if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            var lsn = in.readLong();
+            var lastStartSequence = in.readInt();
+            var count = in.readInt();
+            var matches = new ArrayList<CurrentMatch>(count);
+            for (var i = 0; i < count; i++) {
+                var startSequence = in.readInt();
+                var homeScore = in.readInt();
+                var awayScore = in.readInt();
+                var homeTeam = readName(in);
+                var awayTeam = readName(in);
+                matches.add(new CurrentMatch(homeTeam, awayTeam, homeScore, awayScore, startSequence));
+            }
+            var expectedCrc = (int) crc.getValue();
+            if (in.readInt() != expectedCrc) {
+                return Optional.empty();
+            }
+            return Optional.of(new CheckpointFile(lsn, lastStartSequence, matches));
+        } catch (IOException e) {
+            // truncated or unreadable file, let's try the previous one
+            return Optional.empty();
+        }
+    }
+
+    private static List<Path> list(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        var name = file.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long lsnOf(Path file) {
+        var name = file.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        var bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readName(DataInputStream in) throws IOException {
+        var bytes = new byte[in.readUnsignedShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,38 @@
+package sportradar.demo.football.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs checkpoints periodically on its own daemon thread, so writers never wait for them.
+ * Failed checkpoint is only logged: journal still has every record, the next attempt will cover them.
+ */
+@Slf4j
+public class CheckpointScheduler implements AutoCloseable {
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "scoreboard-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CheckpointScheduler(Runnable checkpoint, Duration period) {
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                checkpoint.run();
+            } catch (RuntimeException e) {
+                log.warn("Checkpoint failed, journal is kept as is", e);
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+}
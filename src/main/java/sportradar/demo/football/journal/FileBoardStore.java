@@ -0,0 +1,52 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Each board is a directory with single checkpoint file (the same binary format as journal checkpoints).
+ * Board name is URL-encoded into directory name, so any competition name is a valid one.
+ */
+public class FileBoardStore implements BoardStore {
+
+    private final Path directory;
+
+    public FileBoardStore(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void save(String board, List<CurrentMatch> matches) {
+        var boardDirectory = directoryOf(board);
+        try {
+            Files.createDirectories(boardDirectory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // startSequence is only the order here, restored board generates its own ones
+        new CheckpointFile(0L, 0, matches).write(boardDirectory);
+    }
+
+    @Override
+    public Optional<List<CurrentMatch>> load(String board) {
+        var boardDirectory = directoryOf(board);
+        if (!Files.isDirectory(boardDirectory)) {
+            return Optional.empty();
+        }
+        return CheckpointFile.readLatest(boardDirectory).map(CheckpointFile::matches);
+    }
+
+    private Path directoryOf(String board) {
+        // dots are encoded too: "." and ".." must not escape the store directory
+        return directory.resolve(URLEncoder.encode(board, StandardCharsets.UTF_8).replace(".", "%2E"));
+    }
+
+}
@@ -0,0 +1,18 @@
+package sportradar.demo.football.journal;
+
+/**
+ * Receives journal records during replay, in the same order they were committed
+ */
+public interface JournalHandler {
+
+    void onStart(String homeTeam, String awayTeam, int startSequence);
+
+    void onUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore);
+
+    void onRemove(String homeTeam, String awayTeam);
+
+    // Called once before matches of the checkpoint are replayed as started and updated ones
+    default void onCheckpoint(int lastStartSequence) {
+    }
+
+}
@@ -0,0 +1,371 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Journal written into memory-mapped segment files: journal-{first LSN}.log
+ * LSN (log sequence number) is a byte offset of the record in the whole journal.
+ * <p>
+ * Record format, all numbers are big endian:
+ * <pre>
+ *   int   body length
+ *   int   CRC32C of the body
+ *   body:
+ *     byte  type: 1 - START, 2 - UPDATE, 3 - REMOVE
+ *     int   START: startSequence, UPDATE: home score
+ *     int   UPDATE: away score
+ *     unsigned short home team name length, UTF-8 bytes
+ *     unsigned short away team name length, UTF-8 bytes
+ * </pre>
+ * Record which could not be written this way (name over 65535 bytes, record bigger than a segment)
+ * is rejected by append with IllegalArgumentException, nothing is written then.
+ * Zero length or wrong CRC means the end of the journal (torn write of the last record before a crash).
+ * <p>
+ * Append is a memory copy into the mapped file under a short lock: the record survives process crash
+ * as soon as it's copied. sync() forces the pages to the disk, and it's a group commit:
+ * single force() covers every record appended so far, so threads which came while the disk was busy
+ * usually find their records already durable and do not force anything at all.
+ * <p>
+ * Checkpoint (see {@link CheckpointFile}) is written next to the segments. Startup loads the latest one
+ * and replays only the records after it, segments which are completely below it are deleted.
+ */
+public class MappedMatchJournal implements MatchJournal {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    static final byte START = 1;
+    static final byte UPDATE = 2;
+    static final byte REMOVE = 3;
+
+    private static final int HEADER_SIZE = 8;
+
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+
+    // guarded by this
+    private MappedByteBuffer segment;
+    private long segmentBase;
+    private int writePosition;
+
+    private volatile long writtenLsn;
+
+    private final Object flushLock = new Object();
+    // written under this (rollSegment() moves it too), never goes back
+    private volatile long durableLsn;
+
+    // checkpoints are rare and slow, they must never hold the append lock
+    private final Object checkpointLock = new Object();
+
+    public MappedMatchJournal(Path directory) {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public MappedMatchJournal(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            var segments = listSegments();
+            if (segments.isEmpty()) {
+                openSegment(0L);
+            } else {
+                var last = segments.get(segments.size() - 1);
+                openSegment(baseOf(last));
+                writePosition = endOfRecords(segment);
+                // clear the tail after torn record, it must never be read as a record later
+                for (var i = writePosition; i < segmentSize; i++) {
+                    if (segment.get(i) != 0) {
+                        segment.put(i, (byte) 0);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        writtenLsn = segmentBase + writePosition;
+        durableLsn = writtenLsn;
+    }
+
+    @Override
+    public void appendStart(String homeTeam, String awayTeam, int startSequence) {
+        append(START, homeTeam, awayTeam, startSequence, 0);
+    }
+
+    @Override
+    public void appendUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        append(UPDATE, homeTeam, awayTeam, homeScore, awayScore);
+    }
+
+    @Override
+    public void appendRemove(String homeTeam, String awayTeam) {
+        append(REMOVE, homeTeam, awayTeam, 0, 0);
+    }
+
+    @Override
+    public void sync() {
+        var target = writtenLsn;
+        if (durableLsn >= target) {
+            return;
+        }
+        synchronized (flushLock) {
+            // somebody has already forced our record together with his own ones
+            if (durableLsn >= target) {
+                return;
+            }
+            MappedByteBuffer current;
+            long base;
+            long upTo;
+            long durable;
+            // the same snapshot as the segment: roll could move durableLsn into the new segment after it
+            synchronized (this) {
+                current = segment;
+                base = segmentBase;
+                upTo = writtenLsn;
+                durable = durableLsn;
+            }
+            // previous segments are forced completely when they are rolled
+            var from = (int) Math.max(0L, durable - base);
+            var length = (int) (upTo - base) - from;
+            if (length > 0) {
+                current.force(from, length);
+            }
+            synchronized (this) {
+                durableLsn = Math.max(durableLsn, upTo);
+            }
+        }
+    }
+
+    /**
+     * Replays the latest checkpoint and every valid record after it.
+     * Records right after the checkpoint could be already reflected in it (board is scanned while writers go on),
+     * so the handler has to tolerate starting of already started match and removing of already removed one.
+     */
+    @Override
+    public void replay(JournalHandler handler) {
+        var checkpoint = CheckpointFile.readLatest(directory);
+        if (checkpoint.isEmpty()) {
+            replayFrom(0L, handler);
+            return;
+        }
+        handler.onCheckpoint(checkpoint.get().lastStartSequence());
+        for (var match : checkpoint.get().matches()) {
+            handler.onStart(match.getHomeTeam(), match.getAwayTeam(), match.getStartSequence());
+            if (match.getHomeScore() != 0 || match.getAwayScore() != 0) {
+                handler.onUpdate(match.getHomeTeam(), match.getAwayTeam(), match.getHomeScore(), match.getAwayScore());
+            }
+        }
+        replayFrom(checkpoint.get().lsn(), handler);
+    }
+
+    /**
+     * Replays records starting at given LSN, previous ones are skipped
+     */
+    public void replayFrom(long fromLsn, JournalHandler handler) {
+        try {
+            for (var segmentFile : listSegments()) {
+                var base = baseOf(segmentFile);
+                try (var channel = FileChannel.open(segmentFile, StandardOpenOption.READ)) {
+                    var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    readRecords(buffer, base, fromLsn, handler);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getWrittenLsn() {
+        return writtenLsn;
+    }
+
+    public long getDurableLsn() {
+        return durableLsn;
+    }
+
+    @Override
+    public long position() {
+        return writtenLsn;
+    }
+
+    /**
+     * Writes checkpoint file and then drops everything it covers: older checkpoints and old segments.
+     * Appends are not blocked, only the current segment is never deleted.
+     */
+    @Override
+    public void checkpoint(long position, int lastStartSequence, List<CurrentMatch> matches) {
+        synchronized (checkpointLock) {
+            new CheckpointFile(position, lastStartSequence, matches).write(directory);
+            CheckpointFile.deleteOlderThan(directory, position);
+            truncateBefore(position);
+        }
+    }
+
+    // segment could be deleted when the next one starts at or below the position: all its records are covered
+    private void truncateBefore(long position) {
+        try {
+            var segments = listSegments();
+            for (var i = 0; i < segments.size() - 1; i++) {
+                if (baseOf(segments.get(i + 1)) <= position) {
+                    Files.deleteIfExists(segments.get(i));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        sync();
+        synchronized (this) {
+            segment = null;
+        }
+    }
+
+    private void append(byte type, String homeTeam, String awayTeam, int first, int second) {
+        var home = nameBytes(homeTeam);
+        var away = nameBytes(awayTeam);
+        var body = ByteBuffer.allocate(1 + 4 + 4 + 2 + home.length + 2 + away.length);
+        var recordSize = HEADER_SIZE + body.capacity();
+        // checked before the lock: it would not fit into a fresh segment either
+        if (recordSize + 4 > segmentSize) {
+            throw new IllegalArgumentException(
+                    "Journal record of " + recordSize + " bytes does not fit into segment of " + segmentSize
+            );
+        }
+        body.put(type).putInt(first).putInt(second)
+                .putShort((short) home.length).put(home)
+                .putShort((short) away.length).put(away);
+        var crc = new CRC32C();
+        crc.update(body.array());
+
+        synchronized (this) {
+            // keep at least one zero int after the last record: end marker for the reader
+            if (writePosition + recordSize + 4 > segmentSize) {
+                rollSegment();
+            }
+            segment.putInt(writePosition + 4, (int) crc.getValue());
+            segment.put(writePosition + HEADER_SIZE, body.array());
+            // length goes the last: reader never sees non-zero length of half written record in the same process
+            segment.putInt(writePosition, body.capacity());
+            writePosition += recordSize;
+            writtenLsn = segmentBase + writePosition;
+        }
+    }
+
+    private static byte[] nameBytes(String team) {
+        var bytes = team.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Team name is too long for the journal: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    // guarded by this
+    private void rollSegment() {
+        segment.force();
+        // not under flushLock (lock order is flushLock -> this), sync() publishes it under this too
+        durableLsn = Math.max(durableLsn, segmentBase + writePosition);
+        try {
+            openSegment(segmentBase + writePosition);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long base) throws IOException {
+        try (var channel = FileChannel.open(segmentPath(base),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // mapping stays valid after the channel is closed, new file is extended with zeros
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segmentBase = base;
+        writePosition = 0;
+    }
+
+    private static int endOfRecords(ByteBuffer buffer) {
+        return readRecords(buffer, 0L, Long.MAX_VALUE, null);
+    }
+
+    // returns position right after the last valid record
+    private static int readRecords(ByteBuffer buffer, long base, long fromLsn, JournalHandler handler) {
+        var position = 0;
+        while (position + HEADER_SIZE <= buffer.limit()) {
+            var length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.limit()) {
+                break;
+            }
+            var body = new byte[length];
+            buffer.get(position + HEADER_SIZE, body);
+            var crc = new CRC32C();
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            if (handler != null && base + position >= fromLsn) {
+                dispatch(ByteBuffer.wrap(body), handler);
+            }
+            position += HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static void dispatch(ByteBuffer body, JournalHandler handler) {
+        var type = body.get();
+        var first = body.getInt();
+        var second = body.getInt();
+        var homeTeam = readName(body);
+        var awayTeam = readName(body);
+        switch (type) {
+            case START -> handler.onStart(homeTeam, awayTeam, first);
+            case UPDATE -> handler.onUpdate(homeTeam, awayTeam, first, second);
+            case REMOVE -> handler.onRemove(homeTeam, awayTeam);
+            default -> throw new IllegalStateException("Unknown journal record type: " + type);
+        }
+    }
+
+    private static String readName(ByteBuffer body) {
+        var name = new byte[Short.toUnsignedInt(body.getShort())];
+        body.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        var name = file.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long baseOf(Path segmentFile) {
+        var name = segmentFile.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Path segmentPath(long base) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, base, SEGMENT_SUFFIX));
+    }
+
+}
@@ -0,0 +1,41 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.List;
+
+/**
+ * Append-only log of committed scoreboard changes.
+ * Appends have to be done in commit order, sync() makes everything appended so far durable.
+ */
+public interface MatchJournal extends AutoCloseable {
+
+    void appendStart(String homeTeam, String awayTeam, int startSequence);
+
+    void appendUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore);
+
+    void appendRemove(String homeTeam, String awayTeam);
+
+    void sync();
+
+    void replay(JournalHandler handler);
+
+    /**
+     * Journal position for the next checkpoint. It has to be taken before the board is scanned:
+     * every change appended below it is already visible on the board then.
+     */
+    long position();
+
+    /**
+     * Persists the board state as of given position, journal records below it are not needed anymore after that
+     */
+    void checkpoint(long position, int lastStartSequence, List<CurrentMatch> matches);
+
+    @Override
+    void close();
+
+    static MatchJournal none() {
+        return NoOpMatchJournal.INSTANCE;
+    }
+
+}
@@ -0,0 +1,45 @@
+package sportradar.demo.football.journal;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.List;
+
+/**
+ * Board lives in heap only, default for the scoreboard
+ */
+enum NoOpMatchJournal implements MatchJournal {
+    INSTANCE;
+
+    @Override
+    public void appendStart(String homeTeam, String awayTeam, int startSequence) {
+    }
+
+    @Override
+    public void appendUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+    }
+
+    @Override
+    public void appendRemove(String homeTeam, String awayTeam) {
+    }
+
+    @Override
+    public void sync() {
+    }
+
+    @Override
+    public void replay(JournalHandler handler) {
+    }
+
+    @Override
+    public long position() {
+        return 0L;
+    }
+
+    @Override
+    public void checkpoint(long position, int lastStartSequence, List<CurrentMatch> matches) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,292 @@
+package sportradar.demo.football.registry;
+
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.dto.SummaryPage;
+import sportradar.demo.football.journal.BoardStore;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Handle of the named board, it stays valid forever: evicted board is loaded back on the next call.
+ * <p>
+ * Calls go to the current engine under the read lock, so they run concurrently as usual.
+ * Engine is replaced (upgrade, eviction, loading) only under the write lock:
+ * the board is copied by replaying its matches in startSequence order, so summary order is kept.
+ */
+public class RegisteredScoreboard implements FootballScoreboard {
+
+    private final String name;
+    private final MatchValidator matchValidator;
+    private final BoardStore store;
+    private final ScoreboardEngine compactEngine;
+    private final ScoreboardEngine scalableEngine;
+    private final int upgradeThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // null when evicted, changed under the write lock only
+    private volatile FootballScoreboard delegate;
+    private volatile ScoreboardEngine engine;
+
+    // live matches counted by successful starts/removes: cheaper than asking the engine
+    private final AtomicInteger liveMatches = new AtomicInteger();
+
+    // own one: engine is replaced by upgrade/eviction and starts its version from zero
+    private final AtomicLong boardVersion = new AtomicLong();
+
+    private volatile long lastAccessNanos = System.nanoTime();
+
+    RegisteredScoreboard(String name, MatchValidator matchValidator, BoardStore store,
+                         ScoreboardEngine compactEngine, ScoreboardEngine scalableEngine, int upgradeThreshold) {
+        this.name = name;
+        this.matchValidator = matchValidator;
+        this.store = store;
+        this.compactEngine = compactEngine;
+        this.scalableEngine = scalableEngine;
+        this.upgradeThreshold = upgradeThreshold;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // null when the board is evicted
+    public ScoreboardEngine getEngine() {
+        return engine;
+    }
+
+    // what upgrade and load decisions are based on
+    int getLiveMatches() {
+        return liveMatches.get();
+    }
+
+    @Override
+    public void startNewMatch(String homeTeam, String awayTeam) {
+        call(board -> {
+            board.startNewMatch(homeTeam, awayTeam);
+            liveMatches.incrementAndGet();
+            return null;
+        });
+        boardVersion.incrementAndGet();
+        upgradeIfNeeded();
+    }
+
+    @Override
+    public void updateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        call(board -> {
+            board.updateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore);
+            return null;
+        });
+        boardVersion.incrementAndGet();
+    }
+
+    @Override
+    public void removeMatch(String homeTeam, String awayTeam) {
+        call(board -> {
+            board.removeMatch(homeTeam, awayTeam);
+            liveMatches.decrementAndGet();
+            return null;
+        });
+        boardVersion.incrementAndGet();
+    }
+
+    @Override
+    public CommandResult tryStartNewMatch(String homeTeam, String awayTeam) {
+        var result = call(board -> counted(board.tryStartNewMatch(homeTeam, awayTeam), 1));
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+            upgradeIfNeeded();
+        }
+        return result;
+    }
+
+    @Override
+    public CommandResult tryUpdateMatchScore(String homeTeam, String awayTeam, int homeTeamScore, int awayTeamScore) {
+        var result = call(board -> board.tryUpdateMatchScore(homeTeam, awayTeam, homeTeamScore, awayTeamScore));
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public CommandResult tryRemoveMatch(String homeTeam, String awayTeam) {
+        var result = call(board -> counted(board.tryRemoveMatch(homeTeam, awayTeam), -1));
+        if (result == CommandResult.OK) {
+            boardVersion.incrementAndGet();
+        }
+        return result;
+    }
+
+    @Override
+    public List<CurrentMatch> getSummary() {
+        return call(FootballScoreboard::getSummary);
+    }
+
+    @Override
+    public List<CurrentMatch> getTopMatches(int n) {
+        return call(board -> board.getTopMatches(n));
+    }
+
+    @Override
+    public int getRank(String homeTeam, String awayTeam) {
+        return call(board -> board.getRank(homeTeam, awayTeam));
+    }
+
+    @Override
+    public SummaryPage getSummaryPage(String continuationToken, int pageSize) {
+        return call(board -> board.getSummaryPage(continuationToken, pageSize));
+    }
+
+    @Override
+    public List<CommandResult> applyBatch(List<MatchCommand> commands) {
+        var results = call(board -> {
+            var applied = board.applyBatch(commands);
+            for (var i = 0; i < applied.size(); i++) {
+                if (applied.get(i) == CommandResult.OK) {
+                    switch (commands.get(i).type()) {
+                        case START -> liveMatches.incrementAndGet();
+                        case REMOVE -> liveMatches.decrementAndGet();
+                        default -> {
+                        }
+                    }
+                }
+            }
+            return applied;
+        });
+        if (results.contains(CommandResult.OK)) {
+            boardVersion.incrementAndGet();
+        }
+        upgradeIfNeeded();
+        return results;
+    }
+
+    @Override
+    public void clearAllMatches() {
+        call(board -> {
+            board.clearAllMatches();
+            liveMatches.set(0);
+            return null;
+        });
+        boardVersion.incrementAndGet();
+    }
+
+    @Override
+    public long getBoardVersion() {
+        return boardVersion.get();
+    }
+
+    /**
+     * Saves the board to the store and drops it from memory if it wasn't used for the given time
+     */
+    boolean evictIfIdle(long idleNanos) {
+        if (delegate == null || System.nanoTime() - lastAccessNanos < idleNanos) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            // somebody could use it while we were waiting for the lock
+            if (delegate == null || System.nanoTime() - lastAccessNanos < idleNanos) {
+                return false;
+            }
+            store.save(name, delegate.getSummary());
+            close(delegate);
+            delegate = null;
+            engine = null;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // for the successful start (+1) or remove (-1), called inside call()
+    private CommandResult counted(CommandResult result, int delta) {
+        if (result == CommandResult.OK) {
+            liveMatches.addAndGet(delta);
+        }
+        return result;
+    }
+
+    // liveMatches has to be changed inside the operation: replace() resets it under the write lock,
+    // a change made after the read lock is released could be counted twice or lost
+    private <T> T call(Function<FootballScoreboard, T> operation) {
+        lastAccessNanos = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            var board = delegate;
+            if (board != null) {
+                return operation.apply(board);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        load();
+        return call(operation);
+    }
+
+    private void load() {
+        lock.writeLock().lock();
+        try {
+            if (delegate != null) {
+                return;
+            }
+            var matches = store.load(name).orElse(List.of());
+            replace(matches.size() > upgradeThreshold ? scalableEngine : compactEngine, matches);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upgradeIfNeeded() {
+        if (engine != compactEngine || liveMatches.get() <= upgradeThreshold) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (engine == compactEngine && liveMatches.get() > upgradeThreshold) {
+                var previous = delegate;
+                replace(scalableEngine, previous.getSummary());
+                close(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // guarded by the write lock
+    private void replace(ScoreboardEngine newEngine, List<CurrentMatch> matches) {
+        var board = newEngine.create(matchValidator);
+        // the oldest match goes first: new startSequences keep the same order
+        var ordered = matches.stream().sorted(Comparator.comparing(CurrentMatch::getStartSequence)).toList();
+        for (var match : ordered) {
+            board.startNewMatch(match.getHomeTeam(), match.getAwayTeam());
+            if (match.getHomeScore() != 0 || match.getAwayScore() != 0) {
+                board.updateMatchScore(match.getHomeTeam(), match.getAwayTeam(), match.getHomeScore(), match.getAwayScore());
+            }
+        }
+        liveMatches.set(matches.size());
+        delegate = board;
+        engine = newEngine;
+    }
+
+    private static void close(FootballScoreboard board) {
+        if (board instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not close the board", e);
+            }
+        }
+    }
+
+}
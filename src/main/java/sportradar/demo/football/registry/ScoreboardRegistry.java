@@ -0,0 +1,99 @@
+package sportradar.demo.football.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.journal.BoardStore;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named boards for many competitions in one JVM, created on demand.
+ * <p>
+ * New board starts on the compact engine (PACKED by default: no ranked index, small per match footprint)
+ * and is upgraded to the scalable one (LIVE_INDEX) once it has more live matches than the threshold.
+ * Board which wasn't used for idleTimeout is saved to the store and dropped from memory,
+ * only its small handle stays in the registry. It's loaded back by the next call.
+ */
+@Slf4j
+public class ScoreboardRegistry implements AutoCloseable {
+
+    public static final int DEFAULT_UPGRADE_THRESHOLD = 64;
+
+    private final MatchValidator matchValidator;
+    private final BoardStore store;
+    private final ScoreboardEngine compactEngine;
+    private final ScoreboardEngine scalableEngine;
+    private final int upgradeThreshold;
+    private final long idleNanos;
+
+    private final ConcurrentHashMap<String, RegisteredScoreboard> boards = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        var thread = new Thread(runnable, "scoreboard-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScoreboardRegistry(MatchValidator matchValidator, BoardStore store, Duration idleTimeout) {
+        this(matchValidator, store, ScoreboardEngine.PACKED, ScoreboardEngine.LIVE_INDEX,
+                DEFAULT_UPGRADE_THRESHOLD, idleTimeout);
+    }
+
+    public ScoreboardRegistry(MatchValidator matchValidator, BoardStore store,
+                              ScoreboardEngine compactEngine, ScoreboardEngine scalableEngine,
+                              int upgradeThreshold, Duration idleTimeout) {
+        this.matchValidator = matchValidator;
+        this.store = store;
+        this.compactEngine = compactEngine;
+        this.scalableEngine = scalableEngine;
+        this.upgradeThreshold = upgradeThreshold;
+        this.idleNanos = idleTimeout.toNanos();
+        // zero timeout: eviction is up to the caller (evictIdle)
+        if (idleNanos > 0) {
+            var period = Math.max(1L, idleTimeout.toMillis() / 2);
+            evictor.scheduleWithFixedDelay(this::evictIdleSafely, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public RegisteredScoreboard get(String competition) {
+        return boards.computeIfAbsent(competition, name -> new RegisteredScoreboard(
+                name, matchValidator, store, compactEngine, scalableEngine, upgradeThreshold
+        ));
+    }
+
+    /**
+     * Evicts every board idle for longer than idleTimeout, returns number of evicted boards
+     */
+    public int evictIdle() {
+        var evicted = 0;
+        for (var board : boards.values()) {
+            if (board.evictIfIdle(idleNanos)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    private void evictIdleSafely() {
+        try {
+            evictIdle();
+        } catch (RuntimeException e) {
+            log.warn("Board eviction failed, boards are kept in memory", e);
+        }
+    }
+
+    // every board is saved to the store
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        for (var board : boards.values()) {
+            board.evictIfIdle(0L);
+        }
+    }
+
+}
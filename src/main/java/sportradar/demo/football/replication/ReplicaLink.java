@@ -0,0 +1,17 @@
+package sportradar.demo.football.replication;
+
+/**
+ * Transport from the primary to a single replica: in-process (ScoreboardReplica itself) or socket (SocketReplicaLink).
+ * Records are sent one by one in lsn order by a single thread. Send could block while the replica is behind:
+ * it slows down the primary's change stream, not its writers.
+ */
+public interface ReplicaLink extends AutoCloseable {
+
+    // throws UncheckedIOException when the replica is gone, primary detaches it then
+    void send(ReplicationRecord record);
+
+    @Override
+    default void close() {
+    }
+
+}
@@ -0,0 +1,176 @@
+package sportradar.demo.football.replication;
+
+import lombok.extern.slf4j.Slf4j;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Primary side of the replication: ships committed changes of the board to attached replicas in commit order.
+ * <p>
+ * Changes come from the board's change stream (so writers never wait for replicas), get the next lsn
+ * and are sent to every link. New replica gets the whole board first (RESET, START per match, SYNCED),
+ * then the stream. If the stream overflows (replicas are too slow) every replica is resynced the same way.
+ * <p>
+ * Board snapshot and the stream could overlap: changes committed right before the snapshot could come after it.
+ * Replica drops them by startSequence/version, see ScoreboardReplica.
+ * <p>
+ * Sending (which blocks while a replica is behind) and resync run on the primary's own shipper thread,
+ * never on the stream's executor (common pool by default). The stream hands changes over to it and goes on:
+ * at most SHIP_WINDOW changes are requested ahead, so the shipper queue stays bounded and a slow replica
+ * makes the stream buffer coalesce and finally overflow (resync), the same as a slow subscriber does.
+ */
+@Slf4j
+public class ReplicationPrimary implements Flow.Subscriber<MatchChange>, AutoCloseable {
+
+    private static final int SHIP_WINDOW = Flow.defaultBufferSize();
+
+    private final FootballScoreboardImpl scoreboard;
+
+    private final ExecutorService shipper = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "replication-primary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // guarded by 'this': sending to links, attaching and resync never interleave
+    private final List<ReplicaLink> links = new ArrayList<>();
+    private long lsn;
+    private Flow.Subscription subscription;
+    private boolean closed;
+
+    public ReplicationPrimary(FootballScoreboardImpl scoreboard) {
+        this.scoreboard = scoreboard;
+        scoreboard.getChangePublisher().subscribe(this);
+    }
+
+    public synchronized void attach(ReplicaLink link) {
+        if (closed) {
+            throw new IllegalStateException("Replication is closed");
+        }
+        if (sendBoard(link)) {
+            links.add(link);
+        }
+    }
+
+    public synchronized int getReplicaCount() {
+        return links.size();
+    }
+
+    // the latest shipped lsn
+    public synchronized long getLsn() {
+        return lsn;
+    }
+
+    @Override
+    public synchronized void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(SHIP_WINDOW);
+    }
+
+    // called by the stream: only hands the change over to the shipper, the next one is requested once it's sent
+    @Override
+    public void onNext(MatchChange change) {
+        execute(() -> {
+            ship(change);
+            requestNext();
+        });
+    }
+
+    // the stream has lost changes: subscribe again and send the whole board to everybody
+    @Override
+    public void onError(Throwable throwable) {
+        execute(() -> resync(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        // board change stream never completes
+    }
+
+    // replicas are detached and closed, they keep serving the last applied state
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        shipper.shutdown();
+        links.forEach(ReplicaLink::close);
+        links.clear();
+    }
+
+    // shipper is shut down by close(): changes coming after it are not sent anyway
+    private void execute(Runnable task) {
+        try {
+            shipper.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Replication is closed, change is not shipped");
+        }
+    }
+
+    private synchronized void ship(MatchChange change) {
+        if (closed) {
+            return;
+        }
+        var record = switch (change.type()) {
+            case STARTED -> ReplicationRecord.of(ReplicationRecord.Type.START, ++lsn, change.after());
+            case SCORE_CHANGED -> ReplicationRecord.of(ReplicationRecord.Type.UPDATE, ++lsn, change.after());
+            case FINISHED -> ReplicationRecord.of(ReplicationRecord.Type.REMOVE, ++lsn, change.before());
+        };
+        links.removeIf(link -> !send(link, record));
+    }
+
+    private synchronized void requestNext() {
+        if (!closed) {
+            subscription.request(1);
+        }
+    }
+
+    private synchronized void resync(Throwable throwable) {
+        if (closed) {
+            return;
+        }
+        log.warn("Replication stream is broken, resyncing {} replicas", links.size(), throwable);
+        scoreboard.getChangePublisher().subscribe(this);
+        links.removeIf(link -> !sendBoard(link));
+    }
+
+    // guarded by 'this'
+    private boolean sendBoard(ReplicaLink link) {
+        // oldest match goes first: replica starts them in the same order
+        var matches = scoreboard.getSummary().stream()
+                .sorted(Comparator.comparing(CurrentMatch::getStartSequence))
+                .toList();
+        if (!send(link, ReplicationRecord.marker(ReplicationRecord.Type.RESET, ++lsn))) {
+            return false;
+        }
+        for (var match : matches) {
+            if (!send(link, ReplicationRecord.of(ReplicationRecord.Type.START, ++lsn, match))) {
+                return false;
+            }
+        }
+        return send(link, ReplicationRecord.marker(ReplicationRecord.Type.SYNCED, ++lsn));
+    }
+
+    private static boolean send(ReplicaLink link, ReplicationRecord record) {
+        try {
+            link.send(record);
+            return true;
+        } catch (UncheckedIOException e) {
+            log.warn("Replica is gone, detaching it", e);
+            link.close();
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package sportradar.demo.football.replication;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Single entry of the replication log, lsn grows in the same order changes were committed on the primary.
+ * <p>
+ * RESET ... SYNCED frame the full board sent to a replica when it attaches (or has to resync):
+ * START records inside carry the current scores of already running matches.
+ * startSequence and version are the primary's ones: replica uses them to drop duplicates and stale records
+ * which the snapshot has already covered.
+ */
+public record ReplicationRecord(Type type, long lsn, long commitMillis, String homeTeam, String awayTeam,
+                                int homeScore, int awayScore, int startSequence, int version) {
+
+    public enum Type {
+        RESET,
+        START,
+        UPDATE,
+        REMOVE,
+        SYNCED
+    }
+
+    static ReplicationRecord marker(Type type, long lsn) {
+        return new ReplicationRecord(type, lsn, System.currentTimeMillis(), "", "", 0, 0, 0, 0);
+    }
+
+    static ReplicationRecord of(Type type, long lsn, CurrentMatch match) {
+        return new ReplicationRecord(type, lsn, System.currentTimeMillis(), match.getHomeTeam(), match.getAwayTeam(),
+                match.getHomeScore(), match.getAwayScore(), match.getStartSequence(), match.getVersion());
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(type.ordinal());
+        out.writeLong(lsn);
+        out.writeLong(commitMillis);
+        out.writeUTF(homeTeam);
+        out.writeUTF(awayTeam);
+        out.writeInt(homeScore);
+        out.writeInt(awayScore);
+        out.writeInt(startSequence);
+        out.writeInt(version);
+    }
+
+    public static ReplicationRecord readFrom(DataInput in) throws IOException {
+        var type = Type.values()[in.readUnsignedByte()];
+        return new ReplicationRecord(type, in.readLong(), in.readLong(), in.readUTF(), in.readUTF(),
+                in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+
+}
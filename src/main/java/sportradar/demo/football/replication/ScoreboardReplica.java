@@ -0,0 +1,253 @@
+package sportradar.demo.football.replication;
+
+import lombok.extern.slf4j.Slf4j;
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.validator.MatchValidator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read replica: applies the primary's log to its own board on a single applier thread and serves reads locally.
+ * It's also the in-process ReplicaLink: the primary could attach it directly.
+ * <p>
+ * Log is applied by the same rules as journal replay, plus primary's startSequence/version checks,
+ * so duplicates around the board snapshot are harmless:
+ * <ul>
+ *     <li>START of a team which plays in an older match finishes that match (it's finished on the primary already),
+ *     START older than the match the team plays in is dropped</li>
+ *     <li>UPDATE and REMOVE are applied only to the same match (startSequence) and only if they are newer (version)</li>
+ * </ul>
+ * Board sent after RESET is built aside and replaces the served one on SYNCED: readers never see it half-built.
+ */
+@Slf4j
+public class ScoreboardReplica implements ReplicaLink {
+
+    public static final int DEFAULT_INBOX_SIZE = 8192;
+
+    // what the replica knows about the primary's match
+    private record Applied(int startSequence, int version, String homeTeam, String awayTeam) {
+    }
+
+    private final ScoreboardEngine engine;
+    private final MatchValidator matchValidator;
+    private final BlockingQueue<ReplicationRecord> inbox;
+    private final Thread applier;
+
+    private volatile FootballScoreboard board;
+    private volatile long appliedLsn;
+    private volatile long receivedLsn;
+    private volatile boolean synced;
+    private volatile boolean closed;
+
+    // applier thread only: the board being applied to and its matches by team
+    private FootballScoreboard target;
+    private Map<String, Applied> teams = new HashMap<>();
+
+    public ScoreboardReplica(ScoreboardEngine engine, MatchValidator matchValidator) {
+        this(engine, matchValidator, DEFAULT_INBOX_SIZE);
+    }
+
+    public ScoreboardReplica(ScoreboardEngine engine, MatchValidator matchValidator, int inboxSize) {
+        this.engine = engine;
+        this.matchValidator = matchValidator;
+        this.inbox = new LinkedBlockingQueue<>(inboxSize);
+        this.board = engine.create(matchValidator);
+        this.target = board;
+        this.applier = new Thread(this::applyLoop, "scoreboard-replica");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    // blocks while the inbox is full: the primary's stream slows down or overflows and resyncs the replica.
+    // Closed replica is gone for the primary: it detaches it instead of waiting for the inbox forever.
+    @Override
+    public void send(ReplicationRecord record) {
+        try {
+            while (!inbox.offer(record, 50, TimeUnit.MILLISECONDS)) {
+                requireOpen();
+            }
+            requireOpen();
+            receivedLsn = record.lsn();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending to replica", e);
+        }
+    }
+
+    public List<CurrentMatch> getSummary() {
+        return board.getSummary();
+    }
+
+    public List<CurrentMatch> getTopMatches(int n) {
+        return board.getTopMatches(n);
+    }
+
+    // replica has got the whole board at least once
+    public boolean isSynced() {
+        return synced;
+    }
+
+    public long getAppliedLsn() {
+        return appliedLsn;
+    }
+
+    // records received but not applied yet
+    public long getLagRecords() {
+        return receivedLsn - appliedLsn;
+    }
+
+    /**
+     * How old the oldest received but not applied record is, zero when the replica has applied everything it got.
+     * Records still on their way in the transport are not seen here.
+     */
+    public Duration getReplicationLag() {
+        var oldest = inbox.peek();
+        return oldest == null ? Duration.ZERO
+                : Duration.ofMillis(Math.max(0L, System.currentTimeMillis() - oldest.commitMillis()));
+    }
+
+    // Stops applying and receiving, the replica keeps serving what it has.
+    // Boards are closed once the applier is gone (RING_BUFFER writer thread), closed RING_BUFFER still serves reads.
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        applier.interrupt();
+        // nobody takes it anymore: free the sender who could wait for space
+        inbox.clear();
+        var interrupted = false;
+        while (true) {
+            try {
+                applier.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        closeBoard(target);
+        if (board != target) {
+            closeBoard(board);
+        }
+    }
+
+    private static void closeBoard(FootballScoreboard board) {
+        if (board instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close replica board", e);
+            }
+        }
+    }
+
+    private void requireOpen() {
+        if (closed) {
+            throw new UncheckedIOException(new IOException("Replica is closed"));
+        }
+    }
+
+    private void applyLoop() {
+        try {
+            while (true) {
+                var record = inbox.take();
+                try {
+                    apply(record);
+                } catch (RuntimeException e) {
+                    // should never happen: the primary has validated it already
+                    log.error("Could not apply replication record {}", record, e);
+                }
+                appliedLsn = record.lsn();
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    private void apply(ReplicationRecord record) {
+        switch (record.type()) {
+            case RESET -> {
+                // half-built board of the previous resync is not served by anybody
+                if (target != board) {
+                    closeBoard(target);
+                }
+                target = engine.create(matchValidator);
+                teams = new HashMap<>();
+            }
+            case SYNCED -> {
+                var replaced = board;
+                board = target;
+                synced = true;
+                // readers could still hold it: closed RING_BUFFER keeps serving its last summary
+                if (replaced != target) {
+                    closeBoard(replaced);
+                }
+            }
+            case START -> start(record);
+            case UPDATE -> {
+                var match = teams.get(record.homeTeam());
+                if (isSameMatch(match, record) && record.version() > match.version()) {
+                    target.updateMatchScore(record.homeTeam(), record.awayTeam(), record.homeScore(), record.awayScore());
+                    put(new Applied(record.startSequence(), record.version(), record.homeTeam(), record.awayTeam()));
+                }
+            }
+            case REMOVE -> {
+                var match = teams.get(record.homeTeam());
+                if (isSameMatch(match, record)) {
+                    finish(match);
+                }
+            }
+        }
+    }
+
+    private void start(ReplicationRecord record) {
+        var home = teams.get(record.homeTeam());
+        var away = teams.get(record.awayTeam());
+        if (home != null && home.startSequence() >= record.startSequence()
+                || away != null && away.startSequence() >= record.startSequence()) {
+            return;
+        }
+        if (home != null) {
+            finish(home);
+        }
+        if (away != null && away != home) {
+            finish(away);
+        }
+        target.startNewMatch(record.homeTeam(), record.awayTeam());
+        if (record.homeScore() != 0 || record.awayScore() != 0) {
+            target.updateMatchScore(record.homeTeam(), record.awayTeam(), record.homeScore(), record.awayScore());
+        }
+        put(new Applied(record.startSequence(), record.version(), record.homeTeam(), record.awayTeam()));
+    }
+
+    private void finish(Applied match) {
+        target.removeMatch(match.homeTeam(), match.awayTeam());
+        teams.remove(match.homeTeam());
+        teams.remove(match.awayTeam());
+    }
+
+    private void put(Applied match) {
+        teams.put(match.homeTeam(), match);
+        teams.put(match.awayTeam(), match);
+    }
+
+    private static boolean isSameMatch(Applied match, ReplicationRecord record) {
+        return match != null && match.startSequence() == record.startSequence()
+                && match.awayTeam().equals(record.awayTeam());
+    }
+
+}
@@ -0,0 +1,41 @@
+package sportradar.demo.football.replication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+
+/**
+ * Primary's end of the socket connection to a remote replica, see SocketReplicationServer
+ */
+public class SocketReplicaLink implements ReplicaLink {
+
+    private final Socket socket;
+    private final DataOutputStream out;
+
+    public SocketReplicaLink(Socket socket) throws IOException {
+        this.socket = socket;
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    @Override
+    public void send(ReplicationRecord record) {
+        try {
+            record.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // closing anyway
+        }
+    }
+
+}
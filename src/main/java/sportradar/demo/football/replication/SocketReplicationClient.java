@@ -0,0 +1,48 @@
+package sportradar.demo.football.replication;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+
+/**
+ * Replica's end of the socket connection: reads records from the primary and hands them to the replica
+ */
+@Slf4j
+public class SocketReplicationClient implements AutoCloseable {
+
+    private final Socket socket;
+
+    public SocketReplicationClient(String host, int port, ScoreboardReplica replica) throws IOException {
+        this.socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        var in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        var reader = new Thread(() -> readLoop(in, replica), "replication-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readLoop(DataInputStream in, ScoreboardReplica replica) {
+        try {
+            while (true) {
+                replica.send(ReplicationRecord.readFrom(in));
+            }
+        } catch (EOFException e) {
+            log.info("Primary has closed replication connection");
+        } catch (IOException e) {
+            if (!socket.isClosed()) {
+                log.warn("Replication connection is broken", e);
+            }
+        }
+    }
+
+    // replica keeps serving the last applied state
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+}
@@ -0,0 +1,55 @@
+package sportradar.demo.football.replication;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketException;
+
+/**
+ * Accepts replica connections and attaches each of them to the primary.
+ * Binds to the loopback by default: it's the stand-in for a real transport in tests and demos.
+ */
+@Slf4j
+public class SocketReplicationServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+
+    // port 0: any free one, see getPort()
+    public SocketReplicationServer(ReplicationPrimary primary, int port) throws IOException {
+        this(primary, new ServerSocket(port, 50, InetAddress.getLoopbackAddress()));
+    }
+
+    public SocketReplicationServer(ReplicationPrimary primary, ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        var acceptor = new Thread(() -> acceptLoop(primary), "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop(ReplicationPrimary primary) {
+        while (!serverSocket.isClosed()) {
+            try {
+                var socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                primary.attach(new SocketReplicaLink(socket));
+            } catch (SocketException e) {
+                // server socket is closed
+                return;
+            } catch (IOException e) {
+                log.warn("Could not accept replica connection", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+}
@@ -0,0 +1,177 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.dto.BoardDelta;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The last 'capacity' committed changes, each with its own version, for delta queries.
+ * <p>
+ * Versions are assigned the same way SummarySnapshotPublisher rebuilds the snapshot: writers queue changes
+ * in commit order, one of them at a time moves the queue into the ring. So writers never wait for each other,
+ * readers catch up with the queue instead (the same way VersionedSummaryStore readers do): the latest version
+ * and the delta include every change recorded before the call.
+ * <p>
+ * These versions are the board version of FootballScoreboardImpl: in SNAPSHOT and MVCC modes the log is fed
+ * by the snapshot publisher and the versioned store as they apply changes, so their versions are the log's ones.
+ * <p>
+ * Versions start from a random epoch of each log instead of zero: version of another board (previous process run,
+ * the primary of a replica, the board the registry has just replaced) falls outside of this log's range,
+ * so such client is asked to resync instead of getting a wrong delta. Boards created at the same moment
+ * do not share the range, the wall clock could not promise that.
+ */
+public class MatchChangeLog {
+
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final long MIN_EPOCH = 1L << 32;
+    private static final long MAX_EPOCH = 1L << 62;
+
+    private final ConcurrentLinkedQueue<MatchChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean appending = new AtomicBoolean();
+
+    // counted before the change is queued, so every change queued earlier is counted already
+    private final AtomicLong recordedChanges = new AtomicLong();
+    private volatile long appendedChanges;
+
+    // change of version v is at v % capacity, written by the appending writer only.
+    // Volatile slots: horizon is moved BEFORE the slot is overwritten and reader checks it AFTER reading slots,
+    // plain array accesses could be reordered around it and the overwritten slot would pass the check.
+    private final AtomicReferenceArray<MatchChange> ring;
+
+    // written after the slot, so reader who has read it sees every slot up to it
+    private volatile long latestVersion;
+    // the oldest version the log could give a delta from
+    private volatile long horizon;
+
+    public MatchChangeLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public MatchChangeLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Change log capacity has to be positive: " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+        // ranges of two logs overlap only if their epochs are closer than the number of changes, 2^62 is left above
+        this.latestVersion = ThreadLocalRandom.current().nextLong(MIN_EPOCH, MAX_EPOCH);
+        this.horizon = latestVersion;
+    }
+
+    public void record(MatchChange change) {
+        recordedChanges.incrementAndGet();
+        pendingChanges.add(change);
+    }
+
+    public void publish() {
+        // the same re-check as SummarySnapshotPublisher.publish() has
+        while (!pendingChanges.isEmpty() && appending.compareAndSet(false, true)) {
+            try {
+                // single writer of the counter while 'appending' is held
+                var appended = appendedChanges;
+                MatchChange change;
+                while ((change = pendingChanges.poll()) != null) {
+                    var version = latestVersion + 1;
+                    // the slot of the oldest version is reused: delta from it is not possible anymore,
+                    // readers have to know it before the slot changes
+                    if (version - horizon > ring.length()) {
+                        horizon = version - ring.length();
+                    }
+                    ring.set((int) (version % ring.length()), change);
+                    latestVersion = version;
+                    appendedChanges = ++appended;
+                }
+            } finally {
+                appending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Version of the latest change recorded before the call
+     */
+    public long getLatestVersion() {
+        catchUp();
+        return latestVersion;
+    }
+
+    public BoardDelta getChangesSince(long version) {
+        catchUp();
+        var latest = latestVersion;
+        if (version < horizon || version > latest) {
+            return BoardDelta.resync(version, latest);
+        }
+        // by startSequence: the latest state of each match and whether it was started in between
+        var started = new LinkedHashMap<Integer, CurrentMatch>();
+        var rescored = new LinkedHashMap<Integer, CurrentMatch>();
+        var removed = new LinkedHashMap<Integer, CurrentMatch>();
+        for (var v = version + 1; v <= latest; v++) {
+            var change = ring.get((int) (v % ring.length()));
+            switch (change.type()) {
+                case STARTED -> started.put(change.after().getStartSequence(), change.after());
+                case SCORE_CHANGED -> {
+                    var sequence = change.after().getStartSequence();
+                    if (started.containsKey(sequence)) {
+                        started.put(sequence, change.after());
+                    } else {
+                        rescored.put(sequence, change.after());
+                    }
+                }
+                case FINISHED -> {
+                    var sequence = change.before().getStartSequence();
+                    rescored.remove(sequence);
+                    // client has never seen it
+                    if (started.remove(sequence) == null) {
+                        removed.put(sequence, change.before());
+                    }
+                }
+            }
+        }
+        // appender could reuse the slots we have just read: it moves the horizon first
+        if (version < horizon) {
+            return BoardDelta.resync(version, latestVersion);
+        }
+        return new BoardDelta(version, latest, false, new ArrayList<>(started.values()),
+                new ArrayList<>(rescored.values()), new ArrayList<>(removed.values()));
+    }
+
+    // test purposes only: every client has to resync
+    public void clear() {
+        while (!appending.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            // dropped changes count as appended, nobody has to wait for them
+            var appended = appendedChanges;
+            while (pendingChanges.poll() != null) {
+                appended++;
+            }
+            appendedChanges = appended;
+            horizon = latestVersion + 1;
+            latestVersion = horizon;
+        } finally {
+            appending.set(false);
+        }
+    }
+
+    // Writer could leave its change to the one who is appending and return before it's in the ring:
+    // reader waits for the changes recorded before it or appends them itself
+    private void catchUp() {
+        var recorded = recordedChanges.get();
+        while (appendedChanges < recorded) {
+            publish();
+            if (appendedChanges < recorded) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+}
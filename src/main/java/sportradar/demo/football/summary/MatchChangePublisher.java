@@ -0,0 +1,222 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.dto.MatchChange;
+import sportradar.demo.football.ex.SubscriberOverflowException;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stream of committed board changes for push services, so they don't need to poll and diff the summary.
+ * <p>
+ * Changes have to be published in commit order (see MatchRef.publish), every subscriber gets them in that order.
+ * Writer only puts the change into per-subscriber buffer, subscribers are called on the executor.
+ * <p>
+ * Each subscriber has a bounded buffer. While the subscriber is behind, the score change of a match
+ * which is still waiting in the buffer is replaced by the latest absolute score instead of queueing one more:
+ * 'before' of the first change and 'after' of the latest one. Starts and finishes are never coalesced.
+ * If the buffer is full anyway, the subscriber gets SubscriberOverflowException and has to resync from getSummary().
+ */
+public class MatchChangePublisher implements Flow.Publisher<MatchChange> {
+
+    public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+    private final Executor executor;
+    private final int bufferSize;
+
+    private final CopyOnWriteArrayList<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    public MatchChangePublisher() {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_SIZE);
+    }
+
+    public MatchChangePublisher(Executor executor, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size has to be positive: " + bufferSize);
+        }
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super MatchChange> subscriber) {
+        Objects.requireNonNull(subscriber);
+        var subscription = new ChangeSubscription(subscriber);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+    }
+
+    // Writers check it first: nobody listens most of the time and then publishing costs nothing
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(MatchChange change) {
+        for (var subscription : subscriptions) {
+            subscription.offer(change);
+        }
+    }
+
+    private record MatchKey(String homeTeam, String awayTeam) {
+        static MatchKey of(MatchChange change) {
+            var match = change.after() != null ? change.after() : change.before();
+            return new MatchKey(match.getHomeTeam(), match.getAwayTeam());
+        }
+    }
+
+    // Buffer entry, score change inside could be replaced while it's waiting
+    private static final class Pending {
+        private MatchChange change;
+
+        private Pending(MatchChange change) {
+            this.change = change;
+        }
+    }
+
+    private final class ChangeSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super MatchChange> subscriber;
+
+        // guarded by this
+        private final ArrayDeque<Pending> buffer = new ArrayDeque<>();
+        // score changes which are still in the buffer, by match
+        private final HashMap<MatchKey, Pending> pendingScores = new HashMap<>();
+        // written under this, read by the drain without it
+        private volatile boolean overflowed;
+        // error to be signalled by the drain: signals to the subscriber are never concurrent
+        private volatile Throwable failure;
+
+        private final AtomicLong requested = new AtomicLong();
+        // drain is scheduled when it goes from zero, the other signals are picked up by the running drain
+        private final AtomicInteger signals = new AtomicInteger();
+        private volatile boolean cancelled;
+
+        private ChangeSubscription(Flow.Subscriber<? super MatchChange> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void offer(MatchChange change) {
+            if (buffer(change)) {
+                schedule();
+            }
+        }
+
+        // returns true when the drain has to be signalled: new entry is buffered or the buffer has overflowed
+        private synchronized boolean buffer(MatchChange change) {
+            if (cancelled || overflowed || failure != null) {
+                return false;
+            }
+            var key = MatchKey.of(change);
+            if (change.type() == MatchChange.Type.SCORE_CHANGED) {
+                var pending = pendingScores.get(key);
+                if (pending != null) {
+                    // still not delivered: the drain will take the latest score
+                    pending.change = MatchChange.scoreChanged(pending.change.before(), change.after());
+                    return false;
+                }
+            } else {
+                // next score change must not be merged over the start or finish
+                pendingScores.remove(key);
+            }
+            if (buffer.size() == bufferSize) {
+                overflowed = true;
+                buffer.clear();
+                pendingScores.clear();
+                return true;
+            }
+            var pending = new Pending(change);
+            buffer.addLast(pending);
+            if (change.type() == MatchChange.Type.SCORE_CHANGED) {
+                pendingScores.put(key, pending);
+            }
+            return true;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Reactive Streams rule 3.9, signalled by the drain: it could be inside onNext right now
+                failure = new IllegalArgumentException("Requested number of changes has to be positive: " + n);
+                schedule();
+                return;
+            }
+            requested.accumulateAndGet(n, (current, added) -> {
+                var sum = current + added;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            synchronized (this) {
+                buffer.clear();
+                pendingScores.clear();
+            }
+        }
+
+        private void schedule() {
+            if (signals.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            var missed = 1;
+            do {
+                drain();
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!cancelled) {
+                MatchChange next;
+                if (failure != null) {
+                    cancel();
+                    subscriber.onError(failure);
+                    return;
+                }
+                if (overflowed) {
+                    cancel();
+                    subscriber.onError(new SubscriberOverflowException(
+                            "Subscriber is behind more than " + bufferSize + " changes, resync from the summary!"
+                    ));
+                    return;
+                }
+                synchronized (this) {
+                    if (requested.get() == 0 || buffer.isEmpty()) {
+                        return;
+                    }
+                    var pending = buffer.pollFirst();
+                    next = pending.change;
+                    if (next.type() == MatchChange.Type.SCORE_CHANGED) {
+                        pendingScores.remove(MatchKey.of(next), pending);
+                    }
+                }
+                if (requested.get() != Long.MAX_VALUE) {
+                    requested.decrementAndGet();
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (RuntimeException ex) {
+                    // Reactive Streams rule 2.13: broken subscriber is cancelled, the drain must go on for others
+                    cancel();
+                    subscriber.onError(ex);
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+package sportradar.demo.football.summary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Encoded summary of the board as of boardVersion. Immutable and shared by every caller: bytes are never exposed,
+ * only copied out (writeTo) or wrapped read-only (asByteBuffer).
+ */
+public final class RenderedSummary {
+
+    private final long boardVersion;
+    private final SummaryRenderCache.Format format;
+    private final byte[] bytes;
+
+    RenderedSummary(long boardVersion, SummaryRenderCache.Format format, byte[] bytes) {
+        this.boardVersion = boardVersion;
+        this.format = format;
+        this.bytes = bytes;
+    }
+
+    public long getBoardVersion() {
+        return boardVersion;
+    }
+
+    public SummaryRenderCache.Format getFormat() {
+        return format;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(bytes);
+    }
+
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+}
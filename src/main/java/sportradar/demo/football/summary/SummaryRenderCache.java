@@ -0,0 +1,144 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.codec.BoardEncoder;
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Summary already encoded for the wire, so thousands of identical polls don't build the same JSON again and again.
+ * <p>
+ * Rendered bytes are tagged with the board version read BEFORE the summary: the summary is at least that new.
+ * Poll compares the tag with the current board version (single volatile read) and returns the cached bytes
+ * if nothing has changed. Only the first poll after a change encodes, concurrent ones wait for it
+ * instead of encoding the same board once more.
+ * <p>
+ * Formats:
+ * <ul>
+ *     <li>JSON: {"version":V,"matches":[{"homeTeam":"..","awayTeam":"..","homeScore":H,"awayScore":A},..]}</li>
+ *     <li>BINARY: summary message of BoardCodec (team names are sent once, read it with BoardDecoder)</li>
+ * </ul>
+ */
+public class SummaryRenderCache {
+
+    public enum Format {
+        JSON,
+        BINARY
+    }
+
+    private final FootballScoreboard scoreboard;
+
+    // by Format.ordinal()
+    private final RenderedSummary[] rendered = new RenderedSummary[Format.values().length];
+
+    // guarded by 'this'
+    private final BoardEncoder encoder = new BoardEncoder();
+    private ByteBuffer encodeBuffer = ByteBuffer.allocate(4096);
+
+    public SummaryRenderCache(FootballScoreboard scoreboard) {
+        this.scoreboard = scoreboard;
+    }
+
+    public long getBoardVersion() {
+        return scoreboard.getBoardVersion();
+    }
+
+    // "304 Not Modified" check, nothing is read but the version
+    public boolean isUnchangedSince(long boardVersion) {
+        return scoreboard.getBoardVersion() == boardVersion;
+    }
+
+    /**
+     * Summary encoded in the format, re-encoded only if the board has changed since the last render
+     */
+    public RenderedSummary render(Format format) {
+        var current = scoreboard.getBoardVersion();
+        // plain read could be stale: then we just take the lock and see the latest one.
+        // RenderedSummary is immutable (final fields), so it's never seen half-built
+        var cached = rendered[format.ordinal()];
+        if (cached != null && cached.getBoardVersion() == current) {
+            return cached;
+        }
+        synchronized (this) {
+            // somebody could render it while we were waiting
+            current = scoreboard.getBoardVersion();
+            cached = rendered[format.ordinal()];
+            if (cached != null && cached.getBoardVersion() == current) {
+                return cached;
+            }
+            var summary = scoreboard.getSummary();
+            var bytes = format == Format.JSON ? encodeJson(current, summary) : encodeBinary(current, summary);
+            var fresh = new RenderedSummary(current, format, bytes);
+            rendered[format.ordinal()] = fresh;
+            return fresh;
+        }
+    }
+
+    /**
+     * Empty if the client already has the board of that version, rendered summary otherwise
+     */
+    public Optional<RenderedSummary> renderIfChangedSince(Format format, long boardVersion) {
+        return isUnchangedSince(boardVersion) ? Optional.empty() : Optional.of(render(format));
+    }
+
+    private static byte[] encodeJson(long boardVersion, List<CurrentMatch> summary) {
+        var json = new StringBuilder(32 + summary.size() * 80);
+        json.append("{\"version\":").append(boardVersion).append(",\"matches\":[");
+        for (var i = 0; i < summary.size(); i++) {
+            var match = summary.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"homeTeam\":");
+            appendString(json, match.getHomeTeam());
+            json.append(",\"awayTeam\":");
+            appendString(json, match.getAwayTeam());
+            json.append(",\"homeScore\":").append(match.getHomeScore())
+                    .append(",\"awayScore\":").append(match.getAwayScore()).append('}');
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // team names are validated for length only: quotes, backslashes and control chars have to be escaped
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (var i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    // guarded by 'this': the buffer is reused and grows until the board fits
+    private byte[] encodeBinary(long boardVersion, List<CurrentMatch> summary) {
+        while (true) {
+            try {
+                var length = encoder.encodeSummary(boardVersion, summary, encodeBuffer, 0);
+                return Arrays.copyOf(encodeBuffer.array(), length);
+            } catch (BufferOverflowException e) {
+                encodeBuffer = ByteBuffer.allocate(encodeBuffer.capacity() * 2);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Copy-on-write summary: writers record committed changes and publish a new immutable sorted snapshot,
+ * readers get it through the single volatile reference.
+ * <p>
+ * Changes have to be recorded in commit order (see MatchRef.publish),
+ * that's the only requirement to get consistent snapshots: each snapshot is the result of applying
+ * some prefix of committed changes, so "Papas" could never appear in two matches at the same time.
+ * <p>
+ * Rebuilds are coalesced: only one writer at a time is rebuilding the snapshot,
+ * all the others just leave their changes in the queue and go away.
+ * The rebuilding one will pick up everything queued before it publishes.
+ * <p>
+ * Applied changes are passed on to the change log in the same order, and the snapshot is tagged with the log version
+ * it is built up to: delta since that version is exactly what the snapshot misses.
+ */
+public class SummarySnapshotPublisher {
+
+    private final ConcurrentLinkedQueue<MatchChange> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    // Sorted copy of the board, owned by the writer who is rebuilding at the moment.
+    // Visibility between different rebuilding threads is guaranteed by 'rebuilding' flag CAS.
+    private final TreeMap<CurrentMatch, CurrentMatch> board = new TreeMap<>();
+
+    private final MatchChangeLog changeLog;
+
+    // summary and its version are published together
+    private volatile Snapshot snapshot;
+
+    private record Snapshot(List<CurrentMatch> summary, long version) {
+    }
+
+    public SummarySnapshotPublisher(MatchChangeLog changeLog) {
+        this.changeLog = changeLog;
+        this.snapshot = new Snapshot(List.of(), changeLog.getLatestVersion());
+    }
+
+    public void record(MatchChange change) {
+        pendingChanges.add(change);
+    }
+
+    public void publish() {
+        // Re-check queue after releasing the flag:
+        // other writer could fail CAS right before we released it and its change would be lost otherwise
+        while (!pendingChanges.isEmpty() && rebuilding.compareAndSet(false, true)) {
+            try {
+                MatchChange change;
+                while ((change = pendingChanges.poll()) != null) {
+                    apply(change);
+                    changeLog.record(change);
+                }
+                changeLog.publish();
+                snapshot = new Snapshot(List.copyOf(board.values()), changeLog.getLatestVersion());
+            } finally {
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    public List<CurrentMatch> getSnapshot() {
+        return snapshot.summary();
+    }
+
+    /**
+     * Change log version the snapshot is built up to: whoever has read it gets at least that snapshot afterwards
+     */
+    public long getVersion() {
+        return snapshot.version();
+    }
+
+    public void clear() {
+        while (!rebuilding.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            pendingChanges.clear();
+            board.clear();
+            // empty board is the next version: clients of the old one have to resync
+            changeLog.clear();
+            snapshot = new Snapshot(List.of(), changeLog.getLatestVersion());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void apply(MatchChange change) {
+        if (change.before() != null) {
+            board.remove(change.before());
+        }
+        if (change.after() != null) {
+            board.put(change.after(), change.after());
+        }
+    }
+
+}
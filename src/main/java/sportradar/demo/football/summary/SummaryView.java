@@ -0,0 +1,48 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.IsolationLevel;
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Read-only session over the board, see IsolationLevel for what its reads could see.
+ * Pinned version is kept from reclaiming until the view is closed: don't keep it open for too long.
+ */
+public class SummaryView implements AutoCloseable {
+
+    // version every read sees, NOT_PINNED when each read takes its own
+    public static final long NOT_PINNED = -1L;
+
+    private final IsolationLevel isolationLevel;
+    private final long version;
+    private final Supplier<List<CurrentMatch>> reader;
+    private final Runnable release;
+
+    public SummaryView(IsolationLevel isolationLevel, long version,
+                       Supplier<List<CurrentMatch>> reader, Runnable release) {
+        this.isolationLevel = isolationLevel;
+        this.version = version;
+        this.reader = reader;
+        this.release = release;
+    }
+
+    public IsolationLevel getIsolationLevel() {
+        return isolationLevel;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CurrentMatch> getSummary() {
+        return reader.get();
+    }
+
+    @Override
+    public void close() {
+        release.run();
+    }
+
+}
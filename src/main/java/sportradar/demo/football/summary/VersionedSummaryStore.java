@@ -0,0 +1,291 @@
+package sportradar.demo.football.summary;
+
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+import sportradar.demo.football.ex.SnapshotTooOldException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-version board: every committed change gets the next global version,
+ * each match keeps the chain of its values from the newest to the oldest.
+ * Summary as of version V is the newest value not above V of every chain, so readers never lock anything
+ * and never block writers.
+ * <p>
+ * Versions are assigned the same way SummarySnapshotPublisher rebuilds the snapshot: writers queue their changes
+ * in commit order and only one of them at a time applies the queue, the others leave their changes to it and go.
+ * So versions are gap-free, every version below the latest one is completely applied, and the summary of any version
+ * is a prefix of committed changes: no "Papas" in two matches.
+ * Unlike the snapshot, a read started after the write always sees it (linearizable, checked by the stress harness
+ * in tests): reader of the latest version first makes sure every change recorded before it is applied,
+ * applying them itself if nobody does.
+ * <p>
+ * Applied changes are passed on to the change log in the same order, so versions are the change log's ones:
+ * delta since the version a reader has got is exactly what was committed after it.
+ * <p>
+ * Summary of a version is built once (scan of the chains and sort, O(n log n)) and shared by every reader
+ * of the same version until the next change, so repeated reads of an unchanged board are O(1).
+ * <p>
+ * Old values are reclaimed epoch-style: readers pin the version they read, reclaimer cuts each chain
+ * below the oldest pinned version (or the latest one if nobody reads). Reading older version fails then.
+ */
+public class VersionedSummaryStore {
+
+    // chains are scanned for reclaiming once per that many versions
+    private static final int RECLAIM_INTERVAL = 1024;
+
+    private static final class Version {
+        private final long version;
+        // null: match was finished at this version
+        private final CurrentMatch match;
+        // cut by reclaimer only below every pinned version, readers never go that far
+        private volatile Version older;
+
+        private Version(long version, CurrentMatch match, Version older) {
+            this.version = version;
+            this.match = match;
+            this.older = older;
+        }
+    }
+
+    private static final class Chain {
+        private volatile Version newest;
+    }
+
+    private record Materialized(long version, List<CurrentMatch> summary) {
+    }
+
+    private final MatchChangeLog changeLog;
+
+    private final ConcurrentLinkedQueue<MatchChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean applying = new AtomicBoolean();
+
+    // counted before the change is queued, so every change queued earlier is counted already
+    private final AtomicLong recordedChanges = new AtomicLong();
+    private volatile long appliedChanges;
+
+    // by startSequence: it's unique for every match ever started, so chains are never reused
+    private final ConcurrentHashMap<Integer, Chain> chains = new ConcurrentHashMap<>();
+
+    private volatile long latestVersion;
+    private long lastReclaimVersion;
+
+    // versions below it could be reclaimed already
+    private volatile long horizon;
+    // pinned version -> number of readers
+    private final ConcurrentSkipListMap<Long, Integer> pins = new ConcurrentSkipListMap<>();
+
+    // the newest summary built by readers, valid for its version only
+    private volatile Materialized materialized;
+
+    public VersionedSummaryStore(MatchChangeLog changeLog) {
+        this.changeLog = changeLog;
+        this.latestVersion = changeLog.getLatestVersion();
+        this.lastReclaimVersion = latestVersion;
+        this.horizon = latestVersion;
+    }
+
+    public void record(MatchChange change) {
+        recordedChanges.incrementAndGet();
+        pendingChanges.add(change);
+    }
+
+    /**
+     * Applies queued changes unless somebody else is applying them already: then they are left to him
+     * and the call returns at once. Readers catch up with them, see catchUp().
+     */
+    public void publish() {
+        // Re-check queue after releasing the flag:
+        // other writer could fail CAS right before we released it and its change would be stuck otherwise
+        while (!pendingChanges.isEmpty() && applying.compareAndSet(false, true)) {
+            try {
+                // single writer of the counter while 'applying' is held
+                var applied = appliedChanges;
+                var version = latestVersion;
+                MatchChange change;
+                while ((change = pendingChanges.poll()) != null) {
+                    apply(change, ++version);
+                    changeLog.record(change);
+                    applied++;
+                }
+                // the log goes first: delta since the version a reader could get is never a resync
+                changeLog.publish();
+                // reader could pin them only now, when the changes are already in their chains
+                latestVersion = version;
+                appliedChanges = applied;
+                if (latestVersion - lastReclaimVersion >= RECLAIM_INTERVAL) {
+                    lastReclaimVersion = latestVersion;
+                    reclaim();
+                }
+            } finally {
+                applying.set(false);
+            }
+        }
+    }
+
+    /**
+     * Version of the latest change recorded before the call
+     */
+    public long getLatestVersion() {
+        catchUp();
+        return latestVersion;
+    }
+
+    /**
+     * Pins the latest version (including every change recorded before the call): it's kept readable until unpin()
+     */
+    public long pin() {
+        catchUp();
+        while (true) {
+            var version = latestVersion;
+            if (tryPin(version)) {
+                return version;
+            }
+        }
+    }
+
+    public void pin(long version) {
+        if (version > latestVersion) {
+            throw new IllegalArgumentException("Version " + version + " is not committed yet, the latest one is " + latestVersion);
+        }
+        if (!tryPin(version)) {
+            throw new SnapshotTooOldException("Version " + version + " is reclaimed already, the oldest one is " + horizon);
+        }
+    }
+
+    public void unpin(long version) {
+        pins.computeIfPresent(version, (pinned, readers) -> readers == 1 ? null : readers - 1);
+    }
+
+    /**
+     * Summary as of the version, which has to be pinned by the caller
+     */
+    public List<CurrentMatch> getSummary(long version) {
+        var cached = materialized;
+        if (cached != null && cached.version() == version) {
+            return cached.summary();
+        }
+        var summary = build(version);
+        // racing readers could put an older one: it's only a cache miss for the newer version later
+        if (cached == null || cached.version() < version) {
+            materialized = new Materialized(version, summary);
+        }
+        return summary;
+    }
+
+    private List<CurrentMatch> build(long version) {
+        var summary = new ArrayList<CurrentMatch>(chains.size());
+        for (var chain : chains.values()) {
+            var value = chain.newest;
+            while (value != null && value.version > version) {
+                value = value.older;
+            }
+            if (value != null && value.match != null) {
+                summary.add(value.match);
+            }
+        }
+        summary.sort(null);
+        return Collections.unmodifiableList(summary);
+    }
+
+    // test purposes only
+    public void clear() {
+        while (!applying.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            // dropped changes count as applied, nobody has to wait for them
+            var applied = appliedChanges;
+            while (pendingChanges.poll() != null) {
+                applied++;
+            }
+            appliedChanges = applied;
+            chains.clear();
+            materialized = null;
+            // empty board is the next version: cached renders and clients of the old one have to resync
+            changeLog.clear();
+            latestVersion = changeLog.getLatestVersion();
+        } finally {
+            applying.set(false);
+        }
+    }
+
+    // Writer leaves its change to the one who is applying and returns: reader waits for the changes recorded
+    // before it (a few map puts each) or applies them itself, so it never misses a write which has returned
+    private void catchUp() {
+        var recorded = recordedChanges.get();
+        while (appliedChanges < recorded) {
+            publish();
+            if (appliedChanges < recorded) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // Pin is registered first and the horizon is read after it, reclaimer does it in reverse order:
+    // either we see the new horizon and retry, or reclaimer sees our pin and keeps our version.
+    private boolean tryPin(long version) {
+        pins.merge(version, 1, Integer::sum);
+        if (version >= horizon) {
+            return true;
+        }
+        unpin(version);
+        return false;
+    }
+
+    // guarded by 'applying'
+    private void apply(MatchChange change, long version) {
+        switch (change.type()) {
+            case STARTED -> {
+                var chain = new Chain();
+                chain.newest = new Version(version, change.after(), null);
+                chains.put(change.after().getStartSequence(), chain);
+            }
+            case SCORE_CHANGED -> {
+                var chain = chains.get(change.after().getStartSequence());
+                chain.newest = new Version(version, change.after(), chain.newest);
+            }
+            case FINISHED -> {
+                var chain = chains.get(change.before().getStartSequence());
+                chain.newest = new Version(version, null, chain.newest);
+            }
+        }
+    }
+
+    // readers unpin concurrently: isEmpty() and firstKey() could see different maps
+    private long oldestPin() {
+        var oldest = pins.firstEntry();
+        return oldest == null ? Long.MAX_VALUE : oldest.getKey();
+    }
+
+    // guarded by 'applying'
+    private void reclaim() {
+        var candidate = Math.min(latestVersion, oldestPin());
+        horizon = candidate;
+        // pin registered before it could see the new horizon
+        var cut = Math.min(candidate, oldestPin());
+        for (var entry : chains.entrySet()) {
+            var value = entry.getValue().newest;
+            while (value != null && value.version > cut) {
+                value = value.older;
+            }
+            if (value == null) {
+                continue;
+            }
+            if (value.match == null && value == entry.getValue().newest) {
+                // finished before every pinned version: nobody could see it anymore
+                chains.remove(entry.getKey(), entry.getValue());
+            } else {
+                value.older = null;
+            }
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package sportradar.demo.football.validator;
 
+import sportradar.demo.football.dto.CommandResult;
+
 /**
  * Implementing Strategy pattern for Matches being added, updated, deleted Validating
  */
@@ -9,4 +11,34 @@ public interface MatchValidator {
     void validateUpdateMatch(String homeName, String awayName, int homeScore, int awayScore);
 
     void validateDeleteMatch(String homeName, String awayName);
+
+    // Non-throwing variants for FootballScoreboard.tryXxx() methods: OK or the result of the exception validateXxx throws.
+    // Default ones just catch it, override them if bad input is frequent.
+
+    default CommandResult checkNewMatch(String homeName, String awayName) {
+        try {
+            validateNewMatch(homeName, awayName);
+            return CommandResult.OK;
+        } catch (RuntimeException ex) {
+            return CommandResult.of(ex);
+        }
+    }
+
+    default CommandResult checkUpdateMatch(String homeName, String awayName, int homeScore, int awayScore) {
+        try {
+            validateUpdateMatch(homeName, awayName, homeScore, awayScore);
+            return CommandResult.OK;
+        } catch (RuntimeException ex) {
+            return CommandResult.of(ex);
+        }
+    }
+
+    default CommandResult checkDeleteMatch(String homeName, String awayName) {
+        try {
+            validateDeleteMatch(homeName, awayName);
+            return CommandResult.OK;
+        } catch (RuntimeException ex) {
+            return CommandResult.of(ex);
+        }
+    }
 }
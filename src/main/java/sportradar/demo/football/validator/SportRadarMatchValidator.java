@@ -1,6 +1,7 @@
 package sportradar.demo.football.validator;
 
 import org.springframework.util.StringUtils;
+import sportradar.demo.football.dto.CommandResult;
 import sportradar.demo.football.ex.EmptyTeamNameException;
 import sportradar.demo.football.ex.InvalidScoreException;
 import sportradar.demo.football.ex.TeamNameOverflowException;
@@ -17,6 +18,18 @@ public class SportRadarMatchValidator implements MatchValidator {
 
     public static final Integer MAX_TEAM_NAME = 256; // just my opinion rule, could be different
 
+    // false: exceptions have no stack trace. Much cheaper for a feed full of bad input,
+    // but a caller bug is harder to find then, so it's off by default.
+    private final boolean writableStackTrace;
+
+    public SportRadarMatchValidator() {
+        this(false);
+    }
+
+    public SportRadarMatchValidator(boolean stacklessExceptions) {
+        this.writableStackTrace = !stacklessExceptions;
+    }
+
     @Override
     public void validateNewMatch(String homeTeam, String awayTeam) {
         validateTeamNames(homeTeam, awayTeam);
@@ -25,10 +38,10 @@ public class SportRadarMatchValidator implements MatchValidator {
     @Override
     public void validateUpdateMatch(String homeName, String awayName, int homeScore, int awayScore) {
         if (homeScore < 0) {
-            throw new InvalidScoreException("HOME SCORE has negative value: " + homeScore);
+            throw new InvalidScoreException("HOME SCORE has negative value: " + homeScore, writableStackTrace);
         }
         if (awayScore < 0) {
-            throw new InvalidScoreException("AWAY SCORE has negative value: " + awayScore);
+            throw new InvalidScoreException("AWAY SCORE has negative value: " + awayScore, writableStackTrace);
         }
     }
 
@@ -37,18 +50,53 @@ public class SportRadarMatchValidator implements MatchValidator {
         validateTeamNames(homeTeam, awayTeam);
     }
 
+    // The same rules without exceptions and messages: nothing is allocated for invalid input
+
+    @Override
+    public CommandResult checkNewMatch(String homeTeam, String awayTeam) {
+        return checkTeamNames(homeTeam, awayTeam);
+    }
+
+    @Override
+    public CommandResult checkUpdateMatch(String homeName, String awayName, int homeScore, int awayScore) {
+        return homeScore < 0 || awayScore < 0 ? CommandResult.INVALID_SCORE : CommandResult.OK;
+    }
+
+    @Override
+    public CommandResult checkDeleteMatch(String homeTeam, String awayTeam) {
+        return checkTeamNames(homeTeam, awayTeam);
+    }
+
+    private static CommandResult checkTeamNames(String homeTeam, String awayTeam) {
+        if (!StringUtils.hasLength(homeTeam) || !StringUtils.hasLength(awayTeam)) {
+            return CommandResult.EMPTY_TEAM_NAME;
+        }
+        if (homeTeam.length() > MAX_TEAM_NAME || awayTeam.length() > MAX_TEAM_NAME) {
+            return CommandResult.TEAM_NAME_OVERFLOW;
+        }
+        return CommandResult.OK;
+    }
+
     private void validateTeamNames(String homeTeam, String awayTeam) {
         if (!StringUtils.hasLength(homeTeam)) {
-            throw new EmptyTeamNameException("HOME team name is empty: [" + (homeTeam == null ? "null" : homeTeam));
+            throw new EmptyTeamNameException(
+                    "HOME team name is empty: [" + (homeTeam == null ? "null" : homeTeam), writableStackTrace
+            );
         }
         if (!StringUtils.hasLength(awayTeam)) {
-            throw new EmptyTeamNameException("AWAY team name is empty: [" + (awayTeam == null ? "null" : awayTeam));
+            throw new EmptyTeamNameException(
+                    "AWAY team name is empty: [" + (awayTeam == null ? "null" : awayTeam), writableStackTrace
+            );
         }
         if (homeTeam.length() > MAX_TEAM_NAME) {
-            throw new TeamNameOverflowException("HOME team name overflow for input length: " + homeTeam.length());
+            throw new TeamNameOverflowException(
+                    "HOME team name overflow for input length: " + homeTeam.length(), writableStackTrace
+            );
         }
         if (awayTeam.length() > MAX_TEAM_NAME) {
-            throw new TeamNameOverflowException("AWAY team name overflow for input length: " + awayTeam.length());
+            throw new TeamNameOverflowException(
+                    "AWAY team name overflow for input length: " + awayTeam.length(), writableStackTrace
+            );
         }
     }
 
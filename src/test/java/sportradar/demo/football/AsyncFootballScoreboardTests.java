@@ -0,0 +1,84 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncFootballScoreboardTests {
+
+    /*
+     * name: 'Many concurrent feed connections'
+     * invoke: start 1000 matches and update each of them asynchronously
+     * verify: every future completes, summary has every match with its score
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testAsync_ConcurrentStartUpdate(ScoreboardEngine engine) {
+        try (var scoreboard = new AsyncFootballScoreboardImpl(engine.create(new SportRadarMatchValidator()))) {
+            var futures = new ArrayList<CompletableFuture<Void>>();
+            for (var i = 0; i < 1000; i++) {
+                var score = i;
+                futures.add(scoreboard.startNewMatch("Home" + i, "Away" + i)
+                        .thenCompose(ignored -> scoreboard.updateMatchScore("Home" + score, "Away" + score, score, 0)));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+            var summary = scoreboard.getSummary().join();
+            assertEquals(1000, summary.size());
+            assertEquals("Home999", summary.get(0).getHomeTeam());
+        }
+    }
+
+    // exception is not thrown to the caller, it fails the future
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testAsync_FailedFuture(ScoreboardEngine engine) {
+        try (var scoreboard = new AsyncFootballScoreboardImpl(engine.create(new SportRadarMatchValidator()))) {
+            var future = scoreboard.updateMatchScore("Mexico", "Canada", 1, 0);
+            var ex = assertThrows(CompletionException.class, future::join);
+            assertInstanceOf(MatchNotStartedException.class, ex.getCause());
+        }
+    }
+
+    /*
+     * name: 'Summary read hand-off'
+     * invoke: the only executor thread is busy, read the summary of MVCC board and of LIVE_INDEX board
+     * verify: MVCC read (could wait for the writer) waits for the executor, LIVE_INDEX read is completed at once
+     */
+    @Test
+    public void testAsync_SummaryHandOff() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        var mvcc = new AsyncFootballScoreboardImpl(
+                new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.MVCC), executor);
+        var liveIndex = new AsyncFootballScoreboardImpl(
+                new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX), executor);
+        try (mvcc; liveIndex) {
+            var handedOff = mvcc.getSummary();
+            assertTrue(liveIndex.getSummary().isDone());
+            assertFalse(handedOff.isDone());
+
+            busy.countDown();
+            assertTrue(handedOff.get(5, TimeUnit.SECONDS).isEmpty());
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.validator.MatchValidator;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sportradar.demo.football.dto.CommandResult.*;
+import static sportradar.demo.football.dto.MatchCommand.*;
+
+public class BatchCommandTests {
+
+    private FootballScoreboard scoreboard;
+
+    @BeforeEach
+    void createScoreboard() {
+        scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.SNAPSHOT);
+    }
+
+    /*
+     * name: 'Mixed batch'
+     * desc: starts, updates and removes in one batch including invalid and conflicting commands
+     * verify: result for each command at the same position, failed commands do not stop the batch,
+     *         the last update of the match wins
+     */
+    @Test
+    public void testApplyBatch_MixedCommands() {
+        var results = scoreboard.applyBatch(List.of(
+                start("Mexico", "Canada"),
+                start("Spain", "Brazil"),
+                start("Spain", "Italy"),
+                update("Mexico", "Canada", 0, 1),
+                update("Spain", "Brazil", -1, 0),
+                update("Mexico", "Canada", 0, 2),
+                update("Germany", "France", 1, 1),
+                remove("Spain", "Brazil"),
+                start("Spain", "Italy")
+        ));
+
+        assertEquals(List.of(
+                OK, OK, TEAM_ALREADY_PLAYING, OK, INVALID_SCORE, OK, MATCH_NOT_STARTED, OK, OK
+        ), results);
+
+        var summary = scoreboard.getSummary();
+        assertEquals(2, summary.size());
+        assertEquals("Mexico", summary.get(0).getHomeTeam());
+        assertEquals(2, summary.get(0).getAwayScore());
+        assertEquals("Italy", summary.get(1).getAwayTeam());
+    }
+
+    // removal closes the group of updates, so update after it has to fail
+    @Test
+    public void testApplyBatch_UpdateAfterRemove() {
+        var results = scoreboard.applyBatch(List.of(
+                start("Mexico", "Canada"),
+                update("Mexico", "Canada", 1, 0),
+                remove("Mexico", "Canada"),
+                update("Mexico", "Canada", 2, 0)
+        ));
+
+        assertEquals(List.of(OK, OK, OK, MATCH_NOT_STARTED), results);
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+    /*
+     * name: 'Partially failed batch'
+     * desc: batch with a single valid command among rejected ones
+     * verify: board version is bumped once, the valid command is applied
+     */
+    @ParameterizedTest
+    @EnumSource(SummaryMode.class)
+    public void testApplyBatch_PartialFailure_BumpsVersion(SummaryMode summaryMode) {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), summaryMode);
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var version = scoreboard.getBoardVersion();
+
+        var results = scoreboard.applyBatch(List.of(
+                start("Mexico", "Brazil"),
+                update("Mexico", "Canada", -1, 0),
+                update("Mexico", "Canada", 1, 0),
+                remove("Spain", "Brazil")
+        ));
+
+        assertEquals(List.of(TEAM_ALREADY_PLAYING, INVALID_SCORE, OK, MATCH_NOT_STARTED), results);
+        assertTrue(scoreboard.getBoardVersion() > version);
+        assertEquals(1, scoreboard.getSummary().get(0).getHomeScore());
+    }
+
+    /*
+     * name: 'Rejected batch'
+     * desc: every command of the batch is invalid or conflicting
+     * verify: board and its version are not changed, cached renders stay valid
+     */
+    @ParameterizedTest
+    @EnumSource(SummaryMode.class)
+    public void testApplyBatch_AllFailed_KeepsVersion(SummaryMode summaryMode) {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), summaryMode);
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var version = scoreboard.getBoardVersion();
+
+        var results = scoreboard.applyBatch(List.of(
+                start("Mexico", "Brazil"),
+                update("Mexico", "Canada", -1, 0),
+                update("Spain", "Brazil", 1, 0),
+                remove("Spain", "Brazil"),
+                start("", "Brazil")
+        ));
+
+        assertEquals(List.of(TEAM_ALREADY_PLAYING, INVALID_SCORE, MATCH_NOT_STARTED, MATCH_NOT_STARTED, EMPTY_TEAM_NAME),
+                results);
+        assertEquals(version, scoreboard.getBoardVersion());
+        assertEquals(0, scoreboard.getSummary().get(0).getHomeScore());
+    }
+
+    /*
+     * name: 'Batch is checked without exceptions'
+     * desc: mixed batch for every engine, validator fails the test once its throwing methods are called
+     * verify: invalid commands get results of checkXxx, conflicts come from the engine results
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testApplyBatch_CheckedWithoutExceptions(ScoreboardEngine engine) throws Exception {
+        var scoreboard = engine.create(new CheckOnlyValidator());
+
+        var results = scoreboard.applyBatch(List.of(
+                start("Mexico", "Canada"),
+                start("Mexico", "Brazil"),
+                update("Mexico", "Canada", -1, 0),
+                update("Mexico", "Canada", 0, 5),
+                remove("Spain", "Brazil"),
+                start("", "Brazil")
+        ));
+
+        assertEquals(List.of(OK, TEAM_ALREADY_PLAYING, INVALID_SCORE, OK, MATCH_NOT_STARTED, EMPTY_TEAM_NAME), results);
+        assertEquals(5, scoreboard.getSummary().get(0).getAwayScore());
+
+        if (scoreboard instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class CheckOnlyValidator implements MatchValidator {
+        private final SportRadarMatchValidator checks = new SportRadarMatchValidator();
+
+        @Override
+        public void validateNewMatch(String homeName, String awayName) {
+            throw new IllegalStateException("Batch has to use checkNewMatch");
+        }
+
+        @Override
+        public void validateUpdateMatch(String homeName, String awayName, int homeScore, int awayScore) {
+            throw new IllegalStateException("Batch has to use checkUpdateMatch");
+        }
+
+        @Override
+        public void validateDeleteMatch(String homeName, String awayName) {
+            throw new IllegalStateException("Batch has to use checkDeleteMatch");
+        }
+
+        @Override
+        public CommandResult checkNewMatch(String homeName, String awayName) {
+            return checks.checkNewMatch(homeName, awayName);
+        }
+
+        @Override
+        public CommandResult checkUpdateMatch(String homeName, String awayName, int homeScore, int awayScore) {
+            return checks.checkUpdateMatch(homeName, awayName, homeScore, awayScore);
+        }
+
+        @Override
+        public CommandResult checkDeleteMatch(String homeName, String awayName) {
+            return checks.checkDeleteMatch(homeName, awayName);
+        }
+    }
+
+}
@@ -8,6 +8,8 @@ import sportradar.demo.football.ex.MatchNotStartedException;
 import sportradar.demo.football.ex.TeamAlreadyPlayingException;
 import sportradar.demo.football.ex.TeamNameOverflowException;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static org.apache.commons.lang3.RandomStringUtils.randomAlphabetic;
@@ -529,6 +531,52 @@ public class FootballScoreboardApplicationTests {
                 });
     }
 
+    /*
+     * name: 'Update without total score change'
+     * desc: Total score stays the same (1 - 0 -> 0 - 1), so match keeps its position on the board
+     * verify: summary shows new scores but not the old ones, no duplicates
+     */
+    @Test
+    public void testGetSummary_SameTotalScoreUpdate() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 1, 0);
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 1);
+
+        var summary = scoreboard.getSummary();
+        assertEquals(2, summary.size());
+
+        var match = summary.get(0);
+        assertEquals("Mexico", match.getHomeTeam());
+        assertEquals(0, match.getHomeScore());
+        assertEquals(1, match.getAwayScore());
+    }
+
+    /*
+     * name: 'Concurrent updates of the same match'
+     * desc: Many threads update the same match at the same time
+     * verify: no update fails (nobody waits for a lock or times out), match keeps single position on the board
+     */
+    @Test
+    public void testUpdate_ConcurrentSameMatch() throws Exception {
+        scoreboard.startNewMatch("Mexico", "Canada");
+
+        var executor = Executors.newFixedThreadPool(8);
+        var updates = IntStream.range(0, 1000)
+                .mapToObj(score -> executor.submit(() -> scoreboard.updateMatchScore("Mexico", "Canada", score, 0)))
+                .toList();
+        for (var update : updates) {
+            update.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        var summary = scoreboard.getSummary();
+        assertEquals(1, summary.size());
+        assertEquals(0, summary.get(0).getAwayScore());
+    }
+
     /*
      * TODO good to have test case for UPDATE operation:
      *  Let's assume scoreboard could be updated from different places of the world.
@@ -548,8 +596,8 @@ public class FootballScoreboardApplicationTests {
      */
 
     /*
-     * TODO add Lock tests (UPDATE/DELETE/INSERT)
-     * TODO add concurrency tests
+     * TODO add concurrency tests for INSERT/DELETE
+     * Update: see stress.StressHarness and stress.LinearizabilityTests, histories of every engine are checked there
      */
 
 }
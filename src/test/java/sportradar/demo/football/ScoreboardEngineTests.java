@@ -0,0 +1,469 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchCommand;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.journal.MatchJournal;
+import sportradar.demo.football.summary.MatchChangeLog;
+import sportradar.demo.football.summary.SummaryRenderCache;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same business rules have to be kept by every engine.
+ * Detailed cases are covered by FootballScoreboardApplicationTests for the default implementation.
+ */
+public class ScoreboardEngineTests {
+
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testGetSummary_DemoExample(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        scoreboard.startNewMatch("Germany", "France");
+        scoreboard.startNewMatch("Uruguay", "Italy");
+        scoreboard.startNewMatch("Argentina", "Australia");
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        scoreboard.updateMatchScore("Spain", "Brazil", 10, 2);
+        scoreboard.updateMatchScore("Germany", "France", 2, 2);
+        scoreboard.updateMatchScore("Uruguay", "Italy", 6, 6);
+        scoreboard.updateMatchScore("Argentina", "Australia", 3, 1);
+
+        var homeTeams = scoreboard.getSummary().stream().map(match -> match.getHomeTeam()).toList();
+        assertEquals(List.of("Uruguay", "Spain", "Mexico", "Argentina", "Germany"), homeTeams);
+    }
+
+    /*
+     * name: 'Widget queries'
+     * verify: top N is the prefix of the summary, rank is the position in the summary starting from 1
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testTopMatchesAndRank(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        scoreboard.startNewMatch("Germany", "France");
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        scoreboard.updateMatchScore("Spain", "Brazil", 10, 2);
+
+        assertEquals(scoreboard.getSummary().subList(0, 2), scoreboard.getTopMatches(2));
+        assertEquals(3, scoreboard.getTopMatches(10).size());
+        assertTrue(scoreboard.getTopMatches(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getTopMatches(-1));
+
+        assertEquals(1, scoreboard.getRank("Spain", "Brazil"));
+        assertEquals(2, scoreboard.getRank("Mexico", "Canada"));
+        assertEquals(3, scoreboard.getRank("Germany", "France"));
+
+        scoreboard.updateMatchScore("Germany", "France", 7, 7);
+        scoreboard.removeMatch("Spain", "Brazil");
+        assertEquals(1, scoreboard.getRank("Germany", "France"));
+        assertEquals(2, scoreboard.getRank("Mexico", "Canada"));
+        assertThrows(MatchNotStartedException.class, () -> scoreboard.getRank("Spain", "Brazil"));
+        assertThrows(MatchNotStartedException.class, () -> scoreboard.getRank("Canada", "Mexico"));
+    }
+
+    /*
+     * name: 'Rank with and without rank index'
+     * invoke: the same starts, updates and removes on the board with opt-in rank index and on the default one
+     * verify: both give the position in the summary for every match
+     */
+    @ParameterizedTest
+    @EnumSource(SummaryMode.class)
+    public void testGetRank_RankIndexOptIn(SummaryMode summaryMode) {
+        var boards = List.of(
+                new FootballScoreboardImpl(new SportRadarMatchValidator(), summaryMode, MatchJournal.none(),
+                        MatchChangeLog.DEFAULT_CAPACITY, true),
+                new FootballScoreboardImpl(new SportRadarMatchValidator(), summaryMode));
+        for (var scoreboard : boards) {
+            for (var i = 0; i < 30; i++) {
+                scoreboard.startNewMatch("Home" + i, "Away" + i);
+            }
+            for (var i = 0; i < 30; i += 3) {
+                scoreboard.updateMatchScore("Home" + i, "Away" + i, i % 7, i % 4);
+            }
+            for (var i = 1; i < 30; i += 5) {
+                scoreboard.removeMatch("Home" + i, "Away" + i);
+            }
+            var summary = scoreboard.getSummary();
+            for (var position = 0; position < summary.size(); position++) {
+                var match = summary.get(position);
+                assertEquals(position + 1, scoreboard.getRank(match.getHomeTeam(), match.getAwayTeam()));
+            }
+        }
+    }
+
+    /*
+     * name: 'Paging through the board'
+     * invoke: read the board by pages of 3, remove and update matches which were already read in between
+     * verify: pages together are the summary, moved matches do not shift the not yet read ones
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testGetSummaryPage_StableToken(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        for (var i = 0; i < 10; i++) {
+            scoreboard.startNewMatch("Home" + i, "Away" + i);
+            scoreboard.updateMatchScore("Home" + i, "Away" + i, i, 0);
+        }
+        var expected = scoreboard.getSummary();
+
+        var first = scoreboard.getSummaryPage(null, 3);
+        assertEquals(expected.subList(0, 3), first.matches());
+        // offset based paging would skip one not yet read match after it
+        scoreboard.removeMatch("Home9", "Away9");
+        scoreboard.updateMatchScore("Home8", "Away8", 20, 0);
+
+        var read = new ArrayList<>(first.matches());
+        var token = first.continuationToken();
+        while (token != null) {
+            var page = scoreboard.getSummaryPage(token, 3);
+            assertTrue(page.matches().size() <= 3);
+            read.addAll(page.matches());
+            token = page.continuationToken();
+        }
+        assertEquals(10, read.size());
+        assertEquals(expected.subList(3, 10), read.subList(3, 10));
+
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getSummaryPage("garbage", 3));
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getSummaryPage(null, 0));
+    }
+
+    /*
+     * verify: team could not play two matches at once, no matter if it was HOME or AWAY team,
+     *         and it's free to play again once its match is removed
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testStartRemove_TeamUniqueness(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mamas", "Papas");
+
+        assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("Sons", "Papas"));
+        assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("Papas", "Sons"));
+        assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("Sons", "Sons"));
+        assertThrows(MatchNotStartedException.class, () -> scoreboard.updateMatchScore("Papas", "Mamas", 1, 0));
+
+        scoreboard.removeMatch("Mamas", "Papas");
+        scoreboard.startNewMatch("Papas", "Sons");
+
+        var summary = scoreboard.getSummary();
+        assertEquals(1, summary.size());
+        assertEquals("Papas", summary.get(0).getHomeTeam());
+    }
+
+    // default shard count depends on CPU count, so let's make sure teams really land on different shards
+    @Test
+    public void testSharded_CrossShardMatches() {
+        var scoreboard = new ShardedFootballScoreboard(new SportRadarMatchValidator(), 8);
+        for (var i = 0; i < 100; i++) {
+            scoreboard.startNewMatch("home" + i, "away" + i);
+            scoreboard.updateMatchScore("home" + i, "away" + i, i % 7, 0);
+        }
+        assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("away5", "home6"));
+
+        var summary = scoreboard.getSummary();
+        assertEquals(100, summary.size());
+        for (var i = 1; i < summary.size(); i++) {
+            assertTrue(summary.get(i - 1).compareTo(summary.get(i)) < 0, "Summary is not sorted");
+        }
+    }
+
+    /*
+     * name: 'Asynchronous commands of single writer engine'
+     * verify: futures are completed with the result codes, invalid command is completed without the writer
+     */
+    @Test
+    public void testRingBuffer_SubmitAsync() throws Exception {
+        try (var scoreboard = new RingBufferFootballScoreboard(new SportRadarMatchValidator(), 4)) {
+            var started = scoreboard.submit(MatchCommand.start("Mexico", "Canada"));
+            var duplicated = scoreboard.submit(MatchCommand.start("Canada", "Spain"));
+            var invalid = scoreboard.submit(MatchCommand.update("Mexico", "Canada", -1, 0));
+            var updates = IntStream.range(0, 20)
+                    .mapToObj(score -> scoreboard.submit(MatchCommand.update("Mexico", "Canada", score, 1)))
+                    .toList();
+
+            assertEquals(CommandResult.OK, started.get());
+            assertEquals(CommandResult.TEAM_ALREADY_PLAYING, duplicated.get());
+            assertEquals(CommandResult.INVALID_SCORE, invalid.get());
+            for (var update : updates) {
+                assertEquals(CommandResult.OK, update.get());
+            }
+            assertEquals(19, scoreboard.getSummary().get(0).getHomeScore());
+        }
+    }
+
+    /*
+     * name: 'Summary of single writer engine is published by the writer'
+     * invoke: read the summary twice, update the match, read it again
+     * verify: reads without changes in between share the snapshot, read after the update sees it,
+     *  rank is read from the snapshot
+     */
+    @Test
+    public void testRingBuffer_SummaryPublishedByWriter() {
+        try (var scoreboard = new RingBufferFootballScoreboard(new SportRadarMatchValidator(), 4)) {
+            scoreboard.startNewMatch("Mexico", "Canada");
+            scoreboard.startNewMatch("Spain", "Brazil");
+            var summary = scoreboard.getSummary();
+            assertSame(summary, scoreboard.getSummary());
+
+            scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+            var updated = scoreboard.getSummary();
+            assertNotSame(summary, updated);
+            assertEquals("Mexico", updated.get(0).getHomeTeam());
+            assertEquals("Spain", summary.get(0).getHomeTeam());
+            assertEquals(2, scoreboard.getRank("Spain", "Brazil"));
+            assertEquals(1, scoreboard.getRank("Mexico", "Canada"));
+            assertThrows(MatchNotStartedException.class, () -> scoreboard.getRank("Mexico", "Brazil"));
+        }
+    }
+
+    /*
+     * name: 'Async writes of single writer engine move the board version'
+     * invoke: render the summary, submit an update through the async API, render again
+     * verify: version is bumped once the future is completed, the render cache encodes the board again
+     */
+    @Test
+    public void testRingBuffer_SubmitMovesBoardVersion() throws Exception {
+        try (var scoreboard = new RingBufferFootballScoreboard(new SportRadarMatchValidator(), 4)) {
+            scoreboard.startNewMatch("Mexico", "Canada");
+            var cache = new SummaryRenderCache(scoreboard);
+            var first = cache.render(SummaryRenderCache.Format.JSON);
+
+            assertEquals(CommandResult.OK, scoreboard.submit(MatchCommand.update("Mexico", "Canada", 3, 1)).get());
+            assertTrue(scoreboard.getBoardVersion() > first.getBoardVersion());
+            assertFalse(cache.isUnchangedSince(first.getBoardVersion()));
+            var second = cache.renderIfChangedSince(SummaryRenderCache.Format.JSON, first.getBoardVersion())
+                    .orElseThrow();
+            assertEquals(3, scoreboard.getSummary().get(0).getHomeScore());
+            assertTrue(StandardCharsets.UTF_8.decode(second.asByteBuffer()).toString().contains("\"homeScore\":3"));
+
+            assertEquals(CommandResult.MATCH_NOT_STARTED, scoreboard.submit(MatchCommand.remove("Spain", "Brazil")).get());
+            assertTrue(cache.isUnchangedSince(second.getBoardVersion()));
+        }
+    }
+
+    /*
+     * name: 'Throwing callback of single writer engine'
+     * invoke: callback of the first command throws, more commands are submitted in the same run
+     * verify: writer keeps going, the other commands of the run and the later ones are completed
+     */
+    @Test
+    public void testRingBuffer_ThrowingCallback() throws Exception {
+        try (var scoreboard = new RingBufferFootballScoreboard(new SportRadarMatchValidator(), 4)) {
+            scoreboard.submit(MatchCommand.start("Mexico", "Canada"), result -> {
+                throw new IllegalStateException("Broken callback");
+            });
+            var updated = scoreboard.submit(MatchCommand.update("Mexico", "Canada", 1, 0));
+
+            assertEquals(CommandResult.OK, updated.get(5, TimeUnit.SECONDS));
+            scoreboard.startNewMatch("Spain", "Brazil");
+            assertEquals(2, scoreboard.getSummary().size());
+            assertEquals(1, scoreboard.getRank("Mexico", "Canada"));
+        }
+    }
+
+    /*
+     * name: 'Close of single writer engine with pending commands'
+     * invoke: writer is held by a callback, a future and blocking callers are waiting for results and slots, the board is closed
+     * verify: pending commands fail with IllegalStateException instead of waiting forever, new ones are rejected
+     */
+    @Test
+    public void testRingBuffer_ClosePendingWaiters() throws Exception {
+        var scoreboard = new RingBufferFootballScoreboard(new SportRadarMatchValidator(), 4);
+        var entered = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        scoreboard.submit(MatchCommand.start("Mexico", "Canada"), result -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        entered.await();
+        // ring of 4 holds three more commands: one future and two blocking callers, the last caller waits for a free slot
+        var pending = scoreboard.submit(MatchCommand.start("Spain", "Brazil"));
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var callers = new ArrayList<Thread>();
+        for (var i = 0; i < 3; i++) {
+            var homeTeam = "Home" + i;
+            var caller = new Thread(() -> {
+                try {
+                    scoreboard.startNewMatch(homeTeam, "Away");
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            caller.start();
+            // parked for the result or for the slot
+            while (caller.getState() == Thread.State.NEW || caller.getState() == Thread.State.RUNNABLE) {
+                Thread.onSpinWait();
+            }
+            callers.add(caller);
+        }
+
+        var closer = new Thread(scoreboard::close);
+        closer.start();
+        while (closer.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        closer.join(5_000);
+        for (var caller : callers) {
+            caller.join(5_000);
+            assertFalse(caller.isAlive());
+        }
+
+        assertFalse(closer.isAlive());
+        assertEquals(3, failures.size());
+        failures.forEach(failure -> assertInstanceOf(IllegalStateException.class, failure));
+        var failure = assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertThrows(IllegalStateException.class, () -> scoreboard.startNewMatch("Italy", "France"));
+        var rejected = scoreboard.submit(MatchCommand.start("Italy", "France"));
+        assertThrows(ExecutionException.class, () -> rejected.get(5, TimeUnit.SECONDS));
+    }
+
+    /*
+     * name: 'Allocation-free score update'
+     * invoke: warm up, then update the same match many times
+     * verify: thread allocated (almost) nothing for updates, reader sees consistent home/away pair
+     */
+    @Test
+    public void testPacked_UpdateAllocatesNothing() {
+        var scoreboard = new PackedFootballScoreboard(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+        for (var i = 0; i < 20_000; i++) {
+            scoreboard.updateMatchScore("Mexico", "Canada", i, i);
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var before = threads.getThreadAllocatedBytes(threadId);
+        for (var i = 0; i < 100_000; i++) {
+            scoreboard.updateMatchScore("Mexico", "Canada", i, i);
+        }
+        var allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        // 100_000 new CurrentMatch objects would take megabytes, let the measurement itself allocate a bit
+        assertTrue(allocated < 10_000, "Score updates allocated " + allocated + " bytes");
+
+        var match = scoreboard.getSummary().get(0);
+        assertEquals(match.getHomeScore(), match.getAwayScore());
+        assertEquals(99_999, match.getHomeScore());
+    }
+
+    /*
+     * name: 'Moving match is read once'
+     * invoke: one thread moves two matches past each other by score, another one reads the summary meanwhile
+     * verify: no summary, top or page has the same match twice
+     */
+    @ParameterizedTest
+    @EnumSource(value = ScoreboardEngine.class, names = {"LIVE_INDEX", "SHARDED"})
+    public void testScan_MovingMatchReadOnce(ScoreboardEngine engine) throws InterruptedException {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        var writer = new Thread(() -> {
+            for (var i = 0; i < 100_000; i++) {
+                scoreboard.updateMatchScore("Mexico", "Canada", i, i);
+                scoreboard.updateMatchScore("Spain", "Brazil", i, i + 1);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertReadOnce(scoreboard.getSummary());
+            assertReadOnce(scoreboard.getTopMatches(2));
+            assertReadOnce(scoreboard.getSummaryPage(null, 2).matches());
+        }
+        writer.join();
+        assertEquals(List.of("Spain", "Mexico"),
+                scoreboard.getSummary().stream().map(match -> match.getHomeTeam()).toList());
+    }
+
+    private static void assertReadOnce(List<CurrentMatch> matches) {
+        assertEquals(matches.size(), matches.stream().map(CurrentMatch::getStartSequence).distinct().count(),
+                "Match read twice: " + matches);
+    }
+
+    /*
+     * name: 'Seqlock of off-heap slot'
+     * invoke: one thread updates the match with equal scores, another one reads the summary meanwhile
+     * verify: reader never sees home score of one update together with away score of another one
+     */
+    @Test
+    public void testOffHeap_ConsistentScorePairs() throws InterruptedException {
+        var scoreboard = new OffHeapFootballScoreboard(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var writer = new Thread(() -> {
+            for (var i = 0; i < 200_000; i++) {
+                scoreboard.updateMatchScore("Mexico", "Canada", i, i);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            var match = scoreboard.getSummary().get(0);
+            assertEquals(match.getHomeScore(), match.getAwayScore(), "Torn score pair");
+        }
+        writer.join();
+        assertEquals(199_999, scoreboard.getSummary().get(0).getHomeScore());
+
+        // freed slot is reused by the next match, old match is not found anymore
+        scoreboard.removeMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        assertThrows(MatchNotStartedException.class, () -> scoreboard.updateMatchScore("Mexico", "Canada", 1, 1));
+        assertEquals(List.of("Spain"), scoreboard.getSummary().stream().map(match -> match.getHomeTeam()).toList());
+    }
+
+    /*
+     * name: 'Reuse of off-heap slot by the same team'
+     * invoke: threads start and remove matches of the same home team, freed slot is reused by the next start at once
+     * verify: the team never plays two matches, whoever started the match is able to remove it
+     */
+    @Test
+    public void testOffHeap_StartRemoveStartSameTeam() throws InterruptedException {
+        var scoreboard = new OffHeapFootballScoreboard(new SportRadarMatchValidator());
+        var failures = new AtomicInteger();
+        var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 8; t++) {
+            var awayTeam = "Canada" + t;
+            threads.add(new Thread(() -> {
+                for (var i = 0; i < 100_000; i++) {
+                    if (scoreboard.tryStartNewMatch("Mexico", awayTeam) != CommandResult.OK) {
+                        continue;
+                    }
+                    if (scoreboard.tryUpdateMatchScore("Mexico", awayTeam, 1, 0) != CommandResult.OK
+                            || scoreboard.tryRemoveMatch("Mexico", awayTeam) != CommandResult.OK) {
+                        failures.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, failures.get());
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+}
@@ -0,0 +1,67 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FootballScoreboardImpl running in SummaryMode.SNAPSHOT
+ */
+public class SummarySnapshotTests {
+
+    private FootballScoreboard scoreboard;
+
+    @BeforeEach
+    void createScoreboard() {
+        scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.SNAPSHOT);
+    }
+
+    /*
+     * name: 'Snapshot follows every committed change'
+     * invoke: start, update and remove matches
+     * verify: summary reflects each change in the same order as LIVE_INDEX mode does
+     */
+    @Test
+    public void testSnapshot_StartUpdateRemove() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        assertEquals("Spain", scoreboard.getSummary().get(0).getHomeTeam());
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        var summary = scoreboard.getSummary();
+        assertEquals(2, summary.size());
+        assertEquals("Mexico", summary.get(0).getHomeTeam());
+        assertEquals(5, summary.get(0).getAwayScore());
+
+        scoreboard.removeMatch("Mexico", "Canada");
+        summary = scoreboard.getSummary();
+        assertEquals(1, summary.size());
+        assertEquals("Spain", summary.get(0).getHomeTeam());
+    }
+
+    /*
+     * name: 'Snapshot is immutable'
+     * verify: snapshot taken before update is not changed by the update and could not be modified by reader
+     */
+    @Test
+    public void testSnapshot_Immutable() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var before = scoreboard.getSummary();
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 1, 0);
+
+        assertEquals(0, before.get(0).getHomeScore());
+        assertEquals(1, scoreboard.getSummary().get(0).getHomeScore());
+        assertThrows(UnsupportedOperationException.class, () -> before.remove(0));
+    }
+
+    @Test
+    public void testSnapshot_ClearAllMatches() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.clearAllMatches();
+        assertTrue(scoreboard.getSummary().isEmpty());
+    }
+
+}
@@ -0,0 +1,94 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.ex.InvalidScoreException;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static sportradar.demo.football.dto.CommandResult.*;
+
+public class TryCommandTests {
+
+    /*
+     * name: 'Result codes instead of exceptions'
+     * desc: valid, invalid and conflicting calls of tryXxx for every engine
+     * verify: each call returns its result, board and version are changed by successful calls only
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testTryCalls_ReturnResults(ScoreboardEngine engine) throws Exception {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+
+        assertEquals(OK, scoreboard.tryStartNewMatch("Mexico", "Canada"));
+        assertEquals(TEAM_ALREADY_PLAYING, scoreboard.tryStartNewMatch("Mexico", "Brazil"));
+        assertEquals(EMPTY_TEAM_NAME, scoreboard.tryStartNewMatch("", "Brazil"));
+        assertEquals(TEAM_NAME_OVERFLOW, scoreboard.tryStartNewMatch("Spain", "B".repeat(300)));
+        var version = scoreboard.getBoardVersion();
+
+        assertEquals(INVALID_SCORE, scoreboard.tryUpdateMatchScore("Mexico", "Canada", -1, 0));
+        assertEquals(MATCH_NOT_STARTED, scoreboard.tryUpdateMatchScore("Spain", "Brazil", 1, 0));
+        assertEquals(MATCH_NOT_STARTED, scoreboard.tryRemoveMatch("Canada", "Mexico"));
+        assertEquals(version, scoreboard.getBoardVersion());
+
+        assertEquals(OK, scoreboard.tryUpdateMatchScore("Mexico", "Canada", 0, 5));
+        assertEquals(5, scoreboard.getSummary().get(0).getAwayScore());
+        assertEquals(OK, scoreboard.tryRemoveMatch("Mexico", "Canada"));
+        assertEquals(MATCH_NOT_STARTED, scoreboard.tryRemoveMatch("Mexico", "Canada"));
+        assertTrue(scoreboard.getSummary().isEmpty());
+
+        if (scoreboard instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /*
+     * name: 'Stackless exceptions'
+     * desc: conflict of the throwing API, invalid score with stackless validator
+     * verify: exceptions are thrown as before, but without stack trace
+     */
+    @Test
+    public void testExceptions_Stackless() {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(true), SummaryMode.LIVE_INDEX);
+        scoreboard.startNewMatch("Mexico", "Canada");
+
+        var conflict = assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("Mexico", "Brazil"));
+        assertEquals(0, conflict.getStackTrace().length);
+        var invalid = assertThrows(InvalidScoreException.class, () -> scoreboard.updateMatchScore("Mexico", "Canada", -1, 0));
+        assertEquals(0, invalid.getStackTrace().length);
+
+        // default validator keeps the stack trace: caller bug is easier to find
+        var withTrace = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        var traced = assertThrows(InvalidScoreException.class, () -> withTrace.updateMatchScore("Mexico", "Canada", -1, 0));
+        assertTrue(traced.getStackTrace().length > 0);
+    }
+
+    /*
+     * name: 'Throwing API on top of results'
+     * desc: conflicting calls of the throwing API, the ring buffer engine is not here: its writer thread
+     *       returns bare result codes
+     * verify: the same exceptions as before, message still says which team is playing or missing
+     */
+    @ParameterizedTest
+    @EnumSource(value = ScoreboardEngine.class, names = "RING_BUFFER", mode = EnumSource.Mode.EXCLUDE)
+    public void testThrowingCalls_KeepMessages(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        scoreboard.startNewMatch("Mexico", "Canada");
+
+        assertEquals("Home team is already playing!", assertThrows(TeamAlreadyPlayingException.class,
+                () -> scoreboard.startNewMatch("Mexico", "Brazil")).getMessage());
+        assertEquals("Away team is already playing!", assertThrows(TeamAlreadyPlayingException.class,
+                () -> scoreboard.startNewMatch("Brazil", "Canada")).getMessage());
+        assertEquals("UPDATE MATCH SCORE: Could not found HOME team on the matches board!",
+                assertThrows(MatchNotStartedException.class,
+                        () -> scoreboard.updateMatchScore("Spain", "Canada", 1, 0)).getMessage());
+        assertEquals("REMOVE MATCH: Could not found AWAY team on the matches board!",
+                assertThrows(MatchNotStartedException.class,
+                        () -> scoreboard.removeMatch("Mexico", "Brazil")).getMessage());
+        assertEquals(1, scoreboard.getSummary().size());
+    }
+
+}
@@ -0,0 +1,179 @@
+package sportradar.demo.football;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import sportradar.demo.football.ex.SnapshotTooOldException;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for FootballScoreboardImpl running in SummaryMode.MVCC
+ */
+public class VersionedSummaryTests {
+
+    private FootballScoreboardImpl scoreboard;
+
+    @BeforeEach
+    void createScoreboard() {
+        scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.MVCC);
+    }
+
+    /*
+     * name: 'Summary as of version'
+     * invoke: start, update and remove matches remembering version after each of them
+     * verify: every remembered version still shows the board exactly as it was then
+     */
+    @Test
+    public void testGetSummary_AsOfVersion() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var started = scoreboard.getBoardVersion();
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        var updated = scoreboard.getBoardVersion();
+        scoreboard.removeMatch("Mexico", "Canada");
+        var removed = scoreboard.getBoardVersion();
+
+        assertEquals(started + 1, updated);
+        assertEquals(updated + 1, removed);
+        assertEquals(0, scoreboard.getSummary(started).get(0).getAwayScore());
+        assertEquals(5, scoreboard.getSummary(updated).get(0).getAwayScore());
+        assertTrue(scoreboard.getSummary(removed).isEmpty());
+        assertTrue(scoreboard.getSummary().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> scoreboard.getSummary(removed + 1));
+    }
+
+    /*
+     * name: 'Summary of unchanged board is built once'
+     * verify: reads of the same version share the summary, the next change builds a new one
+     */
+    @Test
+    public void testGetSummary_SharedPerVersion() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.startNewMatch("Spain", "Brazil");
+        var summary = scoreboard.getSummary();
+        assertSame(summary, scoreboard.getSummary());
+        assertSame(summary, scoreboard.getSummary(scoreboard.getBoardVersion()));
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        var updated = scoreboard.getSummary();
+        assertNotSame(summary, updated);
+        assertEquals("Mexico", updated.get(0).getHomeTeam());
+        assertThrows(UnsupportedOperationException.class, () -> updated.remove(0));
+    }
+
+    /*
+     * name: 'Repeatable read view'
+     * invoke: open REPEATABLE_READ view, then write enough to reclaim old versions
+     * verify: the view keeps seeing its version, unpinned old version is reclaimed
+     */
+    @Test
+    public void testView_RepeatableRead() {
+        scoreboard.startNewMatch("Mexico", "Canada");
+        var unpinned = scoreboard.getBoardVersion();
+        scoreboard.startNewMatch("Spain", "Brazil");
+
+        try (var view = scoreboard.openView(IsolationLevel.REPEATABLE_READ)) {
+            for (var i = 1; i <= 3000; i++) {
+                scoreboard.updateMatchScore("Spain", "Brazil", i, 0);
+            }
+            var summary = view.getSummary();
+            assertEquals(2, summary.size());
+            assertEquals(0, summary.get(0).getHomeScore());
+            assertEquals(summary, scoreboard.getSummary(view.getVersion()));
+            assertThrows(SnapshotTooOldException.class, () -> scoreboard.getSummary(unpinned));
+        }
+
+        try (var view = scoreboard.openView(IsolationLevel.READ_COMMITTED)) {
+            assertEquals(3000, view.getSummary().get(0).getHomeScore());
+            scoreboard.updateMatchScore("Spain", "Brazil", 3001, 0);
+            assertEquals(3001, view.getSummary().get(0).getHomeScore());
+        }
+    }
+
+    /*
+     * name: 'Latest reads under reclaim'
+     * invoke: writer keeps reclaiming old versions while readers take the latest summary in every way
+     * verify: latest reads never fail with SnapshotTooOldException, it's for explicit as-of reads only
+     */
+    @Test
+    public void testGetSummary_LatestNeverTooOld() throws Exception {
+        scoreboard.startNewMatch("Spain", "Brazil");
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var running = new AtomicBoolean(true);
+        var readers = new ArrayList<Thread>();
+        for (var r = 0; r < 3; r++) {
+            readers.add(new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        assertEquals(1, scoreboard.getSummary().size());
+                        try (var view = scoreboard.openView(IsolationLevel.READ_COMMITTED)) {
+                            assertEquals(1, view.getSummary().size());
+                        }
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                        return;
+                    }
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        for (var i = 1; i <= 50_000 && failures.isEmpty(); i++) {
+            scoreboard.updateMatchScore("Spain", "Brazil", i, 0);
+        }
+        running.set(false);
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(List.of(), List.copyOf(failures));
+    }
+
+    /*
+     * name: 'Top matches and pages read the committed summary'
+     * invoke: writer keeps moving the only match while readers take top matches and the first page
+     * verify: the match is never seen twice (live index shows both positions of a moving match for a moment)
+     */
+    @Test
+    public void testTopMatchesAndPage_Committed() throws Exception {
+        scoreboard.startNewMatch("Spain", "Brazil");
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var running = new AtomicBoolean(true);
+        var readers = new ArrayList<Thread>();
+        for (var r = 0; r < 3; r++) {
+            readers.add(new Thread(() -> {
+                while (running.get()) {
+                    try {
+                        assertEquals(1, scoreboard.getTopMatches(10).size());
+                        assertEquals(1, scoreboard.getSummaryPage(null, 10).matches().size());
+                    } catch (Throwable ex) {
+                        failures.add(ex);
+                        return;
+                    }
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        for (var i = 1; i <= 20_000 && failures.isEmpty(); i++) {
+            scoreboard.updateMatchScore("Spain", "Brazil", i, 0);
+        }
+        running.set(false);
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(List.of(), List.copyOf(failures));
+    }
+
+    @Test
+    public void testVersions_OtherModesUnsupported() {
+        var liveIndex = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        assertThrows(UnsupportedOperationException.class, () -> liveIndex.getSummary(liveIndex.getBoardVersion()));
+        assertThrows(UnsupportedOperationException.class, () -> liveIndex.openView(IsolationLevel.SERIALIZABLE));
+    }
+
+}
@@ -0,0 +1,164 @@
+package sportradar.demo.football.codec;
+
+import org.junit.jupiter.api.Test;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+
+import java.lang.management.ManagementFactory;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardCodecTests {
+
+    /*
+     * name: 'Summary round trip'
+     * invoke: encode summary into direct buffer at some offset, decode it back
+     * verify: the same matches in the same order, every team name is sent once
+     */
+    @Test
+    public void testSummary_RoundTrip() {
+        var summary = List.of(
+                new CurrentMatch("Uruguay", "Italy", 6, 6, 4),
+                new CurrentMatch("Spain", "Brazil", 10, 2, 1),
+                new CurrentMatch("Curaçao", "Côte d'Ivoire", 0, 5, 0)
+        );
+        var buffer = ByteBuffer.allocateDirect(1024);
+
+        var length = new BoardEncoder().encodeSummary(42L, summary, buffer, 100);
+
+        var decoder = new BoardDecoder().wrap(buffer, 100);
+        assertEquals(BoardCodec.TEMPLATE_SUMMARY, decoder.templateId());
+        assertEquals(length, decoder.encodedLength());
+        assertEquals(42L, decoder.boardVersion());
+        assertEquals(6, decoder.nameCount());
+        assertEquals("Spain", decoder.teamName(decoder.homeTeamId(1)));
+        assertEquals(10, decoder.homeScore(1));
+        var decoded = decoder.decodeSummary();
+        assertEquals(summary.stream().map(CurrentMatch::toString).toList(),
+                decoded.stream().map(CurrentMatch::toString).toList());
+        assertEquals(0, buffer.position());
+    }
+
+    /*
+     * name: 'Changes round trip'
+     * invoke: encode start, score change and finish of the same match
+     * verify: the team names are in the table once, previous scores are kept for score change
+     */
+    @Test
+    public void testChanges_RoundTrip() {
+        var started = new CurrentMatch("Mexico", "Canada", 0, 0, 7);
+        var updated = new CurrentMatch("Mexico", "Canada", 0, 5, 7);
+        var changes = List.of(
+                MatchChange.started(started),
+                MatchChange.scoreChanged(started, updated),
+                MatchChange.finished(updated)
+        );
+        var buffer = ByteBuffer.allocate(256);
+
+        new BoardEncoder().encodeChanges(3L, changes, buffer, 0);
+
+        var decoder = new BoardDecoder().wrap(buffer, 0);
+        assertEquals(2, decoder.nameCount());
+        assertEquals(MatchChange.Type.SCORE_CHANGED, decoder.changeType(1));
+        var decoded = decoder.decodeChanges();
+        assertEquals(MatchChange.Type.STARTED, decoded.get(0).type());
+        assertNull(decoded.get(0).before());
+        assertEquals(0, decoded.get(1).before().getAwayScore());
+        assertEquals(5, decoded.get(1).after().getAwayScore());
+        assertEquals(MatchChange.Type.FINISHED, decoded.get(2).type());
+        assertEquals(5, decoded.get(2).before().getAwayScore());
+        assertNull(decoded.get(2).after());
+    }
+
+    @Test
+    public void testEncode_BufferTooSmall() {
+        var summary = List.of(new CurrentMatch("Mexico", "Canada", 0, 5, 1));
+        assertThrows(BufferOverflowException.class,
+                () -> new BoardEncoder().encodeSummary(1L, summary, ByteBuffer.allocate(40), 0));
+
+        var buffer = ByteBuffer.allocate(64);
+        new BoardEncoder().encodeSummary(1L, summary, buffer, 0);
+        assertThrows(IllegalArgumentException.class, () -> new BoardDecoder().wrap(buffer.limit(30), 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoardDecoder().wrap(ByteBuffer.allocate(64), 0));
+    }
+
+    /*
+     * name: 'Hostile input'
+     * invoke: decode message claiming Integer.MAX_VALUE names in 40 bytes, change with unknown type byte
+     * verify: IllegalArgumentException for both, nothing is allocated by the claimed count
+     */
+    @Test
+    public void testDecode_HostileInput() {
+        var buffer = ByteBuffer.allocate(40);
+        new BoardEncoder().encodeSummary(1L, List.of(), buffer, 0);
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putInt(BoardCodec.NAME_COUNT_OFFSET, Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> new BoardDecoder().wrap(buffer, 0));
+
+        var changes = ByteBuffer.allocate(256);
+        var started = new CurrentMatch("Mexico", "Canada", 0, 0, 7);
+        new BoardEncoder().encodeChanges(1L, List.of(MatchChange.started(started)), changes, 0);
+        for (var type : new byte[]{7, (byte) 200}) {
+            changes.put(BoardCodec.HEADER_LENGTH + BoardCodec.BLOCK_LENGTH, type);
+            var decoder = new BoardDecoder().wrap(changes, 0);
+            assertThrows(IllegalArgumentException.class, () -> decoder.changeType(0));
+            assertThrows(IllegalArgumentException.class, decoder::decodeChanges);
+        }
+    }
+
+    /*
+     * name: 'Team id outside of the name table'
+     * invoke: decode summary and changes whose entries refer to teams the name table does not have
+     * verify: IllegalArgumentException, the same as for any other invalid message
+     */
+    @Test
+    public void testDecode_UnknownTeamId() {
+        var entries = BoardCodec.HEADER_LENGTH + BoardCodec.BLOCK_LENGTH;
+        var summary = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        new BoardEncoder().encodeSummary(1L, List.of(new CurrentMatch("Mexico", "Canada", 0, 5, 1)), summary, 0);
+        for (var teamId : new int[]{2, -1}) {
+            summary.putInt(entries, teamId);
+            var decoder = new BoardDecoder().wrap(summary, 0);
+            assertThrows(IllegalArgumentException.class, decoder::decodeSummary);
+        }
+
+        var changes = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        var started = new CurrentMatch("Mexico", "Canada", 0, 0, 7);
+        new BoardEncoder().encodeChanges(1L, List.of(MatchChange.started(started)), changes, 0);
+        // away team id of the first entry
+        changes.putInt(entries + 8, Integer.MAX_VALUE);
+        var decoder = new BoardDecoder().wrap(changes, 0);
+        assertThrows(IllegalArgumentException.class, decoder::decodeChanges);
+    }
+
+    /*
+     * name: 'Encoding allocates nothing'
+     * invoke: encode the same board many times with the same encoder and buffer
+     * verify: name table is reused, nothing is allocated per message
+     */
+    @Test
+    public void testEncode_AllocatesNothing() {
+        var summary = new ArrayList<CurrentMatch>();
+        for (var i = 0; i < 100; i++) {
+            summary.add(new CurrentMatch("Home" + i, "Away" + i, i, 0, i));
+        }
+        var encoder = new BoardEncoder();
+        var buffer = ByteBuffer.allocateDirect(16 * 1024);
+        for (var i = 0; i < 20_000; i++) {
+            encoder.encodeSummary(i, summary, buffer, 0);
+        }
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var before = threads.getThreadAllocatedBytes(threadId);
+        for (var i = 0; i < 20_000; i++) {
+            encoder.encodeSummary(i, summary, buffer, 0);
+        }
+        var allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated < 10_000, "Encoding allocated " + allocated + " bytes");
+    }
+
+}
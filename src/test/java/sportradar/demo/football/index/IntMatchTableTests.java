@@ -0,0 +1,105 @@
+package sportradar.demo.football.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntMatchTableTests {
+
+    /*
+     * name: 'Growing table'
+     * invoke: put much more keys than initial capacity, remove every second one
+     * verify: every remaining key is found after rehashes, removed ones are absent
+     */
+    @Test
+    public void testPutRemove_Rehash() {
+        var table = new IntMatchTable<String>();
+        for (var key = 0; key < 10_000; key++) {
+            assertNull(table.putIfAbsent(key, "v" + key));
+        }
+        for (var key = 0; key < 10_000; key += 2) {
+            assertTrue(table.remove(key, table.get(key)));
+        }
+        assertEquals(5_000, table.size());
+        for (var key = 0; key < 10_000; key++) {
+            assertEquals(key % 2 == 0 ? null : "v" + key, table.get(key));
+        }
+    }
+
+    /*
+     * name: 'Writers racing through rehashes'
+     * invoke: threads put the same growing set of keys with their own values, then remove what they have put
+     *  once all of them are done (every slot is a CAS, rehash freezes the table meanwhile)
+     * verify: each key is won by exactly one thread, whoever won it removes it, nothing is left behind
+     */
+    @Test
+    public void testPutRemove_ConcurrentRehash() throws InterruptedException {
+        var table = new IntMatchTable<String>();
+        var keys = 20_000;
+        var winners = new AtomicInteger();
+        var allPut = new CyclicBarrier(4);
+        var threads = new ArrayList<Thread>();
+        for (var t = 0; t < 4; t++) {
+            var value = "thread" + t;
+            threads.add(new Thread(() -> {
+                var won = new ArrayList<Integer>();
+                for (var key = 0; key < keys; key++) {
+                    if (table.putIfAbsent(key, value) == null) {
+                        won.add(key);
+                    }
+                }
+                winners.addAndGet(won.size());
+                try {
+                    allPut.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new IllegalStateException(e);
+                }
+                for (var key : won) {
+                    assertTrue(table.remove(key, value));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            thread.join();
+        }
+        assertEquals(keys, winners.get());
+        assertEquals(0, table.size());
+        for (var key = 0; key < keys; key++) {
+            assertNull(table.get(key));
+        }
+    }
+
+    @Test
+    public void testPutIfAbsent_ExistingKey() {
+        var table = new IntMatchTable<String>();
+        table.putIfAbsent(7, "first");
+        assertEquals("first", table.putIfAbsent(7, "second"));
+        assertEquals("first", table.get(7));
+    }
+
+    // value is compared by reference, so stale remover never releases the team taken by the new match
+    @Test
+    public void testRemove_OtherValue() {
+        var table = new IntMatchTable<String>();
+        table.putIfAbsent(7, "new match");
+        assertFalse(table.remove(7, "old match"));
+        assertEquals("new match", table.get(7));
+    }
+
+    @Test
+    public void testTeamDictionary_DenseIds() {
+        var dictionary = new TeamDictionary();
+        assertEquals(0, dictionary.intern("Spain"));
+        assertEquals(1, dictionary.intern("Brazil"));
+        assertEquals(0, dictionary.intern("Spain"));
+        assertEquals(TeamDictionary.UNKNOWN_TEAM, dictionary.find("Italy"));
+        assertEquals("Brazil", dictionary.nameOf(1));
+    }
+
+}
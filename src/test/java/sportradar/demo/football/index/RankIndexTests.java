@@ -0,0 +1,64 @@
+package sportradar.demo.football.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankIndexTests {
+
+    /*
+     * name: 'Rank follows sorted order'
+     * invoke: random adds, removes and replaces
+     * verify: countBefore is the same as position in sorted set, for present and absent elements
+     */
+    @Test
+    public void testCountBefore_RandomChanges() {
+        var index = new RankIndex<Integer>();
+        var expected = new TreeSet<Integer>();
+        var random = new Random(42);
+        for (var i = 0; i < 20_000; i++) {
+            var element = random.nextInt(5_000);
+            if (expected.contains(element)) {
+                if (random.nextBoolean()) {
+                    index.remove(element);
+                    expected.remove(element);
+                } else {
+                    var replacement = element + 5_000;
+                    if (!expected.contains(replacement)) {
+                        index.replace(element, replacement);
+                        expected.remove(element);
+                        expected.add(replacement);
+                    }
+                }
+            } else {
+                index.add(element);
+                expected.add(element);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+        for (var probe = -1; probe < 10_001; probe += 7) {
+            assertEquals(expected.headSet(probe).size(), index.countBefore(probe));
+        }
+    }
+
+    // sorted insertion order would make plain BST a list, treap stays shallow (recursion would overflow otherwise)
+    @Test
+    public void testAdd_SortedInput() {
+        var index = new RankIndex<Integer>();
+        var elements = new ArrayList<Integer>();
+        for (var i = 0; i < 200_000; i++) {
+            elements.add(i);
+        }
+        elements.forEach(index::add);
+        Collections.reverse(elements);
+        assertEquals(150_000, index.countBefore(150_000));
+        elements.forEach(index::remove);
+        assertEquals(0, index.size());
+    }
+
+}
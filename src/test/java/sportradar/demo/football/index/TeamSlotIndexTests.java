@@ -0,0 +1,40 @@
+package sportradar.demo.football.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TeamSlotIndexTests {
+
+    /*
+     * name: 'Stale helper after the slot is reused'
+     * invoke: read the entry, team is released and reserved again for the same slot, release with the old entry
+     * verify: the stale release fails, the team keeps the new match
+     */
+    @Test
+    public void testRelease_SameSlotReservedAgain() {
+        var index = new TeamSlotIndex();
+        assertTrue(index.reserve(7, index.entry(7), 3));
+        var stale = index.entry(7);
+
+        assertTrue(index.release(7, 3));
+        assertTrue(index.reserve(7, index.entry(7), 3));
+
+        assertFalse(index.release(7, stale));
+        assertEquals(3, index.get(7));
+    }
+
+    @Test
+    public void testReserve_TakenTeam() {
+        var index = new TeamSlotIndex();
+        var free = index.entry(5_000);
+        assertEquals(TeamSlotIndex.NO_SLOT, TeamSlotIndex.slotOf(free));
+        assertTrue(index.reserve(5_000, free, 0));
+        assertFalse(index.reserve(5_000, free, 1));
+        assertFalse(index.release(5_000, 1));
+        assertEquals(0, index.get(5_000));
+        assertTrue(index.release(5_000, 0));
+        assertEquals(TeamSlotIndex.NO_SLOT, index.get(5_000));
+    }
+
+}
@@ -0,0 +1,91 @@
+package sportradar.demo.football.jfr;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.SummaryMode;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreboardEventsTests {
+
+    @TempDir
+    private Path dir;
+
+    /*
+     * name: 'Scoreboard events are recorded'
+     * invoke: while JFR recording is running update, remove, update of the removed match,
+ *  start with already playing AWAY team and read summary
+     * verify: MatchWrite (one per write, failed ones too), MatchStartRollback and SummaryScan events are recorded
+ *  with their fields
+     */
+    @Test
+    public void testEvents_Recorded() throws Exception {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        scoreboard.startNewMatch("Spain", "Brazil");
+        scoreboard.startNewMatch("Germany", "France");
+
+        var file = dir.resolve("board.jfr");
+        try (var recording = new Recording()) {
+            recording.enable(MatchWriteEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(MatchStartRollbackEvent.class);
+            recording.enable(SummaryScanEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            scoreboard.updateMatchScore("Spain", "Brazil", 1, 0);
+            scoreboard.removeMatch("Germany", "France");
+            assertEquals(CommandResult.MATCH_NOT_STARTED, scoreboard.tryUpdateMatchScore("Germany", "France", 1, 1));
+            // Mexico is reserved first, then rolled back because Brazil is playing
+            assertThrows(TeamAlreadyPlayingException.class, () -> scoreboard.startNewMatch("Mexico", "Brazil"));
+            scoreboard.getSummary();
+
+            recording.stop();
+            recording.dump(file);
+        }
+        var events = RecordingFile.readAllEvents(file);
+
+        var writes = eventsOf(events, "sportradar.football.MatchWrite");
+        assertEquals(4, writes.size());
+        var update = writeOf(writes, "UPDATE", "OK");
+        assertEquals("Spain", update.getString("homeTeam"));
+        assertEquals("Brazil", update.getString("awayTeam"));
+        assertEquals(0, update.getInt("casRetries"));
+        var remove = writeOf(writes, "REMOVE", "OK");
+        assertEquals("Germany", remove.getString("homeTeam"));
+        assertEquals("France", remove.getString("awayTeam"));
+        // failed writes are recorded too
+        assertEquals("Germany", writeOf(writes, "UPDATE", "MATCH_NOT_STARTED").getString("homeTeam"));
+        assertEquals("Mexico", writeOf(writes, "START", "TEAM_ALREADY_PLAYING").getString("homeTeam"));
+
+        var rollbacks = eventsOf(events, "sportradar.football.MatchStartRollback");
+        assertEquals(1, rollbacks.size());
+        assertEquals("Mexico", rollbacks.get(0).getString("homeTeam"));
+        assertEquals("Brazil", rollbacks.get(0).getString("awayTeam"));
+
+        var scans = eventsOf(events, "sportradar.football.SummaryScan");
+        assertEquals(1, scans.size());
+        assertEquals("LIVE_INDEX", scans.get(0).getString("summaryMode"));
+        assertEquals(1, scans.get(0).getInt("matches"));
+    }
+
+    private static RecordedEvent writeOf(List<RecordedEvent> writes, String operation, String outcome) {
+        return writes.stream()
+                .filter(e -> e.getString("operation").equals(operation) && e.getString("outcome").equals(outcome))
+                .findFirst().orElseThrow();
+    }
+
+    private static List<RecordedEvent> eventsOf(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+}
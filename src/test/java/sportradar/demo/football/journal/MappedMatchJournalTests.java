@@ -0,0 +1,208 @@
+package sportradar.demo.football.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.SummaryMode;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedMatchJournalTests {
+
+    @TempDir
+    Path journalDir;
+
+    /*
+     * name: 'Restart mid-tournament'
+     * invoke: start, update and remove matches on journaled board, close it
+     * invoke: create new board on the same journal directory
+     * verify: summary is the same as before restart, new matches get newer startSequence
+     */
+    @Test
+    public void testReplay_RestoresBoard() {
+        List<String> before;
+        try (var journal = new MappedMatchJournal(journalDir)) {
+            var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX, journal);
+            scoreboard.startNewMatch("Mexico", "Canada");
+            scoreboard.startNewMatch("Spain", "Brazil");
+            scoreboard.startNewMatch("Germany", "France");
+            scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+            scoreboard.updateMatchScore("Spain", "Brazil", 10, 2);
+            scoreboard.removeMatch("Spain", "Brazil");
+            before = scoreboard.getSummary().stream().map(Object::toString).toList();
+        }
+
+        try (var journal = new MappedMatchJournal(journalDir)) {
+            var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.SNAPSHOT, journal);
+            assertEquals(before, scoreboard.getSummary().stream().map(Object::toString).toList());
+
+            scoreboard.startNewMatch("Uruguay", "Italy");
+            var summary = scoreboard.getSummary();
+            assertEquals("Uruguay", summary.get(1).getHomeTeam(), "Restarted board has to continue startSequence");
+        }
+    }
+
+    /*
+     * name: 'Records the journal could not hold'
+     * invoke: append record bigger than a segment and record with team name over 65535 UTF-8 bytes
+     * verify: both are rejected without writing or rolling anything, the name over 32767 bytes is replayed as is
+     */
+    @Test
+    public void testAppend_RejectsOversized() throws IOException {
+        var longName = "x".repeat(40_000);
+        try (var journal = new MappedMatchJournal(journalDir, 256)) {
+            journal.appendStart("home", "away", 1);
+            var position = journal.position();
+            assertThrows(IllegalArgumentException.class, () -> journal.appendStart("x".repeat(300), "away", 2));
+            assertThrows(IllegalArgumentException.class, () -> journal.appendStart("x".repeat(70_000), "away", 2));
+            assertEquals(position, journal.position());
+            assertEquals(1, journal.listSegments().size());
+        }
+
+        try (var journal = new MappedMatchJournal(journalDir.resolve("long"), 128 * 1024)) {
+            journal.appendStart(longName, "away", 1);
+        }
+        var names = new ArrayList<String>();
+        try (var journal = new MappedMatchJournal(journalDir.resolve("long"), 128 * 1024)) {
+            journal.replayFrom(0L, new JournalHandler() {
+                @Override
+                public void onStart(String homeTeam, String awayTeam, int startSequence) {
+                    names.add(homeTeam);
+                }
+
+                @Override
+                public void onUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+                    fail("Only start was journaled");
+                }
+
+                @Override
+                public void onRemove(String homeTeam, String awayTeam) {
+                    fail("Only start was journaled");
+                }
+            });
+        }
+        assertEquals(List.of(longName), names);
+    }
+
+    // records which do not fit into the segment go to the next one, replay reads them in order
+    @Test
+    public void testAppend_RollsSegments() {
+        try (var journal = new MappedMatchJournal(journalDir, 256)) {
+            for (var i = 0; i < 50; i++) {
+                journal.appendUpdate("home", "away", i, 0);
+            }
+        }
+        var scores = new ArrayList<Integer>();
+        try (var journal = new MappedMatchJournal(journalDir, 256)) {
+            journal.replay(new JournalHandler() {
+                @Override
+                public void onStart(String homeTeam, String awayTeam, int startSequence) {
+                    fail("Only updates were journaled");
+                }
+
+                @Override
+                public void onUpdate(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+                    scores.add(homeScore);
+                }
+
+                @Override
+                public void onRemove(String homeTeam, String awayTeam) {
+                    fail("Only updates were journaled");
+                }
+            });
+        }
+        assertEquals(50, scores.size());
+        assertEquals(49, scores.get(49));
+    }
+
+    /*
+     * name: 'Restart after checkpoint'
+     * invoke: play enough matches to roll several segments, checkpoint, play a few more, close it
+     * invoke: create new board on the same journal directory
+     * verify: old segments are deleted, summary is the same as before restart
+     */
+    @Test
+    public void testCheckpoint_TruncatesJournal() throws IOException {
+        List<String> before;
+        try (var journal = new MappedMatchJournal(journalDir, 512)) {
+            var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX, journal);
+            for (var i = 0; i < 20; i++) {
+                scoreboard.startNewMatch("Home" + i, "Away" + i);
+                scoreboard.updateMatchScore("Home" + i, "Away" + i, i, 1);
+                if (i % 2 == 0) {
+                    scoreboard.removeMatch("Home" + i, "Away" + i);
+                }
+            }
+            var segmentsBefore = journal.listSegments().size();
+            scoreboard.checkpoint();
+            assertTrue(journal.listSegments().size() < segmentsBefore, "Covered segments have to be deleted");
+
+            scoreboard.updateMatchScore("Home1", "Away1", 7, 7);
+            scoreboard.removeMatch("Home3", "Away3");
+            scoreboard.startNewMatch("Home0", "Away0");
+            before = scoreboard.getSummary().stream().map(Object::toString).toList();
+        }
+        try (var files = Files.list(journalDir)) {
+            assertEquals(1, files.filter(file -> file.toString().endsWith(".bin")).count());
+        }
+
+        try (var journal = new MappedMatchJournal(journalDir, 512)) {
+            var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX, journal);
+            assertEquals(before, scoreboard.getSummary().stream().map(Object::toString).toList());
+
+            // both are 0 - 0, the newer one goes first
+            scoreboard.startNewMatch("Uruguay", "Italy");
+            var summary = scoreboard.getSummary();
+            assertEquals("Uruguay", summary.get(summary.size() - 2).getHomeTeam(),
+                    "Restarted board has to continue startSequence");
+            assertEquals("Home0", summary.get(summary.size() - 1).getHomeTeam());
+        }
+    }
+
+    /*
+     * name: 'Concurrent sync over segment rolls'
+     * invoke: 4 threads append and sync into tiny segments, so rolls happen between snapshots of sync()
+     * verify: no thread fails, durable LSN never goes back and covers everything at the end
+     */
+    @Test
+    public void testSync_ConcurrentWithRolls() throws Exception {
+        try (var journal = new MappedMatchJournal(journalDir, 256)) {
+            var failures = new ArrayList<Throwable>();
+            var threads = new ArrayList<Thread>();
+            for (var t = 0; t < 4; t++) {
+                var team = "Team" + t;
+                threads.add(new Thread(() -> {
+                    try {
+                        var lastDurable = 0L;
+                        for (var i = 0; i < 2_000; i++) {
+                            journal.appendUpdate(team, "Away", i, i);
+                            journal.sync();
+                            var durable = journal.getDurableLsn();
+                            assertTrue(durable >= lastDurable, "Durable LSN went back");
+                            lastDurable = durable;
+                        }
+                    } catch (Throwable ex) {
+                        synchronized (failures) {
+                            failures.add(ex);
+                        }
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            for (var thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(List.of(), failures);
+            assertEquals(journal.getWrittenLsn(), journal.getDurableLsn());
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package sportradar.demo.football.registry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.dto.CommandResult;
+import sportradar.demo.football.journal.FileBoardStore;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoreboardRegistryTests {
+
+    @TempDir
+    Path storeDir;
+
+    /*
+     * name: 'Competitions are independent'
+     * verify: the same team could play in two competitions at once, each board has its own summary
+     */
+    @Test
+    public void testGet_SeparateBoards() {
+        try (var registry = new ScoreboardRegistry(new SportRadarMatchValidator(), new FileBoardStore(storeDir), Duration.ZERO)) {
+            registry.get("Premier League").startNewMatch("Arsenal", "Chelsea");
+            registry.get("FA Cup").startNewMatch("Arsenal", "Wigan");
+
+            assertSame(registry.get("FA Cup"), registry.get("FA Cup"));
+            assertEquals("Chelsea", registry.get("Premier League").getSummary().get(0).getAwayTeam());
+            assertEquals("Wigan", registry.get("FA Cup").getSummary().get(0).getAwayTeam());
+        }
+    }
+
+    /*
+     * name: 'Growing board'
+     * invoke: start more matches than upgrade threshold
+     * verify: board moves from compact to scalable engine, summary stays the same
+     */
+    @Test
+    public void testUpgrade_KeepsSummary() {
+        try (var registry = new ScoreboardRegistry(new SportRadarMatchValidator(), new FileBoardStore(storeDir),
+                ScoreboardEngine.PACKED, ScoreboardEngine.LIVE_INDEX, 3, Duration.ZERO)) {
+            var board = registry.get("Youth League");
+            for (var i = 0; i < 3; i++) {
+                board.startNewMatch("Home" + i, "Away" + i);
+                board.updateMatchScore("Home" + i, "Away" + i, 1, 0);
+            }
+            assertEquals(ScoreboardEngine.PACKED, board.getEngine());
+            var before = board.getSummary();
+
+            board.startNewMatch("Home3", "Away3");
+            assertEquals(ScoreboardEngine.LIVE_INDEX, board.getEngine());
+            var summary = board.getSummary();
+            assertEquals(4, summary.size());
+            assertEquals("Home2", summary.get(0).getHomeTeam(), "The latest match goes first among equal scores");
+            assertEquals(before.stream().map(match -> match.getHomeTeam()).toList(),
+                    summary.subList(0, 3).stream().map(match -> match.getHomeTeam()).toList());
+        }
+    }
+
+    /*
+     * name: 'Idle board'
+     * invoke: evict idle boards, then use the old handle again
+     * verify: board is dropped from memory and loaded back from the store with the same summary
+     */
+    @Test
+    public void testEvict_LoadsBack() {
+        try (var registry = new ScoreboardRegistry(new SportRadarMatchValidator(), new FileBoardStore(storeDir), Duration.ZERO)) {
+            var board = registry.get("Copa America");
+            board.startNewMatch("Uruguay", "Italy");
+            board.startNewMatch("Mexico", "Canada");
+            board.updateMatchScore("Uruguay", "Italy", 6, 6);
+            var before = board.getSummary();
+
+            assertEquals(1, registry.evictIdle());
+            assertNull(board.getEngine());
+
+            assertEquals(before, board.getSummary());
+            assertNotNull(board.getEngine());
+            board.removeMatch("Mexico", "Canada");
+            assertEquals(1, board.getSummary().size());
+        }
+    }
+
+    /*
+     * name: 'Live matches counter under upgrades and evictions'
+     * invoke: threads start and remove their matches around the upgrade threshold while boards are evicted and loaded
+     * verify: the counter is the same as the real number of matches on the board at the end
+     */
+    @Test
+    public void testLiveMatches_ExactUnderReplace() throws Exception {
+        try (var registry = new ScoreboardRegistry(new SportRadarMatchValidator(), new FileBoardStore(storeDir),
+                ScoreboardEngine.PACKED, ScoreboardEngine.LIVE_INDEX, 20, Duration.ZERO)) {
+            var board = registry.get("Youth League");
+            var writers = new ArrayList<Thread>();
+            for (var t = 0; t < 4; t++) {
+                var prefix = "T" + t + "-";
+                writers.add(new Thread(() -> {
+                    for (var round = 0; round < 50; round++) {
+                        for (var i = 0; i < 8; i++) {
+                            board.startNewMatch(prefix + "Home" + i, prefix + "Away" + i);
+                        }
+                        for (var i = 0; i < 8; i++) {
+                            if (i % 2 == 0) {
+                                board.removeMatch(prefix + "Home" + i, prefix + "Away" + i);
+                            } else {
+                                assertEquals(CommandResult.OK, board.tryRemoveMatch(prefix + "Home" + i, prefix + "Away" + i));
+                            }
+                        }
+                    }
+                }));
+            }
+            var running = new AtomicBoolean(true);
+            var evictor = new Thread(() -> {
+                while (running.get()) {
+                    registry.evictIdle();
+                }
+            });
+            evictor.start();
+            writers.forEach(Thread::start);
+            for (var writer : writers) {
+                writer.join();
+            }
+            running.set(false);
+            evictor.join();
+
+            assertEquals(board.getSummary().size(), board.getLiveMatches());
+            assertEquals(0, board.getLiveMatches());
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+package sportradar.demo.football.replication;
+
+import org.junit.jupiter.api.Test;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.SummaryMode;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicationTests {
+
+    /*
+     * name: 'In-process replica follows the primary'
+     * invoke: attach replica to the board which already has matches, then start/update/remove more
+     * verify: replica serves the same summary, and has no lag then
+     */
+    @Test
+    public void testReplica_InProcess() throws Exception {
+        var primaryBoard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        primaryBoard.startNewMatch("Mexico", "Canada");
+        primaryBoard.updateMatchScore("Mexico", "Canada", 0, 5);
+
+        try (var primary = new ReplicationPrimary(primaryBoard);
+             var replica = new ScoreboardReplica(ScoreboardEngine.SNAPSHOT, new SportRadarMatchValidator())) {
+            primary.attach(replica);
+
+            primaryBoard.startNewMatch("Spain", "Brazil");
+            primaryBoard.updateMatchScore("Spain", "Brazil", 10, 2);
+            primaryBoard.startNewMatch("Germany", "France");
+            primaryBoard.removeMatch("Mexico", "Canada");
+
+            awaitConverged(primaryBoard, replica);
+            assertEquals(1, primary.getReplicaCount());
+            // the last record is taken from the inbox already, its lsn could be still on its way
+            assertEquals(Duration.ZERO, replica.getReplicationLag());
+            assertTrue(replica.getAppliedLsn() <= primary.getLsn());
+        }
+    }
+
+    /*
+     * name: 'Replica over loopback socket'
+     * invoke: replica connects to the primary over the socket and follows many concurrent writes
+     * verify: the same summary as the primary's one
+     */
+    @Test
+    public void testReplica_Socket() throws Exception {
+        var primaryBoard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        for (var i = 0; i < 50; i++) {
+            primaryBoard.startNewMatch("Home" + i, "Away" + i);
+        }
+
+        try (var primary = new ReplicationPrimary(primaryBoard);
+             var server = new SocketReplicationServer(primary, 0);
+             var replica = new ScoreboardReplica(ScoreboardEngine.LIVE_INDEX, new SportRadarMatchValidator());
+             var ignored = new SocketReplicationClient("localhost", server.getPort(), replica)) {
+            var writers = List.of(0, 1).stream().map(writer -> new Thread(() -> {
+                for (var i = writer; i < 50; i += 2) {
+                    primaryBoard.updateMatchScore("Home" + i, "Away" + i, i, 1);
+                    if (i % 10 == 0) {
+                        primaryBoard.removeMatch("Home" + i, "Away" + i);
+                    }
+                }
+            })).toList();
+            writers.forEach(Thread::start);
+            for (var writer : writers) {
+                writer.join();
+            }
+
+            awaitConverged(primaryBoard, replica);
+            assertEquals(45, replica.getSummary().size());
+        }
+    }
+
+    /*
+     * name: 'Closed replica is detached'
+     * invoke: close in-process replica with a tiny inbox, then write much more than the inbox holds
+     * verify: the primary detaches it instead of blocking, the other replica keeps following the board
+     */
+    @Test
+    public void testReplica_ClosedIsDetached() throws Exception {
+        var primaryBoard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        try (var primary = new ReplicationPrimary(primaryBoard);
+             var closed = new ScoreboardReplica(ScoreboardEngine.LIVE_INDEX, new SportRadarMatchValidator(), 2);
+             var healthy = new ScoreboardReplica(ScoreboardEngine.LIVE_INDEX, new SportRadarMatchValidator())) {
+            primary.attach(closed);
+            primary.attach(healthy);
+            closed.close();
+
+            primaryBoard.startNewMatch("Spain", "Brazil");
+            for (var i = 1; i <= 100; i++) {
+                primaryBoard.updateMatchScore("Spain", "Brazil", i, 0);
+            }
+
+            awaitConverged(primaryBoard, healthy);
+            assertEquals(1, primary.getReplicaCount());
+            assertThrows(UncheckedIOException.class,
+                    () -> closed.send(ReplicationRecord.marker(ReplicationRecord.Type.SYNCED, 1)));
+        }
+    }
+
+    /*
+     * name: 'Replicas are fed by the primary's own thread'
+     * invoke: attach a link which remembers the sending threads, write a few changes
+     * verify: streamed records are sent from the shipper thread, not from the change stream's common pool
+     */
+    @Test
+    public void testPrimary_ShipsOnOwnThread() throws Exception {
+        var primaryBoard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        var senders = new ConcurrentLinkedQueue<String>();
+        var records = new AtomicInteger();
+        try (var primary = new ReplicationPrimary(primaryBoard)) {
+            primary.attach(record -> {
+                senders.add(Thread.currentThread().getName());
+                records.incrementAndGet();
+            });
+            senders.clear();
+            var attached = records.get();
+
+            primaryBoard.startNewMatch("Spain", "Brazil");
+            primaryBoard.updateMatchScore("Spain", "Brazil", 1, 0);
+            primaryBoard.removeMatch("Spain", "Brazil");
+
+            var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (records.get() < attached + 3) {
+                assertTrue(System.nanoTime() < deadline, "Records were not shipped");
+                Thread.sleep(5);
+            }
+            assertEquals(Set.of("replication-primary"), Set.copyOf(senders));
+        }
+    }
+
+    /*
+     * name: 'Closed replica closes its board'
+     * invoke: replica on RING_BUFFER engine follows the primary, then it's closed
+     * verify: the writer thread of its board is stopped, the last applied summary is still served
+     */
+    @Test
+    public void testReplica_ClosesBoard() throws Exception {
+        var primaryBoard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        primaryBoard.startNewMatch("Spain", "Brazil");
+        var writersBefore = writerThreads();
+        try (var primary = new ReplicationPrimary(primaryBoard)) {
+            var replica = new ScoreboardReplica(ScoreboardEngine.RING_BUFFER, new SportRadarMatchValidator());
+            primary.attach(replica);
+            awaitConverged(primaryBoard, replica);
+
+            replica.close();
+
+            assertEquals(writersBefore, writerThreads());
+            assertEquals(1, replica.getSummary().size());
+        }
+    }
+
+    private static long writerThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("scoreboard-writer") && thread.isAlive())
+                .count();
+    }
+
+    // replica applies asynchronously and the change stream is asynchronous too: wait until they converge
+    private static void awaitConverged(FootballScoreboardImpl primaryBoard, ScoreboardReplica replica)
+            throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!replica.isSynced() || !names(primaryBoard.getSummary()).equals(names(replica.getSummary()))) {
+            assertTrue(System.nanoTime() < deadline, "Replica has not caught up");
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<String> names(List<CurrentMatch> summary) {
+        return summary.stream()
+                .map(match -> match.getHomeTeam() + " " + match.getHomeScore() + " - " + match.getAwayTeam() + " " + match.getAwayScore())
+                .toList();
+    }
+
+}
@@ -0,0 +1,129 @@
+package sportradar.demo.football.stress;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Wing & Gong search with Lowe's memoization: tries to order operations of the history the way
+ * each of them takes effect between its call and its return, and the sequential model returns the same results.
+ * <p>
+ * History is a list of call/return entries sorted by time. Search takes the first call entry which the model accepts,
+ * removes the operation from the list and goes on. Return entry met first means no pending call could go next:
+ * the last choice is undone. (linearized operations, model state) pairs already tried are cached,
+ * so the search is fast for histories of a few hundred operations with moderate concurrency.
+ */
+public class LinearizabilityChecker {
+
+    private static final class Entry {
+        private final Operation operation;
+        private final boolean call;
+        private final long time;
+        private Entry match;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(Operation operation, boolean call, long time) {
+            this.operation = operation;
+            this.call = call;
+            this.time = time;
+        }
+    }
+
+    private record Choice(Entry call, SequentialScoreboard.State state) {
+    }
+
+    private record Tried(BitSet linearized, SequentialScoreboard.State state) {
+    }
+
+    private final SequentialScoreboard model;
+
+    public LinearizabilityChecker(SequentialScoreboard model) {
+        this.model = model;
+    }
+
+    public boolean isLinearizable(List<Operation> history) {
+        var head = buildEntries(history);
+        var state = SequentialScoreboard.EMPTY;
+        var linearized = new BitSet(history.size());
+        var tried = new HashSet<Tried>();
+        var choices = new ArrayDeque<Choice>();
+
+        var entry = head.next;
+        while (head.next != null) {
+            if (entry.call) {
+                var nextState = model.apply(state, entry.operation);
+                if (nextState != null) {
+                    var nextLinearized = (BitSet) linearized.clone();
+                    nextLinearized.set(entry.operation.id());
+                    if (tried.add(new Tried(nextLinearized, nextState))) {
+                        choices.push(new Choice(entry, state));
+                        state = nextState;
+                        linearized = nextLinearized;
+                        lift(entry);
+                        entry = head.next;
+                        continue;
+                    }
+                }
+                entry = entry.next;
+            } else {
+                if (choices.isEmpty()) {
+                    return false;
+                }
+                var choice = choices.pop();
+                state = choice.state();
+                linearized = (BitSet) linearized.clone();
+                linearized.clear(choice.call().operation.id());
+                unlift(choice.call());
+                entry = choice.call().next;
+            }
+        }
+        return true;
+    }
+
+    // sentinel head, then entries by time; call goes before return of the same moment: overlapping is safer
+    private static Entry buildEntries(List<Operation> history) {
+        var entries = new ArrayList<Entry>(history.size() * 2);
+        for (var operation : history) {
+            var call = new Entry(operation, true, operation.invokedNanos());
+            var ret = new Entry(operation, false, operation.returnedNanos());
+            call.match = ret;
+            entries.add(call);
+            entries.add(ret);
+        }
+        entries.sort(Comparator.comparingLong((Entry entry) -> entry.time).thenComparing(entry -> !entry.call));
+        var head = new Entry(null, false, Long.MIN_VALUE);
+        var last = head;
+        for (var entry : entries) {
+            last.next = entry;
+            entry.prev = last;
+            last = entry;
+        }
+        return head;
+    }
+
+    private static void lift(Entry call) {
+        call.prev.next = call.next;
+        call.next.prev = call.prev;
+        var ret = call.match;
+        ret.prev.next = ret.next;
+        if (ret.next != null) {
+            ret.next.prev = ret.prev;
+        }
+    }
+
+    // reverse order of lift()
+    private static void unlift(Entry call) {
+        var ret = call.match;
+        ret.prev.next = ret;
+        if (ret.next != null) {
+            ret.next.prev = ret;
+        }
+        call.prev.next = call;
+        call.next.prev = call;
+    }
+
+}
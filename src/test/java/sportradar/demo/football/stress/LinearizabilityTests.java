@@ -0,0 +1,150 @@
+package sportradar.demo.football.stress;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinearizabilityTests {
+
+    private static final int ROUNDS = 20;
+
+    // Engines without the false-negative start of the two steps reservation (FIXME in FootballScoreboardImpl):
+    // checked against the strict model. SHARDED waits for a PENDING start instead of failing on it,
+    // its summaries are not checked here (startSequence is taken before the start takes effect).
+    // The other engines reserve home team first, so waiting could deadlock: they stay relaxed on purpose.
+    private static final Set<ScoreboardEngine> STRICT_ENGINES =
+            EnumSet.of(ScoreboardEngine.RING_BUFFER, ScoreboardEngine.SHARDED);
+
+    /*
+     * name: 'Writes are linearizable'
+     * invoke: many short rounds of conflicting start/update/remove from 4 threads over 5 teams
+     * verify: every history is linearizable against the strict sequential model for STRICT_ENGINES,
+     *  against the relaxed one for the others
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testWrites_Linearizable(ScoreboardEngine engine) throws Exception {
+        var config = new StressHarness.Config(4, 25, 5, 0, Duration.ofSeconds(1), false);
+        checkRounds(engine, config);
+    }
+
+    /*
+     * name: 'Consistent summaries are linearizable'
+     * invoke: the same rounds with getSummary() calls, for engines which promise consistent summaries
+     * verify: every history is linearizable, summaries included
+     * SNAPSHOT is not here: writer could return before its change is in the snapshot (see SummaryMode),
+     *  a read right after the write could be stale. It's checked for consistent summaries only.
+     */
+    @ParameterizedTest
+    @EnumSource(value = ScoreboardEngine.class, names = {"MVCC", "RING_BUFFER"})
+    public void testSummaries_Linearizable(ScoreboardEngine engine) throws Exception {
+        var config = new StressHarness.Config(4, 25, 5, 30, Duration.ofSeconds(1), false);
+        checkRounds(engine, config);
+    }
+
+    @Test
+    public void testSummaries_SnapshotConsistent() throws Exception {
+        var config = new StressHarness.Config(4, 1_000, 8, 30, Duration.ofSeconds(1), false);
+        var report = new StressHarness(ScoreboardEngine.SNAPSHOT.create(new SportRadarMatchValidator()), config).run(7L);
+        assertEquals(0, report.failedOperations());
+        assertEquals(0, report.summaryAnomalies());
+    }
+
+    /*
+     * name: 'Contention report'
+     * invoke: bigger run over LIVE_INDEX with JFR recording of MatchWrite events
+     * verify: nothing failed, every start/update/remove is recorded once whatever its outcome, slow calls are counted
+     *  from the history (too big history to be checked). Throughput and retries per write depend on the machine
+     *  and the scheduler: they are only printed
+     */
+    @Test
+    public void testReport_LiveIndex() throws Exception {
+        var scoreboard = ScoreboardEngine.LIVE_INDEX.create(new SportRadarMatchValidator());
+        var config = new StressHarness.Config(8, 5_000, 16, 10, Duration.ofMillis(100), true);
+
+        var report = new StressHarness(scoreboard, config).run(42L);
+
+        assertEquals(40_000, report.history().size());
+        assertEquals(0, report.failedOperations());
+        var writes = report.history().stream()
+                .filter(operation -> operation.kind() != Operation.Kind.SUMMARY)
+                .count();
+        assertTrue(writes > 0);
+        assertEquals(writes, report.writeEvents());
+        var slow = report.history().stream()
+                .filter(operation -> operation.latencyNanos() > config.slowOperation().toNanos())
+                .count();
+        assertEquals(slow, report.slowOperations());
+        System.out.println("LIVE_INDEX: " + report);
+    }
+
+    /*
+     * name: 'Checker catches violations'
+     * verify: sequential history breaking the model is rejected,
+     *  false-negative start (FIXME in startMatch) is rejected by strict model only
+     */
+    @Test
+    public void testChecker_RejectsViolations() {
+        var strict = new LinearizabilityChecker(new SequentialScoreboard(true));
+        var relaxed = new LinearizabilityChecker(new SequentialScoreboard(false));
+
+        // the same match started twice one after another
+        var doubleStart = List.of(
+                start(0, "Mexico", "Canada", Operation.Outcome.OK, 0, 1),
+                start(1, "Mexico", "Canada", Operation.Outcome.OK, 2, 3)
+        );
+        assertFalse(strict.isLinearizable(doubleStart));
+        assertFalse(relaxed.isLinearizable(doubleStart));
+
+        // overlapping calls could take effect in any order
+        var overlapping = List.of(
+                start(0, "Mexico", "Canada", Operation.Outcome.OK, 0, 10),
+                new Operation(1, 1, Operation.Kind.REMOVE, "Mexico", "Canada", 0, 0,
+                        Operation.Outcome.OK, null, 1, 5)
+        );
+        assertTrue(strict.isLinearizable(overlapping));
+
+        // Mexico was never playing, but its start failed
+        var falseNegative = List.of(
+                start(0, "Mexico", "Canada", Operation.Outcome.TEAM_ALREADY_PLAYING, 0, 1)
+        );
+        assertFalse(strict.isLinearizable(falseNegative));
+        assertTrue(relaxed.isLinearizable(falseNegative));
+    }
+
+    private static Operation start(int id, String homeTeam, String awayTeam, Operation.Outcome outcome,
+                                   long invoked, long returned) {
+        return new Operation(id, id, Operation.Kind.START, homeTeam, awayTeam, 0, 0, outcome, null, invoked, returned);
+    }
+
+    private static void checkRounds(ScoreboardEngine engine, StressHarness.Config config) throws Exception {
+        var checker = new LinearizabilityChecker(new SequentialScoreboard(STRICT_ENGINES.contains(engine)));
+        for (var round = 0; round < ROUNDS; round++) {
+            var scoreboard = engine.create(new SportRadarMatchValidator());
+            try {
+                var report = new StressHarness(scoreboard, config).run(round);
+                assertEquals(0, report.failedOperations(), engine + " round " + round);
+                assertTrue(checker.isLinearizable(report.history()), engine + " history is not linearizable, seed " + round);
+            } finally {
+                close(scoreboard);
+            }
+        }
+    }
+
+    private static void close(FootballScoreboard scoreboard) throws Exception {
+        if (scoreboard instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package sportradar.demo.football.stress;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.List;
+
+/**
+ * Single completed call of the history: what was called, what it returned and when.
+ * Call took effect somewhere between invokedNanos and returnedNanos.
+ */
+public record Operation(int id, int thread, Kind kind, String homeTeam, String awayTeam,
+                        int homeScore, int awayScore, Outcome outcome, List<CurrentMatch> summary,
+                        long invokedNanos, long returnedNanos) {
+
+    public enum Kind {
+        START,
+        UPDATE,
+        REMOVE,
+        SUMMARY
+    }
+
+    public enum Outcome {
+        OK,
+        TEAM_ALREADY_PLAYING,
+        MATCH_NOT_STARTED,
+        // anything else, never correct
+        FAILED
+    }
+
+    public long latencyNanos() {
+        return returnedNanos - invokedNanos;
+    }
+
+}
@@ -0,0 +1,134 @@
+package sportradar.demo.football.stress;
+
+import sportradar.demo.football.dto.CurrentMatch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sequential specification of the board: what every call has to return if calls were executed one by one.
+ * <p>
+ * State is immutable, so checker could keep and compare states of different linearizations.
+ * Strict model is the specification itself. Relaxed model forgives two known gaps of the engines:
+ * <ul>
+ *     <li>start could fail with TeamAlreadyPlaying while other start of the same team is on its way
+ *     and fails itself later (see FIXME in FootballScoreboardImpl.startMatch)</li>
+ *     <li>matches with the same total score could be ordered not by the moment start took effect:
+ *     startSequence is taken before teams are reserved</li>
+ * </ul>
+ */
+public class SequentialScoreboard {
+
+    public record Match(String homeTeam, String awayTeam, int homeScore, int awayScore) {
+        int total() {
+            return homeScore + awayScore;
+        }
+    }
+
+    // matches in the order they were started
+    public record State(List<Match> matches) {
+    }
+
+    public static final State EMPTY = new State(List.of());
+
+    private static final Comparator<Match> BY_TOTAL_THEN_TEAM = Comparator.comparingInt(Match::total).reversed()
+            .thenComparing(Match::homeTeam);
+
+    private final boolean strict;
+
+    public SequentialScoreboard(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * State after the operation, or null if the operation could not return what it returned from that state
+     */
+    public State apply(State state, Operation operation) {
+        return switch (operation.kind()) {
+            case START -> start(state, operation);
+            case UPDATE -> update(state, operation);
+            case REMOVE -> remove(state, operation);
+            case SUMMARY -> matchesSummary(state, operation.summary()) ? state : null;
+        };
+    }
+
+    private State start(State state, Operation operation) {
+        var playing = state.matches().stream().anyMatch(match -> plays(match, operation.homeTeam())
+                || plays(match, operation.awayTeam()));
+        if (operation.outcome() == Operation.Outcome.TEAM_ALREADY_PLAYING) {
+            return playing || !strict ? state : null;
+        }
+        if (playing || operation.outcome() != Operation.Outcome.OK) {
+            return null;
+        }
+        var matches = new ArrayList<>(state.matches());
+        matches.add(new Match(operation.homeTeam(), operation.awayTeam(), 0, 0));
+        return new State(List.copyOf(matches));
+    }
+
+    private State update(State state, Operation operation) {
+        var index = indexOf(state, operation);
+        if (index < 0) {
+            return operation.outcome() == Operation.Outcome.MATCH_NOT_STARTED ? state : null;
+        }
+        if (operation.outcome() != Operation.Outcome.OK) {
+            return null;
+        }
+        var matches = new ArrayList<>(state.matches());
+        matches.set(index, new Match(operation.homeTeam(), operation.awayTeam(),
+                operation.homeScore(), operation.awayScore()));
+        return new State(List.copyOf(matches));
+    }
+
+    private State remove(State state, Operation operation) {
+        var index = indexOf(state, operation);
+        if (index < 0) {
+            return operation.outcome() == Operation.Outcome.MATCH_NOT_STARTED ? state : null;
+        }
+        if (operation.outcome() != Operation.Outcome.OK) {
+            return null;
+        }
+        var matches = new ArrayList<>(state.matches());
+        matches.remove(index);
+        return new State(List.copyOf(matches));
+    }
+
+    private boolean matchesSummary(State state, List<CurrentMatch> summary) {
+        var actual = summary.stream()
+                .map(match -> new Match(match.getHomeTeam(), match.getAwayTeam(), match.getHomeScore(), match.getAwayScore()))
+                .toList();
+        // the latest started goes first among the same total
+        var expected = new ArrayList<>(state.matches());
+        Collections.reverse(expected);
+        expected.sort(Comparator.comparingInt(Match::total).reversed());
+        if (strict) {
+            return expected.equals(actual);
+        }
+        for (var i = 1; i < actual.size(); i++) {
+            if (actual.get(i - 1).total() < actual.get(i).total()) {
+                return false;
+            }
+        }
+        var sortedActual = new ArrayList<>(actual);
+        sortedActual.sort(BY_TOTAL_THEN_TEAM);
+        expected.sort(BY_TOTAL_THEN_TEAM);
+        return expected.equals(sortedActual);
+    }
+
+    private static int indexOf(State state, Operation operation) {
+        for (var i = 0; i < state.matches().size(); i++) {
+            var match = state.matches().get(i);
+            if (match.homeTeam().equals(operation.homeTeam()) && match.awayTeam().equals(operation.awayTeam())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean plays(Match match, String team) {
+        return match.homeTeam().equals(team) || match.awayTeam().equals(team);
+    }
+
+}
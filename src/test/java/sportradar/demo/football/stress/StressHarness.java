@@ -0,0 +1,171 @@
+package sportradar.demo.football.stress;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import sportradar.demo.football.FootballScoreboard;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.ex.MatchNotStartedException;
+import sportradar.demo.football.ex.TeamAlreadyPlayingException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hammers any FootballScoreboard from many threads with random start/update/remove/getSummary calls
+ * over a small pool of teams (so most of calls conflict) and records the history of every call.
+ * <p>
+ * History goes to LinearizabilityChecker, numbers go to StressReport.
+ * Keep the history small (hundreds of calls) if it's going to be checked: the check is exponential in the worst case.
+ * Bigger runs are still useful for throughput and for inconsistent summaries (team playing in two matches).
+ */
+public class StressHarness {
+
+    /**
+     * @param summaryPercent share of getSummary() calls, the rest are writes
+     * @param slowOperation  latency budget, slower calls are counted as timeouts
+     * @param recordRetries  record MatchWrite JFR events to count CAS retries (costs JFR startup)
+     */
+    public record Config(int threads, int operationsPerThread, int teams, int summaryPercent,
+                         Duration slowOperation, boolean recordRetries) {
+    }
+
+    private static final String MATCH_WRITE_EVENT = "sportradar.football.MatchWrite";
+
+    private final FootballScoreboard scoreboard;
+    private final Config config;
+
+    public StressHarness(FootballScoreboard scoreboard, Config config) {
+        this.scoreboard = scoreboard;
+        this.config = config;
+    }
+
+    public StressReport run(long seed) throws InterruptedException {
+        if (!config.recordRetries()) {
+            return execute(seed);
+        }
+        try (var recording = new Recording()) {
+            recording.enable(MATCH_WRITE_EVENT);
+            recording.start();
+            var report = execute(seed);
+            recording.stop();
+            var file = Files.createTempFile("stress", ".jfr");
+            try {
+                recording.dump(file);
+                long retries = 0;
+                long writes = 0;
+                for (var event : RecordingFile.readAllEvents(file)) {
+                    if (event.getEventType().getName().equals(MATCH_WRITE_EVENT)) {
+                        retries += event.getInt("casRetries");
+                        writes++;
+                    }
+                }
+                return new StressReport(report.history(), report.elapsedNanos(), report.slowOperations(),
+                        report.failedOperations(), report.summaryAnomalies(), retries, writes);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private StressReport execute(long seed) throws InterruptedException {
+        var ids = new AtomicInteger();
+        var histories = new ArrayList<List<Operation>>();
+        var ready = new CountDownLatch(config.threads());
+        var go = new CountDownLatch(1);
+        var workers = new ArrayList<Thread>();
+        for (var t = 0; t < config.threads(); t++) {
+            var history = new ArrayList<Operation>(config.operationsPerThread());
+            histories.add(history);
+            var thread = t;
+            var random = new Random(seed + t);
+            workers.add(new Thread(() -> {
+                ready.countDown();
+                try {
+                    go.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (var i = 0; i < config.operationsPerThread(); i++) {
+                    history.add(call(ids.getAndIncrement(), thread, random));
+                }
+            }, "stress-" + t));
+        }
+        workers.forEach(Thread::start);
+        ready.await();
+        var startNanos = System.nanoTime();
+        go.countDown();
+        for (var worker : workers) {
+            worker.join();
+        }
+        var elapsedNanos = System.nanoTime() - startNanos;
+
+        var history = histories.stream().flatMap(List::stream).toList();
+        var slowNanos = config.slowOperation().toNanos();
+        var slow = history.stream().filter(operation -> operation.latencyNanos() > slowNanos).count();
+        var failed = history.stream().filter(operation -> operation.outcome() == Operation.Outcome.FAILED).count();
+        var anomalies = history.stream()
+                .filter(operation -> operation.kind() == Operation.Kind.SUMMARY && !isConsistent(operation.summary()))
+                .count();
+        return new StressReport(history, elapsedNanos, slow, failed, anomalies, 0, 0);
+    }
+
+    private Operation call(int id, int thread, Random random) {
+        var homeTeam = "Team" + random.nextInt(config.teams());
+        var awayTeam = "Team" + random.nextInt(config.teams());
+        while (awayTeam.equals(homeTeam)) {
+            awayTeam = "Team" + random.nextInt(config.teams());
+        }
+        Operation.Kind kind;
+        if (random.nextInt(100) < config.summaryPercent()) {
+            kind = Operation.Kind.SUMMARY;
+        } else {
+            kind = Operation.Kind.values()[random.nextInt(3)];
+        }
+        var homeScore = random.nextInt(5);
+        var awayScore = random.nextInt(5);
+
+        List<CurrentMatch> summary = null;
+        Operation.Outcome outcome;
+        var invoked = System.nanoTime();
+        try {
+            switch (kind) {
+                case START -> scoreboard.startNewMatch(homeTeam, awayTeam);
+                case UPDATE -> scoreboard.updateMatchScore(homeTeam, awayTeam, homeScore, awayScore);
+                case REMOVE -> scoreboard.removeMatch(homeTeam, awayTeam);
+                case SUMMARY -> summary = scoreboard.getSummary();
+            }
+            outcome = Operation.Outcome.OK;
+        } catch (TeamAlreadyPlayingException e) {
+            outcome = Operation.Outcome.TEAM_ALREADY_PLAYING;
+        } catch (MatchNotStartedException e) {
+            outcome = Operation.Outcome.MATCH_NOT_STARTED;
+        } catch (RuntimeException e) {
+            outcome = Operation.Outcome.FAILED;
+        }
+        var returned = System.nanoTime();
+        return new Operation(id, thread, kind, homeTeam, awayTeam, homeScore, awayScore, outcome, summary,
+                invoked, returned);
+    }
+
+    // "Papas" check: no team could play in two matches of the same summary
+    private static boolean isConsistent(List<CurrentMatch> summary) {
+        var teams = new HashSet<String>();
+        for (var match : summary) {
+            if (!teams.add(match.getHomeTeam()) || !teams.add(match.getAwayTeam())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,35 @@
+package sportradar.demo.football.stress;
+
+import java.util.List;
+
+/**
+ * Result of a single StressHarness run: the history for the checker and the numbers for humans.
+ *
+ * casRetries and writeEvents come from MatchWrite JFR events, so they are counted only for engines which emit them
+ * and only if the run was asked to record them.
+ */
+public record StressReport(List<Operation> history, long elapsedNanos, long slowOperations,
+                           long failedOperations, long summaryAnomalies, long casRetries, long writeEvents) {
+
+    public double throughputPerSecond() {
+        return elapsedNanos == 0 ? 0 : history.size() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    // share of operations slower than the budget: the caller would have timed them out
+    public double timeoutRate() {
+        return history.isEmpty() ? 0 : (double) slowOperations / history.size();
+    }
+
+    public double retriesPerWrite() {
+        return writeEvents == 0 ? 0 : (double) casRetries / writeEvents;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d ops, %.0f ops/s, timeout rate %.4f, %.3f CAS retries per write, "
+                        + "%d failed, %d inconsistent summaries",
+                history.size(), throughputPerSecond(), timeoutRate(), retriesPerWrite(),
+                failedOperations, summaryAnomalies);
+    }
+
+}
@@ -0,0 +1,160 @@
+package sportradar.demo.football.summary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.SummaryMode;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+import sportradar.demo.football.journal.MatchJournal;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchChangeLogTests {
+
+    /*
+     * name: 'Delta since version'
+     * invoke: take board version, start, rescore and finish matches, ask for the changes since the version
+     * verify: matches are coalesced to their latest state, match started and finished in between is not there,
+     *  the delta ends at the board version
+     */
+    @ParameterizedTest
+    @EnumSource(SummaryMode.class)
+    public void testGetChangesSince_Coalesced(SummaryMode summaryMode) {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), summaryMode);
+        scoreboard.startNewMatch("Spain", "Brazil");
+        scoreboard.startNewMatch("Germany", "France");
+        var version = scoreboard.getBoardVersion();
+        assertTrue(scoreboard.getChangesSince(version).isEmpty());
+
+        scoreboard.updateMatchScore("Spain", "Brazil", 1, 0);
+        scoreboard.updateMatchScore("Spain", "Brazil", 2, 0);
+        scoreboard.removeMatch("Germany", "France");
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+        scoreboard.startNewMatch("Uruguay", "Italy");
+        scoreboard.removeMatch("Uruguay", "Italy");
+
+        var delta = scoreboard.getChangesSince(version);
+        assertFalse(delta.resyncRequired());
+        assertEquals(version, delta.fromVersion());
+        assertEquals(version + 7, delta.toVersion());
+        assertEquals(scoreboard.getBoardVersion(), delta.toVersion());
+        assertEquals(1, delta.added().size());
+        assertEquals("Mexico", delta.added().get(0).getHomeTeam());
+        assertEquals(5, delta.added().get(0).getAwayScore());
+        assertEquals(1, delta.rescored().size());
+        assertEquals(2, delta.rescored().get(0).getHomeScore());
+        assertEquals(1, delta.removed().size());
+        assertEquals("Germany", delta.removed().get(0).getHomeTeam());
+
+        assertTrue(scoreboard.getChangesSince(delta.toVersion()).isEmpty());
+    }
+
+    /*
+     * name: 'Resync once the log is trimmed'
+     * invoke: make more changes than the log keeps, ask for a version of the unknown future, clear the board
+     * verify: resync is required, the latest version is returned to continue from
+     */
+    @Test
+    public void testGetChangesSince_ResyncRequired() {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX,
+                MatchJournal.none(), 4);
+        var version = scoreboard.getBoardVersion();
+        scoreboard.startNewMatch("Spain", "Brazil");
+        for (var i = 1; i <= 3; i++) {
+            scoreboard.updateMatchScore("Spain", "Brazil", i, 0);
+        }
+        assertFalse(scoreboard.getChangesSince(version).resyncRequired());
+
+        scoreboard.updateMatchScore("Spain", "Brazil", 4, 0);
+        var delta = scoreboard.getChangesSince(version);
+        assertTrue(delta.resyncRequired());
+        assertEquals(scoreboard.getBoardVersion(), delta.toVersion());
+        assertTrue(delta.added().isEmpty());
+        assertFalse(scoreboard.getChangesSince(version + 1).resyncRequired());
+        assertTrue(scoreboard.getChangesSince(scoreboard.getBoardVersion() + 1).resyncRequired());
+
+        var beforeClear = scoreboard.getBoardVersion();
+        scoreboard.clearAllMatches();
+        assertTrue(scoreboard.getChangesSince(beforeClear).resyncRequired());
+        assertTrue(scoreboard.getChangesSince(scoreboard.getBoardVersion()).isEmpty());
+    }
+
+    /*
+     * name: 'Version of another board'
+     * invoke: two boards created one right after another get the same changes,
+     *  version of one of them is asked for the other one
+     * verify: resync is required, the version spaces of the boards do not overlap
+     */
+    @Test
+    public void testGetChangesSince_OtherBoard() {
+        var primary = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        var replica = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        for (var scoreboard : List.of(primary, replica)) {
+            scoreboard.startNewMatch("Spain", "Brazil");
+            scoreboard.updateMatchScore("Spain", "Brazil", 1, 0);
+        }
+        assertNotEquals(primary.getBoardVersion(), replica.getBoardVersion());
+        assertTrue(replica.getChangesSince(primary.getBoardVersion() - 1).resyncRequired());
+        assertTrue(primary.getChangesSince(replica.getBoardVersion() - 1).resyncRequired());
+    }
+
+    /*
+     * name: 'Reader races wrap-around'
+     * invoke: writer keeps appending starts of new matches into a tiny log, readers ask for deltas right at the horizon
+     * verify: every delta is either resync or exactly the matches started after the version, never overwritten ones
+     */
+    @Test
+    public void testGetChangesSince_RacesWrapAround() throws Exception {
+        var capacity = 8;
+        var log = new MatchChangeLog(capacity);
+        var base = log.getLatestVersion();
+        var running = new AtomicBoolean(true);
+        var failures = new ConcurrentLinkedQueue<Throwable>();
+        var readers = new ArrayList<Thread>();
+        for (var r = 0; r < 2; r++) {
+            readers.add(new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        // the oldest version the log still has: its slot is the next to be overwritten
+                        var since = log.getLatestVersion() - capacity;
+                        var delta = log.getChangesSince(since);
+                        if (delta.resyncRequired()) {
+                            continue;
+                        }
+                        // startSequence of the match is its version minus base
+                        var expected = since - base + 1;
+                        for (var match : delta.added()) {
+                            assertEquals(expected++, (long) match.getStartSequence(), "Overwritten slot in the delta");
+                        }
+                        assertEquals(delta.toVersion() - base + 1, expected);
+                    }
+                } catch (Throwable ex) {
+                    failures.add(ex);
+                }
+            }));
+        }
+        readers.forEach(Thread::start);
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        for (var sequence = 1; System.nanoTime() < deadline && failures.isEmpty(); sequence++) {
+            log.record(MatchChange.started(new CurrentMatch("Home", "Away", 0, 0, sequence)));
+            log.publish();
+        }
+        running.set(false);
+        for (var reader : readers) {
+            reader.join();
+        }
+
+        assertEquals(List.of(), List.copyOf(failures));
+    }
+
+}
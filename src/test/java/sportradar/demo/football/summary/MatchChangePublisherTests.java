@@ -0,0 +1,165 @@
+package sportradar.demo.football.summary;
+
+import org.junit.jupiter.api.Test;
+import sportradar.demo.football.FootballScoreboardImpl;
+import sportradar.demo.football.SummaryMode;
+import sportradar.demo.football.dto.CurrentMatch;
+import sportradar.demo.football.dto.MatchChange;
+import sportradar.demo.football.ex.SubscriberOverflowException;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MatchChangePublisherTests {
+
+    /*
+     * name: 'Push service follows the board'
+     * invoke: subscribe, then start, update and remove the match
+     * verify: subscriber gets started, score changed and finished changes in commit order
+     */
+    @Test
+    public void testSubscribe_ReceivesCommittedChanges() throws InterruptedException {
+        var scoreboard = new FootballScoreboardImpl(new SportRadarMatchValidator(), SummaryMode.LIVE_INDEX);
+        var subscriber = new RecordingSubscriber();
+        scoreboard.getChangePublisher().subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        scoreboard.startNewMatch("Mexico", "Canada");
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 1);
+        scoreboard.removeMatch("Mexico", "Canada");
+
+        assertEquals(MatchChange.Type.STARTED, subscriber.changes.poll(5, TimeUnit.SECONDS).type());
+        var scoreChanged = subscriber.changes.poll(5, TimeUnit.SECONDS);
+        assertEquals(MatchChange.Type.SCORE_CHANGED, scoreChanged.type());
+        assertEquals(1, scoreChanged.after().getAwayScore());
+        assertEquals(MatchChange.Type.FINISHED, subscriber.changes.poll(5, TimeUnit.SECONDS).type());
+    }
+
+    /*
+     * name: 'Slow subscriber'
+     * invoke: publish start and several score changes while subscriber has no demand, then request
+     * verify: score changes are coalesced into the single one from the first score to the latest absolute score
+     */
+    @Test
+    public void testSlowSubscriber_CoalescesScoreChanges() {
+        var publisher = new MatchChangePublisher(Runnable::run, 4);
+        var subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        var started = new CurrentMatch("Spain", "Brazil", 0, 0, 1);
+        publisher.publish(MatchChange.started(started));
+        var previous = started;
+        for (var i = 1; i <= 10; i++) {
+            var latest = new CurrentMatch("Spain", "Brazil", i, 0, 1);
+            publisher.publish(MatchChange.scoreChanged(previous, latest));
+            previous = latest;
+        }
+        subscriber.subscription.request(10);
+
+        var received = new ArrayList<MatchChange>();
+        subscriber.changes.drainTo(received);
+        assertEquals(2, received.size());
+        assertEquals(MatchChange.Type.SCORE_CHANGED, received.get(1).type());
+        assertEquals(0, received.get(1).before().getHomeScore());
+        assertEquals(10, received.get(1).after().getHomeScore());
+        assertNull(subscriber.error);
+    }
+
+    // distinct matches could not be coalesced: subscriber which is too far behind is dropped
+    @Test
+    public void testSlowSubscriber_Overflow() {
+        var publisher = new MatchChangePublisher(Runnable::run, 2);
+        var subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        for (var match : List.of("Mexico", "Spain", "Germany")) {
+            publisher.publish(MatchChange.started(new CurrentMatch(match, "Canada", 0, 0, 1)));
+        }
+
+        assertInstanceOf(SubscriberOverflowException.class, subscriber.error);
+        assertFalse(publisher.hasSubscribers());
+    }
+
+    /*
+     * name: 'Non-positive request'
+     * invoke: request(0) from a thread other than the drain
+     * verify: error is delivered by the drain (executor), subscription is cancelled, nothing more is delivered
+     */
+    @Test
+    public void testRequest_NonPositive_SignalledByDrain() throws InterruptedException {
+        var drainThreads = new LinkedBlockingQueue<Runnable>();
+        var publisher = new MatchChangePublisher(drainThreads::add, 4);
+        var subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(0);
+        assertNull(subscriber.error, "Error must not be signalled on the caller's thread");
+        drainThreads.poll(5, TimeUnit.SECONDS).run();
+
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error);
+        assertFalse(publisher.hasSubscribers());
+        publisher.publish(MatchChange.started(new CurrentMatch("Mexico", "Canada", 0, 0, 1)));
+        assertTrue(drainThreads.isEmpty());
+    }
+
+    /*
+     * name: 'Throwing subscriber'
+     * invoke: onNext throws for the first change
+     * verify: subscriber is cancelled and gets onError, the drain is not stuck for the publisher
+     */
+    @Test
+    public void testOnNext_Throws_CancelsSubscription() {
+        var publisher = new MatchChangePublisher(Runnable::run, 4);
+        RecordingSubscriber failing = new RecordingSubscriber() {
+            @Override
+            public void onNext(MatchChange change) {
+                throw new IllegalStateException("broken push service");
+            }
+        };
+        var healthy = new RecordingSubscriber();
+        publisher.subscribe(failing);
+        publisher.subscribe(healthy);
+        failing.subscription.request(Long.MAX_VALUE);
+        healthy.subscription.request(Long.MAX_VALUE);
+
+        publisher.publish(MatchChange.started(new CurrentMatch("Mexico", "Canada", 0, 0, 1)));
+        publisher.publish(MatchChange.started(new CurrentMatch("Spain", "Brazil", 0, 0, 2)));
+
+        assertInstanceOf(IllegalStateException.class, failing.error);
+        assertEquals(2, healthy.changes.size());
+        assertNull(healthy.error);
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<MatchChange> {
+        private final BlockingQueue<MatchChange> changes = new LinkedBlockingQueue<>();
+        private Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(MatchChange change) {
+            changes.add(change);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+
+}
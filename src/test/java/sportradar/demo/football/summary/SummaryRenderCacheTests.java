@@ -0,0 +1,68 @@
+package sportradar.demo.football.summary;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import sportradar.demo.football.ScoreboardEngine;
+import sportradar.demo.football.codec.BoardDecoder;
+import sportradar.demo.football.validator.SportRadarMatchValidator;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SummaryRenderCacheTests {
+
+    /*
+     * name: 'Render only after a change'
+     * invoke: render twice without writes, then update and render again
+     * verify: the same bytes are returned until the board changes, client version check is cheap
+     */
+    @ParameterizedTest
+    @EnumSource(ScoreboardEngine.class)
+    public void testRender_ReencodesOnlyOnChange(ScoreboardEngine engine) throws Exception {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        var cache = new SummaryRenderCache(scoreboard);
+        scoreboard.startNewMatch("Mexico", "Canada");
+
+        var first = cache.render(SummaryRenderCache.Format.JSON);
+        assertSame(first, cache.render(SummaryRenderCache.Format.JSON));
+        assertTrue(cache.isUnchangedSince(first.getBoardVersion()));
+        assertTrue(cache.renderIfChangedSince(SummaryRenderCache.Format.JSON, first.getBoardVersion()).isEmpty());
+
+        scoreboard.updateMatchScore("Mexico", "Canada", 0, 5);
+
+        assertFalse(cache.isUnchangedSince(first.getBoardVersion()));
+        var second = cache.renderIfChangedSince(SummaryRenderCache.Format.JSON, first.getBoardVersion()).orElseThrow();
+        assertNotSame(first, second);
+        var json = StandardCharsets.UTF_8.decode(second.asByteBuffer()).toString();
+        assertEquals("{\"version\":" + second.getBoardVersion() + ",\"matches\":["
+                + "{\"homeTeam\":\"Mexico\",\"awayTeam\":\"Canada\",\"homeScore\":0,\"awayScore\":5}]}", json);
+
+        if (scoreboard instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ScoreboardEngine.class, names = {"LIVE_INDEX", "SNAPSHOT"})
+    public void testRender_Binary(ScoreboardEngine engine) {
+        var scoreboard = engine.create(new SportRadarMatchValidator());
+        var cache = new SummaryRenderCache(scoreboard);
+        scoreboard.startNewMatch("Spain", "Brazil");
+        scoreboard.updateMatchScore("Spain", "Brazil", 10, 2);
+        scoreboard.startNewMatch("Mexico", "Canada");
+
+        var rendered = cache.render(SummaryRenderCache.Format.BINARY);
+        var decoder = new BoardDecoder().wrap(rendered.asByteBuffer(), 0);
+        assertEquals(rendered.getBoardVersion(), decoder.boardVersion());
+        assertEquals(rendered.size(), decoder.encodedLength());
+        var summary = decoder.decodeSummary();
+        assertEquals(2, summary.size());
+        assertEquals("Spain", summary.get(0).getHomeTeam());
+        assertEquals("Brazil", summary.get(0).getAwayTeam());
+        assertEquals(10, summary.get(0).getHomeScore());
+        assertEquals(2, summary.get(0).getAwayScore());
+        assertEquals("Mexico", summary.get(1).getHomeTeam());
+    }
+
+}